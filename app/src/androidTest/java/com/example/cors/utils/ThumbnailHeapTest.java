@@ -0,0 +1,216 @@
+package com.example.cors.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.os.Bundle;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.MemoryCategory;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.engine.cache.MemoryCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.request.FutureTarget;
+import com.bumptech.glide.signature.ObjectKey;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Замер памяти при прокрутке списка из ROWS курсов: превью до и после CorsGlideModule.
+ *
+ * - До: 400x400 ARGB_8888 (прежний loadThumbnail), кеши Glide по умолчанию
+ *   (MemorySizeCalculator - от размера экрана)
+ * - После: course_thumbnail_size RGB_565, кеши CorsGlideModule (от memory class)
+ *
+ * Прокрутка без UI: каждая строка - загрузка превью и освобождение Target, как при
+ * уходе строки с экрана; Bitmap уходит в memory cache. Обложки разные для Glide
+ * (своя signature у каждой строки), исходник - один сгенерированный JPEG, без сети.
+ * Кеш "по умолчанию" - тот же LruResourceCache с множителем размера: AppGlideModule
+ * применяется при любой инициализации Glide, подменить его в тесте нельзя.
+ *
+ * Результат - в logcat (тег ThumbnailHeapTest) и в статусе инструментации:
+ * <code>
+ * ./gradlew connectedDebugAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.example.cors.utils.ThumbnailHeapTest
+ * </code>
+ *
+ * Bitmap на Android 8+ хранятся в native heap; ARGB_8888 Glide может декодировать
+ * в HARDWARE - такие идут в графическую память, поэтому отдельно печатается graphics.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ThumbnailHeapTest {
+
+    private static final String TAG = "ThumbnailHeapTest";
+
+    private static final int ROWS = 1000;
+
+    /**
+     * Размер превью до CorsGlideModule (прежний THUMBNAIL_SIZE в GlideHelper)
+     */
+    private static final int LEGACY_THUMBNAIL_SIZE = 400;
+
+    private Context context;
+    private Glide glide;
+    private File source;
+
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        glide = Glide.get(context);
+        source = writeSourceImage(new File(context.getCacheDir(), "thumbnail_heap_source.jpg"));
+    }
+
+    @After
+    public void tearDown() {
+        glide.setMemoryCategory(MemoryCategory.NORMAL);          // Множители кешей обратно в 1
+        glide.clearMemory();
+        //noinspection ResultOfMethodCallIgnored
+        source.delete();
+    }
+
+    @Test
+    public void scrollThousandRows_usesLessHeapThanLegacyThumbnails() throws Exception {
+        MemorySizeCalculator defaults = new MemorySizeCalculator.Builder(context).build();
+        MemoryCache memoryCache = memoryCache();
+        BitmapPool bitmapPool = glide.getBitmapPool();
+
+        // До: множители переводят кеши CorsGlideModule в размеры Glide по умолчанию
+        memoryCache.setSizeMultiplier(1f);
+        bitmapPool.setSizeMultiplier(1f);
+        memoryCache.setSizeMultiplier((float) defaults.getMemoryCacheSize() / memoryCache.getMaxSize());
+        bitmapPool.setSizeMultiplier((float) defaults.getBitmapPoolSize() / bitmapPool.getMaxSize());
+        Heap legacy = scroll("legacy", LEGACY_THUMBNAIL_SIZE, DecodeFormat.PREFER_ARGB_8888, memoryCache);
+
+        // После: кеши CorsGlideModule, превью как в GlideHelper.thumbnailRequest
+        memoryCache.setSizeMultiplier(1f);
+        bitmapPool.setSizeMultiplier(1f);
+        Heap current = scroll("current", GlideHelper.thumbnailSize(context), DecodeFormat.PREFER_RGB_565,
+                memoryCache);
+
+        Bundle results = new Bundle();
+        legacy.report(results);
+        current.report(results);
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+        assertTrue("Превью RGB_565 должны занимать меньше памяти: " + legacy + " / " + current,
+                current.nativeBytes + current.graphicsBytes < legacy.nativeBytes + legacy.graphicsBytes);
+    }
+
+    /**
+     * Прокручивает ROWS строк и меряет, сколько памяти осталось занято после прокрутки.
+     */
+    private Heap scroll(String name, int size, DecodeFormat format, MemoryCache memoryCache)
+            throws Exception {
+        glide.clearMemory();
+        Heap before = Heap.measure(name, 0);
+        for (int row = 0; row < ROWS; row++) {
+            FutureTarget<Bitmap> target = Glide.with(context)
+                    .asBitmap()
+                    .load(source)
+                    .signature(new ObjectKey(name + "-" + row))  // Как разные обложки курсов
+                    .centerCrop()
+                    .format(format)
+                    .diskCacheStrategy(DiskCacheStrategy.NONE)
+                    .submit(size, size);
+            try {
+                target.get();
+            } finally {
+                Glide.with(context).clear(target);               // Строка ушла с экрана
+            }
+        }
+        return Heap.measure(name, memoryCache.getCurrentSize()).minus(before);
+    }
+
+    private MemoryCache memoryCache() throws Exception {
+        // Glide не отдаёт memory cache наружу, а множитель нужен отдельно от bitmap pool
+        Field field = Glide.class.getDeclaredField("memoryCache");
+        field.setAccessible(true);
+        return (MemoryCache) field.get(glide);
+    }
+
+    private static File writeSourceImage(File file) throws Exception {
+        Bitmap bitmap = Bitmap.createBitmap(1200, 800, Bitmap.Config.ARGB_8888);
+        Paint paint = new Paint();
+        paint.setShader(new LinearGradient(0, 0, 1200, 800, Color.BLUE, Color.YELLOW, Shader.TileMode.CLAMP));
+        new Canvas(bitmap).drawPaint(paint);
+        try (OutputStream out = new FileOutputStream(file)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
+        } finally {
+            bitmap.recycle();
+        }
+        return file;
+    }
+
+    /**
+     * Снимок памяти процесса: native heap (пиксели Bitmap), графическая память
+     * (HARDWARE Bitmap), Java heap и занятость memory cache Glide.
+     */
+    private static final class Heap {
+
+        final String name;
+        final long nativeBytes;
+        final long graphicsBytes;
+        final long javaBytes;
+        final long cacheBytes;
+
+        private Heap(String name, long nativeBytes, long graphicsBytes, long javaBytes, long cacheBytes) {
+            this.name = name;
+            this.nativeBytes = nativeBytes;
+            this.graphicsBytes = graphicsBytes;
+            this.javaBytes = javaBytes;
+            this.cacheBytes = cacheBytes;
+        }
+
+        static Heap measure(String name, long cacheBytes) {
+            Runtime runtime = Runtime.getRuntime();
+            runtime.gc();
+            runtime.runFinalization();
+            runtime.gc();
+            Debug.MemoryInfo info = new Debug.MemoryInfo();
+            Debug.getMemoryInfo(info);
+            long graphicsKb = Long.parseLong(info.getMemoryStat("summary.graphics"));
+            return new Heap(name, Debug.getNativeHeapAllocatedSize(), graphicsKb * 1024,
+                    runtime.totalMemory() - runtime.freeMemory(), cacheBytes);
+        }
+
+        Heap minus(Heap baseline) {
+            return new Heap(name, nativeBytes - baseline.nativeBytes, graphicsBytes - baseline.graphicsBytes,
+                    javaBytes - baseline.javaBytes, cacheBytes);
+        }
+
+        void report(Bundle results) {
+            results.putLong(name + ".nativeBytes", nativeBytes);
+            results.putLong(name + ".graphicsBytes", graphicsBytes);
+            results.putLong(name + ".javaBytes", javaBytes);
+            results.putLong(name + ".glideMemoryCacheBytes", cacheBytes);
+            Log.i(TAG, toString());
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + ROWS + " строк, native +" + nativeBytes / 1024 + " КБ, graphics +"
+                    + graphicsBytes / 1024 + " КБ, java +" + javaBytes / 1024 + " КБ, memory cache "
+                    + cacheBytes / 1024 + " КБ";
+        }
+    }
+}
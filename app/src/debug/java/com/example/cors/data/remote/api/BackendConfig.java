@@ -0,0 +1,58 @@
+package com.example.cors.data.remote.api;
+
+import android.util.Log;
+
+import com.example.cors.BuildConfig;
+import com.example.cors.data.remote.fake.FakeCourseBackend;
+
+import java.io.IOException;
+
+/**
+ * Адрес backend для debug-сборки.
+ *
+ * С -PfakeBackend приложение работает с локальным FakeCourseBackend (каталог
+ * CatalogGenerator на 127.0.0.1) и синхронизация включена - так сетевой путь
+ * можно замерить на устройстве. Параметры сервера:
+ * -PfakeBackendCourses, -PfakeBackendLatencyMs, -PfakeBackendBytesPerSecond, -PfakeBackendErrorRate.
+ * Без флага - как в release.
+ */
+final class BackendConfig {
+
+    private static final String TAG = "BackendConfig";
+
+    private static FakeCourseBackend fakeBackend;
+
+    private BackendConfig() {
+    }
+
+    /**
+     * @param defaultUrl Адрес настоящего API
+     * @return Базовый URL для Retrofit
+     */
+    static synchronized String baseUrl(String defaultUrl) {
+        if (!BuildConfig.FAKE_BACKEND) {
+            return defaultUrl;
+        }
+        try {
+            if (fakeBackend == null) {
+                fakeBackend = new FakeCourseBackend(BuildConfig.FAKE_BACKEND_COURSES)
+                        .setLatencyMs(BuildConfig.FAKE_BACKEND_LATENCY_MS)
+                        .setBytesPerSecond(BuildConfig.FAKE_BACKEND_BYTES_PER_SECOND)
+                        .setErrorRate(BuildConfig.FAKE_BACKEND_ERROR_RATE);
+            }
+            String url = fakeBackend.start().toString();
+            Log.i(TAG, "Фейковый backend: " + url + ", курсов: " + fakeBackend.getCourseCount());
+            return url;
+        } catch (IOException e) {
+            Log.e(TAG, "Не удалось запустить фейковый backend", e);
+            return defaultUrl;
+        }
+    }
+
+    /**
+     * Синхронизация включена только с фейковым backend: настоящий API - заглушка.
+     */
+    static boolean isSyncEnabled() {
+        return BuildConfig.FAKE_BACKEND;
+    }
+}
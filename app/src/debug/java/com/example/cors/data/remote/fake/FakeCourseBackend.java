@@ -0,0 +1,283 @@
+package com.example.cors.data.remote.fake;
+
+import com.example.cors.data.catalog.CatalogGenerator;
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.data.remote.dto.CourseDto;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Локальный фейковый backend курсов для тестов производительности сети (debug и JVM-тесты).
+ *
+ * Настоящий HTTP-сервер (MockWebServer на 127.0.0.1), поэтому через него проходит весь
+ * сетевой путь приложения: OkHttp, HTTP-кеш, NetworkTimingListener, разбор Gson.
+ * Каталог - CatalogGenerator (детерминированный, любой размер).
+ *
+ * API:
+ * - GET /courses                        - весь каталог
+ * - GET /courses?page=0&page_size=50    - страница; X-Total-Count, X-Next-Page (если есть ещё)
+ * - GET /courses?since=<cursor>         - только изменённые после курсора (delta)
+ * - GET /courses/{id}                   - один курс, 404 если такого нет
+ * Ответы списков содержат ETag (версия каталога + параметры) и X-Next-Cursor - курсор
+ * для следующего delta-запроса. If-None-Match с текущим ETag → 304 без тела.
+ * Изменения на "сервере" - modifyCourse: курс получает новую версию каталога.
+ *
+ * Деградация сети:
+ * - latencyMs - задержка перед заголовками ответа (TTFB)
+ * - bytesPerSecond - ограничение скорости отдачи тела (0 - без ограничения)
+ * - errorRate - доля ответов 503 (детерминированно при одном seed)
+ */
+public class FakeCourseBackend extends Dispatcher {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+
+    public static final String HEADER_NEXT_PAGE = "X-Next-Page";
+
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    /**
+     * Шаг ограничения скорости: тело отдаётся порциями раз в THROTTLE_PERIOD_MS
+     */
+    private static final long THROTTLE_PERIOD_MS = 50;
+
+    private final CatalogGenerator generator;
+
+    private final int courseCount;
+
+    private final Gson gson = new Gson();
+
+    private final Random errorRandom;
+
+    private MockWebServer server;
+
+    /**
+     * Изменённые курсы и версия каталога, в которой они изменились (под synchronized)
+     */
+    private final Map<Integer, CourseEntity> modified = new HashMap<>();
+    private final TreeMap<Integer, Long> modifiedAt = new TreeMap<>();
+    private long version;
+
+    private volatile long latencyMs;
+    private volatile long bytesPerSecond;
+    private volatile double errorRate;
+
+    /**
+     * @param courseCount Размер каталога (ID от 1 до courseCount)
+     */
+    public FakeCourseBackend(int courseCount) {
+        this(courseCount, CatalogGenerator.DEFAULT_SEED);
+    }
+
+    public FakeCourseBackend(int courseCount, long seed) {
+        this.generator = new CatalogGenerator(seed);
+        this.courseCount = courseCount;
+        this.errorRandom = new Random(seed);
+    }
+
+    /**
+     * Запускает сервер на локальном адресе (свободный порт).
+     *
+     * @return Базовый URL для Retrofit ("http://127.0.0.1:port/")
+     */
+    public synchronized HttpUrl start() throws IOException {
+        if (server == null) {
+            server = new MockWebServer();
+            server.setDispatcher(this);
+            // IP-литерал: без DNS-запроса, можно вызывать из любого потока
+            server.start(InetAddress.getByName("127.0.0.1"), 0);
+        }
+        return server.url("/");
+    }
+
+    public synchronized void shutdown() throws IOException {
+        if (server != null) {
+            server.shutdown();
+            server = null;
+        }
+    }
+
+    public int getCourseCount() {
+        return courseCount;
+    }
+
+    public FakeCourseBackend setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+        return this;
+    }
+
+    public FakeCourseBackend setBytesPerSecond(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    /**
+     * @param errorRate Доля ответов 503, от 0 до 1
+     */
+    public FakeCourseBackend setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Изменяет курс на сервере: он попадёт в следующий delta-ответ, ETag списков сменится.
+     *
+     * @param courseId ID курса
+     * @param change Изменение полей
+     * @return Новая версия каталога
+     */
+    public synchronized long modifyCourse(int courseId, Consumer<CourseEntity> change) {
+        CourseEntity course = course(courseId);
+        if (course == null) {
+            throw new IllegalArgumentException("Нет курса " + courseId);
+        }
+        change.accept(course);
+        version++;
+        modified.put(courseId, course);
+        modifiedAt.put(courseId, version);
+        return version;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        if (errorRate > 0 && nextErrorRoll() < errorRate) {
+            return degrade(new MockResponse().setResponseCode(503).setBody("Service Unavailable"));
+        }
+        HttpUrl url = request.getRequestUrl();
+        List<String> segments = url.pathSegments();
+        if (!"GET".equals(request.getMethod()) || segments.isEmpty() || !"courses".equals(segments.get(0))) {
+            return degrade(new MockResponse().setResponseCode(404));
+        }
+        try {
+            if (segments.size() == 1 || segments.get(1).isEmpty()) {
+                return degrade(list(url, request.getHeader("If-None-Match")));
+            }
+            if (segments.size() == 2) {
+                return degrade(single(Integer.parseInt(segments.get(1))));
+            }
+        } catch (NumberFormatException e) {
+            return degrade(new MockResponse().setResponseCode(400).setBody(e.getMessage()));
+        }
+        return degrade(new MockResponse().setResponseCode(404));
+    }
+
+    private synchronized double nextErrorRoll() {
+        return errorRandom.nextDouble();
+    }
+
+    private synchronized MockResponse list(HttpUrl url, String ifNoneMatch) {
+        String since = url.queryParameter("since");
+        String page = url.queryParameter("page");
+
+        List<CourseEntity> courses = new ArrayList<>();
+        String etag;
+        MockResponse response = new MockResponse();
+        if (since != null) {
+            long cursor = Long.parseLong(since);
+            // По возрастанию ID, как и полный список
+            for (Map.Entry<Integer, Long> entry : modifiedAt.entrySet()) {
+                if (entry.getValue() > cursor) {
+                    courses.add(modified.get(entry.getKey()));
+                }
+            }
+            etag = "\"v" + version + "-since" + cursor + "\"";
+        } else if (page != null) {
+            int pageIndex = Integer.parseInt(page);
+            String sizeParam = url.queryParameter("page_size");
+            int pageSize = Math.min(MAX_PAGE_SIZE, sizeParam != null ? Integer.parseInt(sizeParam) : DEFAULT_PAGE_SIZE);
+            int first = pageIndex * pageSize + 1;
+            int last = Math.min(courseCount, first + pageSize - 1);
+            for (int id = first; id <= last; id++) {
+                courses.add(course(id));
+            }
+            if (last < courseCount) {
+                response.addHeader(HEADER_NEXT_PAGE, pageIndex + 1);
+            }
+            etag = "\"v" + version + "-p" + pageIndex + "-s" + pageSize + "\"";
+        } else {
+            for (int id = 1; id <= courseCount; id++) {
+                courses.add(course(id));
+            }
+            etag = "\"v" + version + "\"";
+        }
+
+        response.addHeader("ETag", etag)
+                // Кешировать можно, но каждый раз проверять (условный запрос → 304)
+                .addHeader("Cache-Control", "no-cache")
+                .addHeader(HEADER_TOTAL_COUNT, courseCount)
+                .addHeader(HEADER_NEXT_CURSOR, version);
+        if (etag.equals(ifNoneMatch)) {
+            return response.setResponseCode(304);
+        }
+        List<CourseDto> body = new ArrayList<>(courses.size());
+        for (CourseEntity course : courses) {
+            body.add(toDto(course));
+        }
+        return response
+                .addHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(gson.toJson(body));
+    }
+
+    private synchronized MockResponse single(int courseId) {
+        CourseEntity course = course(courseId);
+        if (course == null) {
+            return new MockResponse().setResponseCode(404);
+        }
+        return new MockResponse()
+                .addHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(gson.toJson(toDto(course)));
+    }
+
+    /**
+     * Курс в текущей версии каталога (с учётом изменений) или null.
+     */
+    private CourseEntity course(int courseId) {
+        if (courseId < 1 || courseId > courseCount) {
+            return null;
+        }
+        CourseEntity changed = modified.get(courseId);
+        return changed != null ? changed : generator.course(courseId);
+    }
+
+    private MockResponse degrade(MockResponse response) {
+        long latency = latencyMs;
+        if (latency > 0) {
+            response.setHeadersDelay(latency, TimeUnit.MILLISECONDS);
+        }
+        long bandwidth = bytesPerSecond;
+        if (bandwidth > 0) {
+            response.throttleBody(Math.max(1, bandwidth * THROTTLE_PERIOD_MS / 1000),
+                    THROTTLE_PERIOD_MS, TimeUnit.MILLISECONDS);
+        }
+        return response;
+    }
+
+    /**
+     * Entity → DTO: сервер отдаёт только поля каталога, без данных пользователя.
+     */
+    private static CourseDto toDto(CourseEntity course) {
+        CourseDto dto = new CourseDto(course.getId(), course.getTitle(), course.getProvider(),
+                course.getDuration(), course.getLevel(), course.getImageUrl(), course.getDescription());
+        dto.setBlurHash(course.getBlurHash());
+        return dto;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.cors.data.catalog;
+
+import com.example.cors.data.local.entity.CourseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Детерминированный генератор большого каталога курсов.
+ *
+ * Нужен для проверки DAO-запросов, маппинга, DiffUtil и поиска на 10k-500k строк:
+ * упакованный каталог (src/main/catalog/courses.json) содержит всего 10 курсов.
+ *
+ * Курс с данным ID всегда одинаковый при одном seed - каталог на 10k строк является
+ * префиксом каталога на 500k, и замеры разных масштабов сравнимы.
+ *
+ * Распределения приближены к реальным каталогам:
+ * - уровни: Beginner 45%, Intermediate 35%, Advanced 20%
+ * - провайдеры: убывающие веса (несколько крупных площадок и длинный хвост)
+ * - названия и описания: смесь кириллицы и латиницы ("Kotlin для начинающих")
+ * - длительность: от 2 до 120 часов, чаще короткие курсы
+ * - изображения: общий пул URL (у разных курсов одинаковые картинки)
+ * - около 3% курсов в избранном, около 2% с отзывом
+ *
+ * Фикстура, в release не входит: src/fixtures подключён к debug (FakeCourseBackend),
+ * testRelease и модулю benchmark (см. app/build.gradle, benchmark/build.gradle).
+ */
+public class CatalogGenerator {
+
+    /**
+     * Seed по умолчанию - используется в тестах и бенчмарках
+     */
+    public static final long DEFAULT_SEED = 20240611L;
+
+    static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced"};
+
+    /**
+     * Накопленные веса уровней (в процентах)
+     */
+    private static final int[] LEVEL_WEIGHTS = {45, 80, 100};
+
+    static final String[] PROVIDERS = {
+            "Udemy", "Coursera", "Stepik", "Яндекс Практикум", "Skillbox", "Нетология",
+            "OTUS", "Pluralsight", "edX", "Udacity", "Google Codelabs", "GeekBrains",
+            "Hexlet", "JetBrains Academy", "Test Automation University", "Material.io"
+    };
+
+    private static final String[] TOPICS = {
+            "Android", "Kotlin", "Java", "Jetpack Compose", "Room", "Retrofit", "Coroutines",
+            "RxJava", "Dagger", "Hilt", "Gradle", "Git", "SQL", "PostgreSQL", "Docker",
+            "Kubernetes", "Spring Boot", "Python", "Machine Learning", "Firebase",
+            "Material Design", "Unit Testing", "Espresso", "CI/CD", "Linux",
+            "алгоритмы", "структуры данных", "архитектура приложений", "многопоточность",
+            "базы данных", "сетевое программирование", "UI/UX дизайн", "безопасность",
+            "профилирование", "чистый код"
+    };
+
+    private static final String[] TITLE_PATTERNS = {
+            "%s для начинающих",
+            "Продвинутый %s",
+            "%s: от основ до production",
+            "%s с нуля",
+            "Мастер-класс: %s",
+            "%s и %s на практике",
+            "%s in Depth",
+            "Practical %s",
+            "%s для Android разработчиков",
+            "Интенсив по теме «%s»",
+            "%s: best practices",
+            "Основы %s за 30 дней"
+    };
+
+    private static final String[] SENTENCES = {
+            "Курс охватывает %s от базовых понятий до реальных проектов.",
+            "Вы научитесь применять %s в production-приложениях.",
+            "Практические задания помогут закрепить материал по теме %s.",
+            "Hands-on labs cover %s with real-world examples.",
+            "В конце курса - итоговый проект с использованием %s.",
+            "Разбираем типичные ошибки и anti-patterns при работе с %s.",
+            "You will build a complete app using %s step by step.",
+            "Материал подходит для самостоятельного изучения %s.",
+            "Отдельный модуль посвящён тестированию и отладке (%s).",
+            "Includes quizzes, code reviews and a certificate on %s."
+    };
+
+    private static final String[] COMMENTS = {
+            "Отличный курс!", "Много практики, рекомендую", "Слишком быстро для новичков",
+            "Great explanations", "Устаревшие примеры", "Лучший курс по теме"
+    };
+
+    /**
+     * Пул изображений: как в реальном каталоге, одна картинка у многих курсов
+     */
+    private static final int IMAGE_POOL_SIZE = 48;
+
+    private final long seed;
+
+    public CatalogGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public CatalogGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Генерирует каталог с ID от 1 до count.
+     *
+     * @param count Количество курсов
+     * @return Курсы в порядке ID
+     */
+    public List<CourseEntity> generate(int count) {
+        List<CourseEntity> courses = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            courses.add(course(id));
+        }
+        return courses;
+    }
+
+    /**
+     * Генерирует один курс. Результат зависит только от seed и ID.
+     *
+     * @param id ID курса (от 1)
+     * @return Курс
+     */
+    public CourseEntity course(int id) {
+        Random random = new Random(seed * 0x9E3779B97F4A7C15L + id);
+
+        String topic = pick(random, TOPICS);
+        String pattern = pick(random, TITLE_PATTERNS);
+        String title = pattern.indexOf("%s") != pattern.lastIndexOf("%s")
+                ? String.format(pattern, topic, pick(random, TOPICS))
+                : String.format(pattern, topic);
+
+        CourseEntity course = new CourseEntity(
+                id,
+                // Номер в названии - названия уникальны, как в реальном каталоге
+                title + " #" + id,
+                PROVIDERS[skewedIndex(random, PROVIDERS.length)],
+                duration(random),
+                level(random),
+                "https://images.unsplash.com/photo-" + (1500000000000L + random.nextInt(IMAGE_POOL_SIZE) * 7919L)
+                        + "?auto=format&fit=crop&w=800&q=80",
+                description(random, topic),
+                "",
+                0f,
+                random.nextInt(100) < 3
+        );
+        if (random.nextInt(100) < 2) {
+            course.setComment(pick(random, COMMENTS));
+            course.setUserRating(1 + random.nextInt(5));
+        }
+        return course;
+    }
+
+    private static String level(Random random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < LEVEL_WEIGHTS.length; i++) {
+            if (roll < LEVEL_WEIGHTS[i]) {
+                return LEVELS[i];
+            }
+        }
+        return LEVELS[LEVELS.length - 1];
+    }
+
+    /**
+     * Длительность в часах: чаще короткие курсы, редко до 120 часов
+     */
+    private static int duration(Random random) {
+        double value = Math.exp(1.0 + random.nextGaussian() * 0.8 + 1.7);
+        return (int) Math.max(2, Math.min(120, Math.round(value)));
+    }
+
+    private static String description(Random random, String topic) {
+        int sentences = 2 + random.nextInt(5);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(String.format(pick(random, SENTENCES), topic));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Индекс с убывающей вероятностью: первые элементы встречаются заметно чаще
+     */
+    private static int skewedIndex(Random random, int size) {
+        double value = random.nextDouble();
+        return Math.min(size - 1, (int) (size * value * value));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.cors;
+
+import android.app.Application;
+
+import com.example.cors.utils.StartupPipeline;
+import com.example.cors.utils.metrics.StallWatchdog;
+
+/**
+ * Application - создаётся до любой Activity.
+ * Запускает фоновую инициализацию (БД, сеть, Glide), чтобы она шла
+ * параллельно с созданием первого экрана, а не внутри его onCreate.
+ * В debug-сборке включает сторож зависаний главного потока и StrictMode.
+ */
+public class CorsApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // До любой работы в главном потоке - чтобы зависания при старте тоже попали в отчёт
+        if (BuildConfig.STALL_WATCHDOG) {
+            StallWatchdog.install(this, StallWatchdog.DEFAULT_THRESHOLD_MS);
+        }
+        StartupPipeline.start(this);
+    }
+}
@@ -118,6 +118,79 @@ public interface CourseDao {
     @Query("UPDATE courses SET comment = :comment, userRating = :rating WHERE id = :courseId")
     void updateCourseReview(int courseId, String comment, float rating);
     
+    /**
+     * Получает избранные курсы синхронно (для фоновых задач WorkManager).
+     * Нельзя вызывать из главного потока.
+     * 
+     * @return Список избранных курсов
+     */
+    @Query("SELECT * FROM courses WHERE isFavorite = 1")
+    List<CourseEntity> getFavoriteCoursesSync();
+    
+    /**
+     * Получает курс по ID синхронно (для фоновых задач WorkManager).
+     * Нельзя вызывать из главного потока.
+     * 
+     * @param courseId ID курса
+     * @return Курс или null
+     */
+    @Query("SELECT * FROM courses WHERE id = :courseId")
+    CourseEntity getCourseByIdSync(int courseId);
+    
+    /**
+     * Получает первые курсы списка синхронно (в том же порядке, что getAllCourses).
+     * Используется для прогрева кеша при старте. Нельзя вызывать из главного потока.
+     * 
+     * @param limit Количество курсов
+     * @return Первые курсы по названию
+     */
+    @Query("SELECT * FROM courses ORDER BY title ASC LIMIT :limit")
+    List<CourseEntity> getFirstCoursesSync(int limit);
+    
+    /**
+     * Получает курсы по списку ID синхронно (предзагрузка деталей для кеша).
+     * Нельзя вызывать из главного потока.
+     * 
+     * @param courseIds ID курсов
+     * @return Найденные курсы
+     */
+    @Query("SELECT * FROM courses WHERE id IN (:courseIds)")
+    List<CourseEntity> getCoursesByIdsSync(List<Integer> courseIds);
+    
+    /**
+     * Сохраняет BlurHash, посчитанный по загруженному изображению.
+     * Не перезаписывает hash, пришедший с сервера.
+     * 
+     * @param imageUrl URL изображения курса
+     * @param blurHash Строка BlurHash
+     */
+    @Query("UPDATE courses SET blurHash = :blurHash WHERE imageUrl = :imageUrl AND blurHash IS NULL")
+    void updateBlurHash(String imageUrl, String blurHash);
+    
+    /**
+     * Вставляет курсы, которых ещё нет в БД (существующие строки не трогает).
+     * Используется синхронизацией каталога после updateCatalogFields.
+     * 
+     * @param courses Новые курсы
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertNewCourses(List<CourseEntity> courses);
+    
+    /**
+     * Обновляет поля каталога, пришедшие с сервера. Данные пользователя
+     * (избранное, комментарий, оценка) не меняются - в отличие от insertCourses (REPLACE).
+     * BlurHash, посчитанный на устройстве, сохраняется, если сервер hash не прислал
+     * и изображение не сменилось (в SET справа - старые значения строки).
+     * 
+     * @return Число обновлённых строк (0 - курса ещё нет в БД)
+     */
+    @Query("UPDATE courses SET title = :title, provider = :provider, duration = :duration, level = :level, "
+            + "description = :description, imageUrl = :imageUrl, "
+            + "blurHash = CASE WHEN imageUrl = :imageUrl THEN COALESCE(:blurHash, blurHash) ELSE :blurHash END "
+            + "WHERE id = :courseId")
+    int updateCatalogFields(int courseId, String title, String provider, int duration, String level,
+                            String description, String imageUrl, String blurHash);
+    
     /**
      * Удаляет все курсы из базы данных.
      * Используется при полном обновлении данных с сервера.
@@ -2,17 +2,28 @@ package com.example.cors.data.local.database;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.example.cors.data.local.dao.CourseDao;
 import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.utils.DatabaseInitializer;
+import com.example.cors.utils.metrics.InstrumentedExecutor;
+import com.example.cors.utils.metrics.Metrics;
+import com.example.cors.utils.metrics.Tracing;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
    Класс базы данных Room - точка входа для работы с локальным хранилищем.
  */
-@Database(entities = {CourseEntity.class}, version = 1, exportSchema = false)
+@Database(entities = {CourseEntity.class}, version = 2, exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
     
     /**
@@ -31,6 +42,28 @@ public abstract class AppDatabase extends RoomDatabase {
      */
     private static final String DATABASE_NAME = "courses_database";
     
+    /**
+     * Миграция 1 → 2: колонка blurHash для placeholder изображений.
+     * Добавляем колонку без пересоздания таблицы - избранное и отзывы сохраняются.
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE courses ADD COLUMN blurHash TEXT");
+        }
+    };
+    
+    /**
+     * Потоки для запросов Room - столько же, сколько в стандартном IO executor Room
+     */
+    private static final int QUERY_THREADS = 4;
+    
+    private static Executor createQueryExecutor() {
+        AtomicInteger number = new AtomicInteger();
+        return Executors.newFixedThreadPool(QUERY_THREADS, runnable ->
+                new Thread(runnable, "room-query-" + number.incrementAndGet()));
+    }
+    
     /**
      * Получает экземпляр базы данных (Singleton pattern).
      */
@@ -42,15 +75,31 @@ public abstract class AppDatabase extends RoomDatabase {
                 // Вторая проверка - другой поток мог уже создать instance
                 if (INSTANCE == null) {
                     // Создаём базу данных через Room.databaseBuilder
-                    INSTANCE = Room.databaseBuilder(
+                    RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(
                             context.getApplicationContext(), // Используем application context чтобы избежать утечек памяти
                             AppDatabase.class,
                             DATABASE_NAME
                     )
+                    .addMigrations(MIGRATION_1_2)
                     // fallbackToDestructiveMigration - при изменении версии БД пересоздаёт таблицы
                     // В production приложениях лучше использовать Migration
                     .fallbackToDestructiveMigration()
-                    .build();
+                    // Запасной путь: заполнение каталога одной транзакцией при создании БД
+                    .addCallback(new DatabaseInitializer(context))
+                    // Запросы LiveData и транзакции - с замером очереди и выполнения (Metrics)
+                    .setQueryExecutor(new InstrumentedExecutor(createQueryExecutor(),
+                            Metrics.DB_QUERY_QUEUE, Metrics.DB_QUERY));
+                    
+                    // Трейсинг: каждый запрос DAO - секция с текстом SQL (синхронно, в потоке запроса)
+                    if (Tracing.ENABLED) {
+                        builder.setQueryCallback((sql, bindArgs) -> Tracing.onRoomQuery(sql), Runnable::run);
+                    }
+                    
+                    // Первый запуск - копируем готовую базу каталога, собранную при сборке
+                    if (DatabaseInitializer.hasCatalogDatabase(context)) {
+                        builder.createFromAsset(DatabaseInitializer.CATALOG_DATABASE_ASSET);
+                    }
+                    INSTANCE = builder.build();
                 }
             }
         }
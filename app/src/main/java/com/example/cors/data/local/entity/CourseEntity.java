@@ -61,6 +61,11 @@ public class CourseEntity {
      * Флаг добавлен ли курс в избранное
      */
     private boolean isFavorite;
+    
+    /**
+     * BlurHash изображения для placeholder (null - ещё не посчитан)
+     */
+    private String blurHash;
 
     /**
      * Конструктор по умолчанию - требуется Room для создания объектов при чтении из БД
@@ -167,4 +172,12 @@ public class CourseEntity {
     public void setFavorite(boolean favorite) {
         isFavorite = favorite;
     }
+
+    public String getBlurHash() {
+        return blurHash;
+    }
+
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
 }
@@ -21,6 +21,7 @@ public class CourseMapper {
         entity.setLevel(dto.getLevel());
         entity.setImageUrl(dto.getImageUrl());
         entity.setDescription(dto.getDescription());
+        entity.setBlurHash(dto.getBlurHash());
         
         // Поля, которые не приходят с сервера - инициализируем значениями по умолчанию
         entity.setComment(""); // Пустой комментарий
@@ -63,6 +64,7 @@ public class CourseMapper {
         course.setComment(entity.getComment());
         course.setUserRating(entity.getUserRating());
         course.setFavorite(entity.isFavorite());
+        course.setBlurHash(entity.getBlurHash());
         
         return course;
     }
@@ -103,6 +105,7 @@ public class CourseMapper {
         entity.setComment(course.getComment());
         entity.setUserRating(course.getUserRating());
         entity.setFavorite(course.isFavorite());
+        entity.setBlurHash(course.getBlurHash());
         
         return entity;
     }
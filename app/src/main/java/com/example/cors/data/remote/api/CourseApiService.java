@@ -7,6 +7,7 @@ import java.util.List;
 import retrofit2.Call;
 import retrofit2.http.GET;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * Retrofit API интерфейс для работы с REST API курсов.
@@ -30,5 +31,23 @@ public interface CourseApiService {
     @GET("courses/{id}")
     Call<CourseDto> getCourseById(@Path("id") int courseId);
     
+    /**
+     * Получает одну страницу каталога.
+     * Общее число курсов - в заголовке X-Total-Count, номер следующей страницы - X-Next-Page.
+     * 
+     * @param page Номер страницы с 0
+     * @param pageSize Размер страницы
+     */
+    @GET("courses")
+    Call<List<CourseDto>> getCoursesPage(@Query("page") int page, @Query("page_size") int pageSize);
+    
+    /**
+     * Получает курсы, изменённые после курсора (delta-синхронизация).
+     * Курсор для следующего запроса - в заголовке X-Next-Cursor.
+     * 
+     * @param cursor Курсор из предыдущего ответа (0 - все изменения)
+     */
+    @GET("courses")
+    Call<List<CourseDto>> getCourseChanges(@Query("since") long cursor);
 
 }
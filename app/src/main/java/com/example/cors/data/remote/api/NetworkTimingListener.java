@@ -0,0 +1,274 @@
+package com.example.cors.data.remote.api;
+
+import androidx.annotation.NonNull;
+
+import com.example.cors.utils.metrics.Metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Locale;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Замер фаз сетевого вызова через OkHttp EventListener.
+ *
+ * Один экземпляр на вызов (см. Factory). По событиям OkHttp считаются:
+ * - dns, connect (TCP без TLS), tls - только если соединение открывалось, а не взято из пула
+ * - ttfb: от начала отправки запроса до первого байта заголовков ответа
+ * - body: чтение тела ответа (Gson в Retrofit разбирает поток по мере чтения,
+ *   поэтому сюда входит и разбор - отдельно он пишется в Metrics.NET_PARSE)
+ * - байты отправленные/полученные (заголовки + тело)
+ * - источник ответа: HIT (ответ из Cache без сети), CONDITIONAL (сервер ответил 304
+ *   на условный запрос), MISS (полный ответ сети), FAILED
+ *
+ * Итог вызова пишется в гистограммы и счётчики Metrics и передаётся в Callback.
+ */
+public class NetworkTimingListener extends EventListener {
+
+    /**
+     * Источник ответа вызова
+     */
+    public enum CacheResult {
+        HIT, CONDITIONAL, MISS, FAILED
+    }
+
+    /**
+     * Получатель итогов вызовов (логирование, тесты)
+     */
+    public interface Callback {
+        void onCallTimed(CallTiming timing);
+    }
+
+    /**
+     * Создаёт слушатель на каждый вызов.
+     */
+    public static class Factory implements EventListener.Factory {
+
+        private final Callback callback;
+
+        public Factory(Callback callback) {
+            this.callback = callback;
+        }
+
+        @NonNull
+        @Override
+        public EventListener create(@NonNull Call call) {
+            return new NetworkTimingListener(callback);
+        }
+    }
+
+    private final Callback callback;
+
+    private long callStart;
+    private long dnsStart = -1;
+    private long dnsNanos = -1;
+    private long connectStart = -1;
+    private long connectNanos = -1;
+    private long secureConnectStart = -1;
+    private long tlsNanos = -1;
+    private long requestStart = -1;
+    private long ttfbNanos = -1;
+    private long bodyStart = -1;
+    private long bodyNanos = -1;
+    private long bytesOut;
+    private long bytesIn;
+    private int responseCode = -1;
+
+    NetworkTimingListener(Callback callback) {
+        this.callback = callback;
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> inetAddressList) {
+        dnsNanos = System.nanoTime() - dnsStart;
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+        tlsNanos = System.nanoTime() - secureConnectStart;
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                           @NonNull Proxy proxy, Protocol protocol) {
+        // TLS идёт внутри connect - в connect остаётся только TCP
+        connectNanos = System.nanoTime() - connectStart - Math.max(0, tlsNanos);
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        // Повторная попытка (retry/redirect) - новый запрос
+        requestStart = -1;
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        if (requestStart < 0) {
+            requestStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+        bytesOut += request.headers().byteCount();
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        bytesOut += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        ttfbNanos = System.nanoTime() - requestStart;
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        bytesIn += response.headers().byteCount();
+        responseCode = response.code();
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        bodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        bodyNanos = System.nanoTime() - bodyStart;
+        bytesIn += byteCount;
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        CacheResult cacheResult;
+        if (requestStart < 0) {
+            // Сеть не понадобилась - ответ целиком из Cache
+            cacheResult = CacheResult.HIT;
+        } else if (responseCode == 304) {
+            cacheResult = CacheResult.CONDITIONAL;
+        } else {
+            cacheResult = CacheResult.MISS;
+        }
+        finish(call, cacheResult);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        finish(call, CacheResult.FAILED);
+    }
+
+    private void finish(Call call, CacheResult cacheResult) {
+        CallTiming timing = new CallTiming(call.request().method() + " " + call.request().url().encodedPath(),
+                System.nanoTime() - callStart, dnsNanos, connectNanos, tlsNanos, ttfbNanos, bodyNanos,
+                bytesOut, bytesIn, cacheResult);
+
+        Metrics.histogram(Metrics.NET_CALL).recordNanos(timing.callNanos);
+        recordPhase(Metrics.NET_DNS, dnsNanos);
+        recordPhase(Metrics.NET_CONNECT, connectNanos);
+        recordPhase(Metrics.NET_TLS, tlsNanos);
+        recordPhase(Metrics.NET_TTFB, ttfbNanos);
+        recordPhase(Metrics.NET_BODY, bodyNanos);
+        Metrics.counter(Metrics.NET_BYTES_OUT).add(bytesOut);
+        Metrics.counter(Metrics.NET_BYTES_IN).add(bytesIn);
+        Metrics.counter(counterFor(cacheResult)).increment();
+
+        if (callback != null) {
+            callback.onCallTimed(timing);
+        }
+    }
+
+    private static void recordPhase(String metric, long nanos) {
+        if (nanos >= 0) {
+            Metrics.histogram(metric).recordNanos(nanos);
+        }
+    }
+
+    private static String counterFor(CacheResult cacheResult) {
+        switch (cacheResult) {
+            case HIT:
+                return Metrics.NET_CACHE_HIT;
+            case CONDITIONAL:
+                return Metrics.NET_CACHE_CONDITIONAL;
+            case MISS:
+                return Metrics.NET_CACHE_MISS;
+            default:
+                return Metrics.NET_FAILED;
+        }
+    }
+
+    /**
+     * Итог одного вызова. Длительности в наносекундах, -1 - фазы не было
+     * (соединение из пула, ответ из Cache).
+     */
+    public static final class CallTiming {
+
+        public final String endpoint;
+        public final long callNanos;
+        public final long dnsNanos;
+        public final long connectNanos;
+        public final long tlsNanos;
+        public final long ttfbNanos;
+        public final long bodyNanos;
+        public final long bytesOut;
+        public final long bytesIn;
+        public final CacheResult cacheResult;
+
+        CallTiming(String endpoint, long callNanos, long dnsNanos, long connectNanos, long tlsNanos,
+                   long ttfbNanos, long bodyNanos, long bytesOut, long bytesIn, CacheResult cacheResult) {
+            this.endpoint = endpoint;
+            this.callNanos = callNanos;
+            this.dnsNanos = dnsNanos;
+            this.connectNanos = connectNanos;
+            this.tlsNanos = tlsNanos;
+            this.ttfbNanos = ttfbNanos;
+            this.bodyNanos = bodyNanos;
+            this.bytesOut = bytesOut;
+            this.bytesIn = bytesIn;
+            this.cacheResult = cacheResult;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%s %s total=%.1fms dns=%s connect=%s tls=%s ttfb=%s body=%s out=%dB in=%dB",
+                    endpoint, cacheResult, callNanos / 1e6, millis(dnsNanos), millis(connectNanos),
+                    millis(tlsNanos), millis(ttfbNanos), millis(bodyNanos), bytesOut, bytesIn);
+        }
+
+        private static String millis(long nanos) {
+            return nanos < 0 ? "-" : String.format(Locale.US, "%.1fms", nanos / 1e6);
+        }
+    }
+}
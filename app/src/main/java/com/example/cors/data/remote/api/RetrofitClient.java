@@ -1,45 +1,97 @@
 package com.example.cors.data.remote.api;
 
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 public class RetrofitClient {
 
+    private static final String TAG = "Network";
+
     private static final String BASE_URL = "https://api.example.com/";
-    
+
+    /**
+     * Размер HTTP-кеша OkHttp (ответы с Cache-Control / ETag)
+     */
+    private static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024;
+
     /**
      * Singleton instance Retrofit клиента
      */
     private static Retrofit retrofit = null;
-    
+
     /**
      * Приватный конструктор - запрещает создание экземпляров извне.
      * Это часть паттерна Singleton.
      */
     private RetrofitClient() {
     }
-    
+
     /**
      * Получает экземпляр Retrofit клиента (Singleton pattern).
      * При первом вызове создаёт Retrofit, при последующих - возвращает существующий.
+     * synchronized - первый вызов выполняется из фонового потока StartupPipeline.
+     *
+     * @param context Context для каталога HTTP-кеша
      */
-    public static Retrofit getRetrofitInstance() {
+    public static synchronized Retrofit getRetrofitInstance(Context context) {
         if (retrofit == null) {
-            // Создаём Retrofit с настройками
-            retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL)
-                    // GsonConverterFactory автоматически конвертирует JSON в Java объекты
-                    .addConverterFactory(GsonConverterFactory.create())
-                    .build();
+            File cacheDir = new File(context.getApplicationContext().getCacheDir(), "http");
+            // Фазы каждого вызова (DNS, connect, TLS, TTFB, тело) - в Metrics и logcat
+            OkHttpClient client = clientBuilder(cacheDir,
+                    timing -> Log.d(TAG, timing.toString())).build();
+            // Debug с -PfakeBackend - локальный FakeCourseBackend вместо BASE_URL
+            retrofit = create(BackendConfig.baseUrl(BASE_URL), client);
         }
         return retrofit;
     }
-    
+
     /**
      * Создаёт и возвращает экземпляр API сервиса.
      * Это удобный метод для быстрого получения API интерфейса.
      */
-    public static CourseApiService getApiService() {
-        return getRetrofitInstance().create(CourseApiService.class);
+    public static CourseApiService getApiService(Context context) {
+        return getRetrofitInstance(context).create(CourseApiService.class);
+    }
+
+    /**
+     * Синхронизация каталога с сервером включена (в демо-режиме - только с фейковым backend).
+     */
+    public static boolean isSyncEnabled() {
+        return BackendConfig.isSyncEnabled();
+    }
+
+    /**
+     * OkHttp клиент с HTTP-кешем и замером фаз вызовов.
+     *
+     * @param cacheDir Каталог кеша (null - без кеша)
+     * @param callback Получатель итогов вызовов
+     */
+    static OkHttpClient.Builder clientBuilder(File cacheDir, NetworkTimingListener.Callback callback) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .eventListenerFactory(new NetworkTimingListener.Factory(callback));
+        if (cacheDir != null) {
+            builder.cache(new Cache(cacheDir, HTTP_CACHE_SIZE));
+        }
+        return builder;
+    }
+
+    /**
+     * Retrofit поверх готового клиента.
+     * GsonConverterFactory автоматически конвертирует JSON в Java объекты,
+     * время разбора пишется в Metrics.NET_PARSE.
+     */
+    static Retrofit create(String baseUrl, OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(new TimedConverterFactory(GsonConverterFactory.create()))
+                .build();
     }
 }
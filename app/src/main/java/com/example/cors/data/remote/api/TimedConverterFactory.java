@@ -0,0 +1,50 @@
+package com.example.cors.data.remote.api;
+
+import com.example.cors.utils.metrics.LatencyHistogram;
+import com.example.cors.utils.metrics.Metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Обёртка над Converter.Factory: время разбора тела ответа пишется в Metrics.NET_PARSE.
+ * Конвертеры запросов не меняются.
+ */
+final class TimedConverterFactory extends Converter.Factory {
+
+    private static final LatencyHistogram PARSE_TIME = Metrics.histogram(Metrics.NET_PARSE);
+
+    private final Converter.Factory delegate;
+
+    TimedConverterFactory(Converter.Factory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+        if (converter == null) {
+            return null;
+        }
+        return body -> {
+            long start = Metrics.now();
+            try {
+                return converter.convert(body);
+            } finally {
+                PARSE_TIME.recordSince(start);
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+}
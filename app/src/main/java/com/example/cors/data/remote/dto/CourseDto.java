@@ -45,6 +45,12 @@ public class CourseDto {
      */
     @SerializedName("description")
     private String description;
+    
+    /**
+     * BlurHash изображения - компактное размытое превью (считается на сервере)
+     */
+    @SerializedName("blur_hash")
+    private String blurHash;
 
     /**
      * Конструктор по умолчанию - требуется Gson для десериализации JSON
@@ -123,4 +129,12 @@ public class CourseDto {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public String getBlurHash() {
+        return blurHash;
+    }
+
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
 }
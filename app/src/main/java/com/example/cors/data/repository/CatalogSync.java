@@ -0,0 +1,176 @@
+package com.example.cors.data.repository;
+
+import android.util.Log;
+
+import com.example.cors.data.local.dao.CourseDao;
+import com.example.cors.data.local.database.AppDatabase;
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.data.mapper.CourseMapper;
+import com.example.cors.data.remote.api.CourseApiService;
+import com.example.cors.data.remote.dto.CourseDto;
+import com.example.cors.utils.metrics.LatencyHistogram;
+import com.example.cors.utils.metrics.Metrics;
+import com.example.cors.utils.metrics.Tracing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * Синхронизация каталога с сервером. Выполняется синхронно - только из фонового
+ * потока (CatalogSyncWorker).
+ *
+ * - Первый раз (нет курсора) - каталог целиком, постранично (PAGE_SIZE)
+ * - Дальше - только изменения после курсора (GET /courses?since=...)
+ *
+ * Курсы пишутся пачками по BATCH_SIZE, каждая - в одной транзакции: одна запись
+ * журнала вместо отдельной на каждую строку, а читатели (список на экране)
+ * ждут блокировку только на время одной пачки.
+ * Меняются только поля каталога: избранное, комментарий и оценка пользователя
+ * сохраняются (CourseDao.updateCatalogFields). После каждой пачки её курсы удаляются
+ * из CourseDetailCache - экран деталей не покажет описание до синхронизации.
+ *
+ * Курсор и время синхронизации сохраняются (CatalogSyncState) только после
+ * записи всех изменений: если синхронизация прервалась, следующая повторит её
+ * с прежнего курсора.
+ */
+public class CatalogSync {
+
+    private static final String TAG = "CatalogSync";
+
+    static final int PAGE_SIZE = 200;
+
+    static final int BATCH_SIZE = 100;
+
+    private static final String HEADER_NEXT_PAGE = "X-Next-Page";
+
+    private static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    private static final LatencyHistogram PERSIST_TIME = Metrics.histogram(Metrics.NET_PERSIST);
+
+    private static final LatencyHistogram RUN_TIME = Metrics.histogram(Metrics.SYNC_RUN);
+
+    private final AppDatabase database;
+
+    private final CourseDao courseDao;
+
+    private final CourseApiService apiService;
+
+    private final CatalogSyncState state;
+
+    public CatalogSync(AppDatabase database, CourseApiService apiService, CatalogSyncState state) {
+        this.database = database;
+        this.courseDao = database.courseDao();
+        this.apiService = apiService;
+        this.state = state;
+    }
+
+    /**
+     * Выполняет синхронизацию.
+     *
+     * @return Сколько курсов записано
+     * @throws IOException Ошибка сети - можно повторить позже
+     * @throws HttpException Сервер ответил ошибкой (код - HttpException.code())
+     */
+    public int sync() throws IOException {
+        long start = Metrics.now();
+        long cursor = state.cursor();
+        int written = cursor == CatalogSyncState.NO_CURSOR ? syncFull() : syncChanges(cursor);
+        RUN_TIME.recordSince(start);
+        Log.i(TAG, (cursor == CatalogSyncState.NO_CURSOR ? "Полная" : "Delta")
+                + " синхронизация: курсов " + written + ", " + (Metrics.now() - start) / 1_000_000 + " мс");
+        return written;
+    }
+
+    private int syncFull() throws IOException {
+        int written = 0;
+        long nextCursor = CatalogSyncState.NO_CURSOR;
+        int page = 0;
+        while (true) {
+            Response<List<CourseDto>> response = execute(apiService.getCoursesPage(page, PAGE_SIZE));
+            if (page == 0) {
+                // Курсор первой страницы: изменения, сделанные на сервере во время
+                // постраничной загрузки, придут в следующий delta-запрос
+                nextCursor = cursorOf(response);
+            }
+            written += persist(response.body());
+            if (response.headers().get(HEADER_NEXT_PAGE) == null) {
+                break;
+            }
+            page++;
+        }
+        state.commit(nextCursor, System.currentTimeMillis());
+        return written;
+    }
+
+    private int syncChanges(long cursor) throws IOException {
+        Response<List<CourseDto>> response = execute(apiService.getCourseChanges(cursor));
+        int written = persist(response.body());
+        state.commit(cursorOf(response), System.currentTimeMillis());
+        return written;
+    }
+
+    private static Response<List<CourseDto>> execute(Call<List<CourseDto>> call) throws IOException {
+        Response<List<CourseDto>> response = call.execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new HttpException(response);
+        }
+        return response;
+    }
+
+    private static long cursorOf(Response<?> response) throws IOException {
+        String cursor = response.headers().get(HEADER_NEXT_CURSOR);
+        if (cursor == null) {
+            throw new IOException("Нет заголовка " + HEADER_NEXT_CURSOR);
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IOException("Некорректный " + HEADER_NEXT_CURSOR + ": " + cursor, e);
+        }
+    }
+
+    /**
+     * Записывает курсы пачками по BATCH_SIZE, каждую - в своей транзакции.
+     *
+     * @return Сколько курсов записано
+     */
+    private int persist(List<CourseDto> courses) {
+        for (int from = 0; from < courses.size(); from += BATCH_SIZE) {
+            List<CourseDto> batch = courses.subList(from, Math.min(courses.size(), from + BATCH_SIZE));
+            if (Tracing.ENABLED) Tracing.begin("CatalogSync.persistBatch");
+            try {
+                long start = Metrics.now();
+                database.runInTransaction(() -> upsert(batch));
+                // После коммита - до него предзагрузка могла бы снова положить старую строку
+                for (CourseDto course : batch) {
+                    CourseDetailCache.invalidate(course.getId());
+                }
+                PERSIST_TIME.recordSince(start);
+            } finally {
+                if (Tracing.ENABLED) Tracing.end();
+            }
+        }
+        Metrics.counter(Metrics.SYNC_COURSES).add(courses.size());
+        return courses.size();
+    }
+
+    private void upsert(List<CourseDto> batch) {
+        List<CourseEntity> inserted = new ArrayList<>();
+        for (CourseDto course : batch) {
+            int updated = courseDao.updateCatalogFields(course.getId(), course.getTitle(), course.getProvider(),
+                    course.getDuration(), course.getLevel(), course.getDescription(), course.getImageUrl(),
+                    course.getBlurHash());
+            if (updated == 0) {
+                inserted.add(CourseMapper.dtoToEntity(course));
+            }
+        }
+        if (!inserted.isEmpty()) {
+            courseDao.insertNewCourses(inserted);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.cors.data.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.lifecycle.LiveData;
+
+/**
+ * Состояние синхронизации каталога: курсор delta-запросов и время последней
+ * успешной синхронизации.
+ *
+ * Хранится в SharedPreferences "catalog_sync". Курсор выдаёт сервер (X-Next-Cursor),
+ * нет курсора - каталог ещё не загружался целиком.
+ */
+public class CatalogSyncState {
+
+    /**
+     * Курсора нет - нужна полная загрузка
+     */
+    public static final long NO_CURSOR = -1;
+
+    private static final String PREFS_NAME = "catalog_sync";
+    private static final String KEY_CURSOR = "cursor";
+    private static final String KEY_LAST_SYNCED_AT = "last_synced_at";
+
+    private final SharedPreferences prefs;
+
+    public CatalogSyncState(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * @return Курсор для следующего delta-запроса или NO_CURSOR
+     */
+    public long cursor() {
+        return prefs.getLong(KEY_CURSOR, NO_CURSOR);
+    }
+
+    /**
+     * @return Время последней успешной синхронизации (мс, 0 - не было)
+     */
+    public long lastSyncedAt() {
+        return prefs.getLong(KEY_LAST_SYNCED_AT, 0);
+    }
+
+    /**
+     * Записывает итог успешной синхронизации. Вызывается после того,
+     * как все изменения записаны в БД - иначе при сбое часть изменений потерялась бы.
+     *
+     * @param cursor Курсор из ответа сервера
+     * @param syncedAt Время синхронизации (мс)
+     */
+    public void commit(long cursor, long syncedAt) {
+        prefs.edit()
+                .putLong(KEY_CURSOR, cursor)
+                .putLong(KEY_LAST_SYNCED_AT, syncedAt)
+                .apply();
+    }
+
+    /**
+     * Время последней синхронизации для UI: обновляется при каждой записи.
+     * Каждый вызов создаёт новую LiveData - вызывающий хранит её (CourseRepository).
+     *
+     * @return LiveData со временем (мс, 0 - не было)
+     */
+    public LiveData<Long> lastSyncedAtLiveData() {
+        return new LastSyncedAtLiveData(prefs);
+    }
+
+    private static class LastSyncedAtLiveData extends LiveData<Long>
+            implements SharedPreferences.OnSharedPreferenceChangeListener {
+
+        private final SharedPreferences prefs;
+
+        LastSyncedAtLiveData(SharedPreferences prefs) {
+            this.prefs = prefs;
+        }
+
+        @Override
+        protected void onActive() {
+            // SharedPreferences держит слушателей по слабой ссылке - ссылку держит сама LiveData
+            prefs.registerOnSharedPreferenceChangeListener(this);
+            setValue(prefs.getLong(KEY_LAST_SYNCED_AT, 0));
+        }
+
+        @Override
+        protected void onInactive() {
+            prefs.unregisterOnSharedPreferenceChangeListener(this);
+        }
+
+        @Override
+        public void onSharedPreferenceChanged(SharedPreferences sharedPreferences, String key) {
+            if (KEY_LAST_SYNCED_AT.equals(key)) {
+                setValue(sharedPreferences.getLong(KEY_LAST_SYNCED_AT, 0));
+            }
+        }
+    }
+}
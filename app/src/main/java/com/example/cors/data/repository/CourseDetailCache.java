@@ -0,0 +1,207 @@
+package com.example.cors.data.repository;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import com.example.cors.domain.model.Course;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Кеш полных строк курсов (с описанием) для экрана деталей.
+ *
+ * Заполняется CourseRepository.prefetchCourseDetails, когда список остановился:
+ * видимые курсы с большой вероятностью будут открыты следующими.
+ * CourseDetailViewModel.loadCourse сначала смотрит сюда - при попадании
+ * описание и отзыв отображаются сразу, без ожидания Room.
+ *
+ * Общий для всех экземпляров CourseRepository (у каждой ViewModel свой Repository).
+ * Ограничен бюджетом памяти MAX_BYTES по оценке размера строк курса.
+ * Счётчики hits/misses показывают, окупается ли предзагрузка (logcat, тег CourseDetailCache).
+ * Попадания в курсы из прогрева при старте (CourseRepository.warmUp) считаются отдельно
+ * (warmHits) - иначе первые экраны завышали бы hit rate предзагрузки.
+ *
+ * Версия кеша растёт при каждом invalidate. Предзагрузка запоминает её до чтения БД
+ * и кладёт строку через putIfCurrent: проверка версии и запись - под одной блокировкой,
+ * поэтому строка, прочитанная до записи в БД, не попадает в кеш после invalidate.
+ */
+public final class CourseDetailCache {
+
+    private static final String TAG = "CourseDetailCache";
+
+    /**
+     * Бюджет памяти кеша (оценка: 2 байта на символ строк + заголовки объектов)
+     */
+    static final int MAX_BYTES = 512 * 1024;
+
+    /**
+     * Оценка накладных расходов на объект Course и его строки
+     */
+    private static final int COURSE_OVERHEAD_BYTES = 160;
+
+    private static final LruCache<Integer, Course> CACHE = new LruCache<Integer, Course>(MAX_BYTES) {
+        @Override
+        protected int sizeOf(Integer key, Course course) {
+            return estimateSize(course);
+        }
+    };
+
+    private static final AtomicInteger HITS = new AtomicInteger();
+
+    private static final AtomicInteger MISSES = new AtomicInteger();
+
+    private static final AtomicInteger WARM_HITS = new AtomicInteger();
+
+    /**
+     * ID курсов, попавших в кеш при прогреве (ещё не заменённых предзагрузкой)
+     */
+    private static final Set<Integer> WARM_IDS = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Блокировка для согласованного изменения VERSION и CACHE
+     */
+    private static final Object LOCK = new Object();
+
+    /**
+     * Версия кеша: увеличивается при каждом invalidate (guarded by LOCK)
+     */
+    private static long version;
+
+    /**
+     * Приватный конструктор - класс содержит только статические методы.
+     */
+    private CourseDetailCache() {
+    }
+
+    /**
+     * Возвращает курс из кеша и учитывает попадание/промах.
+     *
+     * @param courseId ID курса
+     * @return Курс или null
+     */
+    static Course get(int courseId) {
+        Course course = CACHE.get(courseId);
+        if (course != null && WARM_IDS.contains(courseId)) {
+            int warmHits = WARM_HITS.incrementAndGet();
+            Log.i(TAG, "Попадание (прогрев) для курса " + courseId + ", всего " + warmHits);
+            return course;
+        }
+        int hits = course != null ? HITS.incrementAndGet() : HITS.get();
+        int misses = course != null ? MISSES.get() : MISSES.incrementAndGet();
+        Log.i(TAG, (course != null ? "Попадание" : "Промах") + " для курса " + courseId
+                + ", hit rate " + hits + "/" + (hits + misses));
+        return course;
+    }
+
+    /**
+     * Проверяет наличие без учёта в статистике (для предзагрузки).
+     *
+     * @param courseId ID курса
+     * @return true если курс уже в кеше
+     */
+    static boolean contains(int courseId) {
+        return CACHE.get(courseId) != null;
+    }
+
+    /**
+     * @return Текущая версия кеша - запоминается до чтения строк из БД
+     */
+    static long version() {
+        synchronized (LOCK) {
+            return version;
+        }
+    }
+
+    static void put(Course course) {
+        synchronized (LOCK) {
+            WARM_IDS.remove(course.getId());
+            CACHE.put(course.getId(), course);
+        }
+    }
+
+    /**
+     * Кладёт курс, прочитанный из БД при версии readVersion, если с тех пор не было invalidate.
+     *
+     * @param course Курс
+     * @param readVersion version() до чтения строки
+     * @return false если версия сменилась - строка могла устареть и не сохранена
+     */
+    static boolean putIfCurrent(Course course, long readVersion) {
+        synchronized (LOCK) {
+            if (version != readVersion) {
+                return false;
+            }
+            WARM_IDS.remove(course.getId());
+            CACHE.put(course.getId(), course);
+            return true;
+        }
+    }
+
+    /**
+     * Кладёт курс из прогрева при старте: попадания в него не входят в hit rate предзагрузки.
+     * Как и putIfCurrent, не сохраняет строку, если после readVersion был invalidate.
+     *
+     * @param course Курс
+     * @param readVersion version() до чтения строки
+     * @return false если версия сменилась
+     */
+    static boolean putWarmIfCurrent(Course course, long readVersion) {
+        synchronized (LOCK) {
+            if (version != readVersion) {
+                return false;
+            }
+            WARM_IDS.add(course.getId());
+            CACHE.put(course.getId(), course);
+            return true;
+        }
+    }
+
+    /**
+     * Удаляет курс после изменения (избранное, отзыв, синхронизация) - устаревшая копия
+     * не нужна. Вызывается после записи в БД и увеличивает версию: незавершённые
+     * предзагрузки, прочитавшие строки до записи, не смогут положить их в кеш.
+     *
+     * @param courseId ID курса
+     */
+    static void invalidate(int courseId) {
+        synchronized (LOCK) {
+            version++;
+            CACHE.remove(courseId);
+            WARM_IDS.remove(courseId);
+        }
+    }
+
+    /**
+     * @return Количество попаданий с начала работы процесса
+     */
+    public static int getHitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * @return Количество попаданий в курсы из прогрева (не входят в getHitCount)
+     */
+    public static int getWarmHitCount() {
+        return WARM_HITS.get();
+    }
+
+    /**
+     * @return Количество промахов с начала работы процесса
+     */
+    public static int getMissCount() {
+        return MISSES.get();
+    }
+
+    private static int estimateSize(Course course) {
+        return COURSE_OVERHEAD_BYTES + 2 * (length(course.getTitle()) + length(course.getProvider())
+                + length(course.getLevel()) + length(course.getImageUrl()) + length(course.getDescription())
+                + length(course.getComment()) + length(course.getBlurHash()));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
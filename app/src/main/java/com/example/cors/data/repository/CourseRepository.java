@@ -3,25 +3,34 @@ package com.example.cors.data.repository;
 import android.content.Context;
 
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
+import androidx.work.WorkInfo;
 
 import com.example.cors.data.local.dao.CourseDao;
 import com.example.cors.data.local.database.AppDatabase;
 import com.example.cors.data.local.entity.CourseEntity;
 import com.example.cors.data.mapper.CourseMapper;
-import com.example.cors.data.remote.api.CourseApiService;
 import com.example.cors.data.remote.api.RetrofitClient;
-import com.example.cors.data.remote.dto.CourseDto;
 import com.example.cors.domain.model.Course;
+import com.example.cors.utils.ConnectivityMonitor;
+import com.example.cors.utils.metrics.InstrumentedExecutor;
+import com.example.cors.utils.metrics.LatencyHistogram;
+import com.example.cors.utils.metrics.Metrics;
+import com.example.cors.utils.metrics.Tracing;
+import com.example.cors.worker.CatalogSyncWorker;
+import com.example.cors.worker.FavoriteImagePrefetchWorker;
+import com.example.cors.worker.OfflineImageBudget;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Repository - единая точка доступа к данным для ViewModel.
@@ -34,21 +43,43 @@ import retrofit2.Response;
  * 
  * Стратегия работы:
  * 1. Возвращаем данные из локальной БД (быстро)
- * 2. Параллельно делаем запрос к API
- * 3. Обновляем БД новыми данными
- * 4. LiveData автоматически уведомляет UI об обновлении
+ * 2. Каталог с сервера загружает фоновая синхронизация (CatalogSyncWorker),
+ *    а не открытие экрана - сеть и запись в БД не идут, пока пользователь ждёт.
+ *    Устаревший каталог обновляется по запросу экрана (refreshIfStale) с учётом сети
+ * 3. LiveData автоматически уведомляет UI об обновлении БД
  */
 public class CourseRepository {
     
+    private static final LatencyHistogram MAPPER_TIME = Metrics.histogram(Metrics.MAPPER);
+    
+    /**
+     * Каталог старше этого обновляется по запросу экрана, не дожидаясь
+     * периодической синхронизации (она ждёт зарядки и простоя)
+     */
+    private static final long STALE_AFTER_MS = TimeUnit.HOURS.toMillis(12);
+    
+    private static final String REFRESH_TASK = "catalog-refresh";
+    
     /**
      * DAO для работы с локальной БД
      */
     private final CourseDao courseDao;
     
     /**
-     * API сервис для сетевых запросов
+     * Состояние фоновой синхронизации каталога (время последней)
      */
-    private final CourseApiService apiService;
+    private final CatalogSyncState syncState;
+    
+    /**
+     * Время последней синхронизации для UI - один экземпляр на Repository,
+     * чтобы подписка и чтение getValue() (CoursesActivity.onResume) видели одно значение
+     */
+    private final LiveData<Long> lastSyncedAt;
+    
+    /**
+     * Состояние сети: обновление без сети не запускается, а ждёт подключения
+     */
+    private final ConnectivityMonitor connectivity;
     
     /**
      * Executor для выполнения операций БД в фоновом потоке.
@@ -57,16 +88,44 @@ public class CourseRepository {
     private final ExecutorService executorService;
     
     /**
-     * LiveData для отслеживания ошибок.
+     * executorService с замером ожидания в очереди и времени выполнения (Metrics)
+     */
+    private final Executor writeExecutor;
+    
+    /**
+     * Контекст приложения (для фоновых задач WorkManager)
+     */
+    private final Context appContext;
+    
+    /**
+     * Отдельный поток для предзагрузки деталей - не задерживает записи в БД
+     */
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+    
+    /**
+     * Номер текущей предзагрузки. Увеличивается при отмене - устаревшие задачи
+     * не кладут результат в кеш.
+     */
+    private final AtomicInteger prefetchGeneration = new AtomicInteger();
+    
+    /**
+     * LiveData для отслеживания ошибок - из WorkInfo разовой синхронизации (syncNow).
      * ViewModel подписывается на это поле для показа ошибок пользователю.
      */
-    private final MutableLiveData<String> errorLiveData = new MutableLiveData<>();
+    private final LiveData<String> errorLiveData;
     
     /**
-     * LiveData для отслеживания состояния загрузки.
+     * LiveData для отслеживания состояния загрузки - разовая синхронизация выполняется.
      * true - идёт загрузка, false - загрузка завершена.
      */
-    private final MutableLiveData<Boolean> loadingLiveData = new MutableLiveData<>(false);
+    private final LiveData<Boolean> loadingLiveData;
+    
+    /**
+     * ID разовых синхронизаций, замеченных незавершёнными. Ошибку показываем только
+     * для них: FAILED от прошлого запуска приложения WorkManager хранит в истории.
+     * Только главный поток (Transformations.map).
+     */
+    private final Set<UUID> unfinishedSyncs = new HashSet<>();
     
     /**
      * Конструктор Repository - инициализирует все зависимости.
@@ -74,40 +133,59 @@ public class CourseRepository {
      * @param context Контекст для получения instance БД
      */
     public CourseRepository(Context context) {
+        appContext = context.getApplicationContext();
+        
         // Получаем DAO из singleton instance БД
         AppDatabase database = AppDatabase.getInstance(context);
         courseDao = database.courseDao();
         
-        // Получаем API сервис из Retrofit client
-        apiService = RetrofitClient.getApiService();
+        syncState = new CatalogSyncState(context);
+        lastSyncedAt = syncState.lastSyncedAtLiveData();
+        connectivity = ConnectivityMonitor.getInstance(context);
+        
+        LiveData<List<WorkInfo>> syncNow = CatalogSyncWorker.syncNowInfo(appContext);
+        loadingLiveData = Transformations.map(syncNow, CourseRepository::isSyncRunning);
+        errorLiveData = Transformations.map(syncNow, this::syncError);
         
         // Создаём ExecutorService с одним потоком для последовательного выполнения операций БД
         executorService = Executors.newSingleThreadExecutor();
+        writeExecutor = new InstrumentedExecutor(executorService,
+                Metrics.REPOSITORY_QUEUE, Metrics.REPOSITORY_TASK);
     }
     
     /**
-     * Получает все курсы (из БД) и запускает обновление с сервера.
+     * Маппинг списка Entity → Course с записью времени в Metrics.MAPPER.
+     * В трейсе - секция с именем метода Repository, чья LiveData эмитит список.
      * 
-     * Алгоритм работы:
-     * 1. Возвращаем LiveData из БД (UI сразу получает закешированные данные)
-     * 2. Параллельно делаем API запрос для обновления
-     * 3. Сохраняем новые данные в БД
-     * 4. Room автоматически обновляет LiveData, UI получает свежие данные
+     * @param section Имя секции трейса
+     * @param entityList Список из DAO
+     */
+    private static List<Course> toDomainTimed(String section, List<CourseEntity> entityList) {
+        if (Tracing.ENABLED) Tracing.begin(section);
+        try {
+            long start = Metrics.now();
+            List<Course> courses = CourseMapper.entityListToDomainList(entityList);
+            MAPPER_TIME.recordSince(start);
+            return courses;
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
+    }
+    
+    /**
+     * Получает все курсы из БД.
+     * Сеть не используется: каталог обновляет фоновая синхронизация (CatalogSyncWorker),
+     * Room автоматически обновляет LiveData, и UI получает свежие данные.
      * 
      * @return LiveData со списком курсов в формате Domain модели
      */
     public LiveData<List<Course>> getAllCourses() {
-        // Запускаем фоновое обновление с сервера
-        refreshCoursesFromApi();
-        
         // Получаем LiveData<List<CourseEntity>> из DAO
         LiveData<List<CourseEntity>> entityLiveData = courseDao.getAllCourses();
         
         // Трансформируем LiveData<List<Entity>> в LiveData<List<Domain>>
         // Transformations.map применяется каждый раз при изменении данных
-        return Transformations.map(entityLiveData, entityList -> 
-            CourseMapper.entityListToDomainList(entityList)
-        );
+        return Transformations.map(entityLiveData, list -> toDomainTimed("CourseRepository.getAllCourses.map", list));
     }
     
     /**
@@ -120,9 +198,7 @@ public class CourseRepository {
         LiveData<List<CourseEntity>> entityLiveData = courseDao.getFavoriteCourses();
         
         // Маппим Entity список в Domain список
-        return Transformations.map(entityLiveData, entityList -> 
-            CourseMapper.entityListToDomainList(entityList)
-        );
+        return Transformations.map(entityLiveData, list -> toDomainTimed("CourseRepository.getFavoriteCourses.map", list));
     }
     
     /**
@@ -134,9 +210,7 @@ public class CourseRepository {
     public LiveData<List<Course>> searchCourses(String query) {
         LiveData<List<CourseEntity>> entityLiveData = courseDao.searchCourses(query);
         
-        return Transformations.map(entityLiveData, entityList -> 
-            CourseMapper.entityListToDomainList(entityList)
-        );
+        return Transformations.map(entityLiveData, list -> toDomainTimed("CourseRepository.searchCourses.map", list));
     }
     
     /**
@@ -148,9 +222,7 @@ public class CourseRepository {
     public LiveData<List<Course>> getCoursesByLevel(String level) {
         LiveData<List<CourseEntity>> entityLiveData = courseDao.getCoursesByLevel(level);
         
-        return Transformations.map(entityLiveData, entityList -> 
-            CourseMapper.entityListToDomainList(entityList)
-        );
+        return Transformations.map(entityLiveData, list -> toDomainTimed("CourseRepository.getCoursesByLevel.map", list));
     }
     
     /**
@@ -165,12 +237,107 @@ public class CourseRepository {
         // Трансформируем LiveData<Entity> в LiveData<Domain>
         return Transformations.map(entityLiveData, entity -> {
             if (entity != null) {
-                return CourseMapper.entityToDomain(entity);
+                if (Tracing.ENABLED) Tracing.begin("CourseRepository.getCourseById.map");
+                try {
+                    return CourseMapper.entityToDomain(entity);
+                } finally {
+                    if (Tracing.ENABLED) Tracing.end();
+                }
             }
             return null;
         });
     }
     
+    /**
+     * Прогревает кеш деталей курсами первого экрана при старте приложения.
+     * Заодно компилирует запросы и заполняет page cache SQLite до первого запроса списка.
+     * Нельзя вызывать из главного потока (используется StartupPipeline).
+     * 
+     * @param context Context приложения
+     * @param count Сколько первых курсов загрузить
+     */
+    public static void warmUp(Context context, int count) {
+        if (Tracing.ENABLED) Tracing.begin("CourseRepository.warmUp");
+        try {
+            CourseDao dao = AppDatabase.getInstance(context).courseDao();
+            long version = CourseDetailCache.version();
+            for (CourseEntity entity : dao.getFirstCoursesSync(count)) {
+                if (!CourseDetailCache.putWarmIfCurrent(CourseMapper.entityToDomain(entity), version)) {
+                    return;                                      // Курс изменили во время чтения
+                }
+            }
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
+    }
+    
+    /**
+     * Возвращает полную строку курса из кеша предзагрузки.
+     * Учитывается в статистике попаданий CourseDetailCache.
+     * 
+     * @param courseId ID курса
+     * @return Курс с описанием или null
+     */
+    public Course getCachedCourseDetail(int courseId) {
+        return CourseDetailCache.get(courseId);
+    }
+    
+    /**
+     * Загружает полные строки курсов (с описанием) в CourseDetailCache.
+     * Вызывается, когда список остановился - видимые курсы скорее всего откроют следующими.
+     * Курсы, уже лежащие в кеше, не перечитываются.
+     * 
+     * @param courseIds ID видимых курсов
+     */
+    public void prefetchCourseDetails(List<Integer> courseIds) {
+        int generation = prefetchGeneration.incrementAndGet();
+        prefetchExecutor.execute(() -> {
+            if (Tracing.ENABLED) Tracing.begin("CourseRepository.prefetchCourseDetails");
+            try {
+                prefetchMissing(courseIds, generation);
+            } finally {
+                if (Tracing.ENABLED) Tracing.end();
+            }
+        });
+    }
+    
+    /**
+     * Читает в CourseDetailCache видимые курсы, которых там ещё нет.
+     * Прерывается, если поколение предзагрузки сменилось (начался fling)
+     * или после чтения был записан какой-то курс (версия кеша сменилась).
+     */
+    private void prefetchMissing(List<Integer> courseIds, int generation) {
+        List<Integer> missing = new ArrayList<>();
+        for (int courseId : courseIds) {
+            if (!CourseDetailCache.contains(courseId)) {
+                missing.add(courseId);
+            }
+        }
+        if (missing.isEmpty() || generation != prefetchGeneration.get()) {
+            return;
+        }
+        // Версия - до чтения: запись после неё отклонит putIfCurrent
+        long version = CourseDetailCache.version();
+        List<CourseEntity> entities = courseDao.getCoursesByIdsSync(missing);
+        for (CourseEntity entity : entities) {
+            // Началась прокрутка (fling) - результат больше не нужен
+            if (generation != prefetchGeneration.get()) {
+                return;
+            }
+            // Сравнение версии и запись - атомарно в CourseDetailCache
+            if (!CourseDetailCache.putIfCurrent(CourseMapper.entityToDomain(entity), version)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Отменяет предзагрузку деталей (начался fling - видимые курсы сменятся).
+     */
+    public void cancelCourseDetailPrefetch() {
+        prefetchGeneration.incrementAndGet();
+    }
+    
     /**
      * Обновляет статус избранного для курса.
      * Операция выполняется в фоновом потоке (через ExecutorService).
@@ -179,12 +346,35 @@ public class CourseRepository {
      * @param isFavorite Новый статус избранного
      */
     public void updateFavoriteStatus(int courseId, boolean isFavorite) {
-        executorService.execute(() -> {
-            // Выполняем обновление в фоновом потоке
-            courseDao.updateFavoriteStatus(courseId, isFavorite);
+        writeExecutor.execute(() -> {
+            if (Tracing.ENABLED) Tracing.begin("CourseRepository.updateFavoriteStatus");
+            try {
+                // Выполняем обновление в фоновом потоке
+                courseDao.updateFavoriteStatus(courseId, isFavorite);
+                CourseDetailCache.invalidate(courseId);         // После записи - см. invalidate
+                
+                // Изображения избранного скачиваются заранее для работы offline
+                if (isFavorite) {
+                    FavoriteImagePrefetchWorker.enqueueForCourse(appContext, courseId);
+                } else {
+                    new OfflineImageBudget(appContext).remove(courseId);
+                }
+            } finally {
+                if (Tracing.ENABLED) Tracing.end();
+            }
         });
     }
     
+    /**
+     * Отмечает открытие избранного курса: его изображения поднимаются в offline LRU
+     * (OfflineImageBudget). Чтение и запись SharedPreferences - в фоновом потоке.
+     * 
+     * @param courseId ID курса
+     */
+    public void touchOfflineImages(int courseId) {
+        writeExecutor.execute(() -> new OfflineImageBudget(appContext).touch(courseId));
+    }
+    
     /**
      * Сохраняет комментарий и оценку пользователя для курса.
      * 
@@ -193,72 +383,73 @@ public class CourseRepository {
      * @param rating Оценка (0-5)
      */
     public void saveCourseReview(int courseId, String comment, float rating) {
-        executorService.execute(() -> {
-            // Обновляем комментарий и рейтинг в БД
-            courseDao.updateCourseReview(courseId, comment, rating);
+        writeExecutor.execute(() -> {
+            if (Tracing.ENABLED) Tracing.begin("CourseRepository.saveCourseReview");
+            try {
+                // Обновляем комментарий и рейтинг в БД
+                courseDao.updateCourseReview(courseId, comment, rating);
+                CourseDetailCache.invalidate(courseId);
+            } finally {
+                if (Tracing.ENABLED) Tracing.end();
+            }
         });
     }
     
     /**
-     * Обновляет данные курсов с сервера и сохраняет в БД.
-     * Это приватный метод, вызывается автоматически при getAllCourses().
+     * Обновляет каталог с сервера, если он устарел (STALE_AFTER_MS).
+     * Сама загрузка - в фоне (CatalogSyncWorker.syncNow), UI читает только БД.
      * 
-     * В DEMO режиме (когда API - заглушка) этот метод НЕ делает сетевые запросы,
-     * чтобы избежать ошибок "Unable to connect" при первом запуске.
-     * Данные уже есть в локальной БД благодаря DatabaseInitializer.
+     * Без сети запрос не делается (он дождался бы таймаута и показал ошибку) -
+     * обновление откладывается до подключения (ConnectivityMonitor.runWhenOnline).
+     * В лимитной сети загружаются только изменения, не весь каталог.
+     * В демо-режиме (API - заглушка) ничего не делает.
+     */
+    public void refreshIfStale() {
+        if (!RetrofitClient.isSyncEnabled()) {
+            return;
+        }
+        // Чтение SharedPreferences - не в главном потоке
+        writeExecutor.execute(() -> {
+            if (System.currentTimeMillis() - syncState.lastSyncedAt() >= STALE_AFTER_MS) {
+                connectivity.runWhenOnline(REFRESH_TASK, () -> CatalogSyncWorker.syncNow(appContext));
+            }
+        });
+    }
+    
+    /**
+     * Время последней успешной синхронизации каталога - для показа свежести данных.
      * 
-     * Алгоритм (в production с реальным API):
-     * 1. Устанавливаем loadingLiveData = true
-     * 2. Делаем асинхронный запрос к API
-     * 3. При успехе - сохраняем данные в БД
-     * 4. При ошибке - публикуем сообщение об ошибке
-     * 5. В любом случае устанавливаем loadingLiveData = false
-     */
-    private void refreshCoursesFromApi() {
-        // DEMO MODE: API - это заглушка, не делаем реальных запросов
-        // В production приложении раскомментируйте код ниже и укажите реальный BASE_URL
-        
-        // Сразу устанавливаем loading = false, т.к. запрос не делаем
-        loadingLiveData.postValue(false);
-        
-        // Закомментированный код для production с реальным API:
-        /*
-        // Индикатор загрузки - показываем прогресс в UI
-        loadingLiveData.postValue(true);
-        
-        // Создаём асинхронный запрос к API
-        Call<List<CourseDto>> call = apiService.getCourses();
-        
-        // Выполняем запрос асинхронно
-        call.enqueue(new Callback<List<CourseDto>>() {
-            @Override
-            public void onResponse(Call<List<CourseDto>> call, Response<List<CourseDto>> response) {
-                loadingLiveData.postValue(false);
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    // Получили данные - конвертируем DTO в Entity
-                    List<CourseDto> dtoList = response.body();
-                    List<CourseEntity> entityList = CourseMapper.dtoListToEntityList(dtoList);
-                    
-                    // Сохраняем в БД в фоновом потоке
-                    executorService.execute(() -> {
-                        courseDao.insertCourses(entityList);
-                    });
-                } else {
-                    // Сервер вернул ошибку (например, 404, 500)
-                    errorLiveData.postValue("Ошибка сервера: " + response.code());
-                }
+     * @return LiveData со временем в мс (0 - синхронизации ещё не было)
+     */
+    public LiveData<Long> getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+    
+    private static boolean isSyncRunning(List<WorkInfo> infos) {
+        for (WorkInfo info : infos) {
+            if (info.getState() == WorkInfo.State.RUNNING) {
+                return true;
             }
-            
-            @Override
-            public void onFailure(Call<List<CourseDto>> call, Throwable t) {
-                loadingLiveData.postValue(false);
-                
-                // Публикуем сообщение об ошибке для отображения в UI
-                errorLiveData.postValue("Ошибка сети: " + t.getMessage());
+        }
+        return false;
+    }
+    
+    /**
+     * Сообщение об ошибке синхронизации, завершившейся неудачей после того, как мы её
+     * видели незавершённой. null - новой ошибки нет (ViewModel его не показывает).
+     */
+    private String syncError(List<WorkInfo> infos) {
+        String error = null;
+        for (WorkInfo info : infos) {
+            if (!info.getState().isFinished()) {
+                unfinishedSyncs.add(info.getId());
+            } else if (unfinishedSyncs.remove(info.getId())
+                    && info.getState() == WorkInfo.State.FAILED) {
+                String message = info.getOutputData().getString(CatalogSyncWorker.KEY_ERROR);
+                error = message != null ? message : "Не удалось обновить каталог";
             }
-        });
-        */
+        }
+        return error;
     }
     
     /**
@@ -287,5 +478,6 @@ public class CourseRepository {
      */
     public void cleanup() {
         executorService.shutdown();
+        prefetchExecutor.shutdownNow();
     }
 }
@@ -21,6 +21,7 @@ public class Course {
     private String comment;
     private float userRating;
     private boolean isFavorite;
+    private String blurHash;
 
     /**
      * Конструктор по умолчанию
@@ -161,4 +162,15 @@ public class Course {
     public void setFavorite(boolean favorite) {
         isFavorite = favorite;
     }
+
+    /**
+     * @return BlurHash изображения для placeholder (может быть null)
+     */
+    public String getBlurHash() {
+        return blurHash;
+    }
+
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
 }
@@ -1,11 +1,15 @@
 package com.example.cors.ui;
 
+import android.content.Context;
+import android.content.Intent;
 import android.os.Bundle;
+import android.text.TextUtils;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.IntentCompat;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.bumptech.glide.Glide;
@@ -13,6 +17,8 @@ import com.example.cors.R;
 import com.example.cors.databinding.ActivityCourseDetailBinding;
 import com.example.cors.domain.model.Course;
 import com.example.cors.utils.GlideHelper;
+import com.example.cors.utils.TextPrecomputer;
+import com.example.cors.utils.metrics.FrameMonitor;
 import com.example.cors.viewmodel.CourseDetailViewModel;
 
 /**
@@ -28,6 +34,16 @@ import com.example.cors.viewmodel.CourseDetailViewModel;
  */
 public class CourseDetailActivity extends AppCompatActivity {
     
+    /**
+     * Ключ Intent: ID курса
+     */
+    public static final String EXTRA_COURSE_ID = "COURSE_ID";
+    
+    /**
+     * Ключ Intent: снимок строки списка (CourseSnapshot) для мгновенного отображения
+     */
+    public static final String EXTRA_COURSE_SNAPSHOT = "COURSE_SNAPSHOT";
+    
     /**
      * ViewBinding для доступа к View элементам
      */
@@ -48,6 +64,38 @@ public class CourseDetailActivity extends AppCompatActivity {
      */
     private Course currentCourse;
     
+    /**
+     * Флаг: полная строка курса уже пришла из Room
+     */
+    private boolean fullRowLoaded;
+    
+    /**
+     * URL изображения, уже загружаемого в header (чтобы не перезапускать загрузку
+     * при обновлении данных курса)
+     */
+    private String displayedImageUrl;
+    
+    /**
+     * Замер времени кадров: открытие экрана до полной строки курса - DETAIL_LOADING
+     */
+    private FrameMonitor frameMonitor;
+    
+    /**
+     * Создаёт Intent для открытия экрана деталей из списка.
+     * Вместе с ID передаётся снимок строки - название, уровень и изображение
+     * показываются сразу, не дожидаясь Room.
+     * 
+     * @param context Context
+     * @param course Курс из списка
+     * @return Intent для startActivity
+     */
+    public static Intent newIntent(Context context, Course course) {
+        Intent intent = new Intent(context, CourseDetailActivity.class);
+        intent.putExtra(EXTRA_COURSE_ID, course.getId());
+        intent.putExtra(EXTRA_COURSE_SNAPSHOT, CourseSnapshot.from(course));
+        return intent;
+    }
+    
     /**
      * Метод onCreate - инициализация Activity.
      */
@@ -59,11 +107,14 @@ public class CourseDetailActivity extends AppCompatActivity {
         binding = ActivityCourseDetailBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
         
+        frameMonitor = new FrameMonitor(this, "detail");
+        frameMonitor.setState(FrameMonitor.State.DETAIL_LOADING);
+        
         // Настраиваем ActionBar с кнопкой "Назад"
         setupActionBar();
         
         // Получаем ID курса из Intent
-        courseId = getIntent().getIntExtra("COURSE_ID", -1);
+        courseId = getIntent().getIntExtra(EXTRA_COURSE_ID, -1);
         
         // Проверяем валидность ID
         if (courseId == -1) {
@@ -73,6 +124,15 @@ public class CourseDetailActivity extends AppCompatActivity {
             return;
         }
         
+        // Быстрый путь: показываем данные из снимка строки списка сразу,
+        // описание и отзыв появятся, когда Room вернёт полную строку
+        CourseSnapshot snapshot = IntentCompat.getParcelableExtra(
+                getIntent(), EXTRA_COURSE_SNAPSHOT, CourseSnapshot.class);
+        if (snapshot != null && snapshot.getId() == courseId) {
+            currentCourse = snapshot.toCourse();
+            displayCourseSummary(currentCourse);
+        }
+        
         // Инициализируем ViewModel
         viewModel = new ViewModelProvider(this).get(CourseDetailViewModel.class);
         
@@ -128,6 +188,15 @@ public class CourseDetailActivity extends AppCompatActivity {
         // Подписываемся на данные курса
         viewModel.getCourseLiveData().observe(this, course -> {
             if (course != null) {
+                // Открытие избранного курса поднимает его изображения в offline LRU
+                if (!fullRowLoaded && course.isFavorite()) {
+                    viewModel.onFavoriteCourseOpened();
+                }
+                if (!fullRowLoaded) {
+                    frameMonitor.clearStateAfterNextFrame(FrameMonitor.State.DETAIL_LOADING);
+                }
+                fullRowLoaded = true;
+                
                 // Сохраняем текущий курс
                 currentCourse = course;
                 
@@ -153,6 +222,25 @@ public class CourseDetailActivity extends AppCompatActivity {
      * @param course Курс для отображения
      */
     private void displayCourseData(Course course) {
+        // Название, уровень, изображение (то же, что показывается из снимка)
+        displayCourseSummary(course);
+        
+        // Описание длинное - измеряем его в фоновом потоке через PrecomputedText,
+        // главный поток только применяет готовый layout
+        TextPrecomputer.setText(binding.descriptionTextView, course.getDescription());
+        
+        // Заполняем поля комментария и оценки (если они уже есть)
+        binding.commentEditText.setText(course.getComment());
+        binding.ratingBar.setRating(course.getUserRating());
+    }
+    
+    /**
+     * Отображает краткие данные курса: название, провайдер, длительность, уровень,
+     * изображение и статус избранного. Этих данных достаточно из снимка строки списка.
+     * 
+     * @param course Курс (полный или восстановленный из CourseSnapshot)
+     */
+    private void displayCourseSummary(Course course) {
         // Устанавливаем заголовок
         if (getSupportActionBar() != null) {
             getSupportActionBar().setTitle(course.getTitle());
@@ -162,7 +250,7 @@ public class CourseDetailActivity extends AppCompatActivity {
          * Загрузка Hero Header Image через GlideHelper в высоком качестве
          * 
          * GlideHelper.loadHeaderImage() использует оптимизированную конфигурацию:
-         * - Высокое качество 1200x800px для Full HD дисплеев
+         * - Размер по реальным границам header, превью из списка показывается сразу
          * - CrossFade 400ms для premium плавного появления
          * - Disk + Memory кеширование для offline режима
          * 
@@ -178,11 +266,15 @@ public class CourseDetailActivity extends AppCompatActivity {
          * - Parallax scroll для depth ощущения
          * - Gradient scrim для читабельности Toolbar
          */
-        GlideHelper.loadHeaderImage(
-            this,
-            course.getImageUrl(),
-            binding.courseImageView
-        );
+        if (!TextUtils.equals(displayedImageUrl, course.getImageUrl())) {
+            displayedImageUrl = course.getImageUrl();
+            GlideHelper.loadHeaderImage(
+                this,
+                course.getImageUrl(),
+                course.getBlurHash(),
+                binding.courseImageView
+            );
+        }
         
         // Заполняем текстовые поля
         binding.courseTitleTextView.setText(course.getTitle());
@@ -193,12 +285,6 @@ public class CourseDetailActivity extends AppCompatActivity {
         binding.levelTextView.setText("Уровень: " + course.getLocalizedLevel());
         setLevelColor(course.getLevel());
         
-        binding.descriptionTextView.setText(course.getDescription());
-        
-        // Заполняем поля комментария и оценки (если они уже есть)
-        binding.commentEditText.setText(course.getComment());
-        binding.ratingBar.setRating(course.getUserRating());
-        
         // Обновляем иконку FAB в зависимости от статуса избранного
         updateFavoriteIcon(course.isFavorite());
     }
@@ -239,8 +325,10 @@ public class CourseDetailActivity extends AppCompatActivity {
     private void updateFavoriteIcon(boolean isFavorite) {
         if (isFavorite) {
             binding.fabFavorite.setImageResource(R.drawable.ic_favorite_filled);
+            binding.fabFavorite.setContentDescription(getString(R.string.remove_from_favorites));
         } else {
             binding.fabFavorite.setImageResource(R.drawable.ic_favorite_border);
+            binding.fabFavorite.setContentDescription(getString(R.string.add_to_favorites));
         }
     }
     
@@ -295,6 +383,18 @@ public class CourseDetailActivity extends AppCompatActivity {
         return super.onOptionsItemSelected(item);
     }
     
+    @Override
+    protected void onResume() {
+        super.onResume();
+        frameMonitor.start();
+    }
+    
+    @Override
+    protected void onPause() {
+        super.onPause();
+        frameMonitor.stop();
+    }
+    
     /**
      * Освобождаем ресурсы при уничтожении Activity.
      */
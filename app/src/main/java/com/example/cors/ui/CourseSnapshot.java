@@ -0,0 +1,114 @@
+package com.example.cors.ui;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+
+import com.example.cors.domain.model.Course;
+
+/**
+ * Компактный снимок строки списка для передачи в CourseDetailActivity через Intent.
+ *
+ * Проблема: экран деталей получал только ID курса и был пустым, пока Room
+ * не вернёт строку (запрос в фоне + доставка LiveData).
+ *
+ * Снимок содержит только то, что уже было на экране списка: название, провайдер,
+ * длительность, уровень, изображение и статус избранного. Описание и отзыв
+ * (самые длинные поля) не передаются - они приходят из Room вместе с полной строкой.
+ */
+public class CourseSnapshot implements Parcelable {
+
+    private final int id;
+    private final String title;
+    private final String provider;
+    private final int duration;
+    private final String level;
+    private final String imageUrl;
+    private final String blurHash;
+    private final boolean isFavorite;
+
+    private CourseSnapshot(Course course) {
+        this.id = course.getId();
+        this.title = course.getTitle();
+        this.provider = course.getProvider();
+        this.duration = course.getDuration();
+        this.level = course.getLevel();
+        this.imageUrl = course.getImageUrl();
+        this.blurHash = course.getBlurHash();
+        this.isFavorite = course.isFavorite();
+    }
+
+    private CourseSnapshot(Parcel in) {
+        id = in.readInt();
+        title = in.readString();
+        provider = in.readString();
+        duration = in.readInt();
+        level = in.readString();
+        imageUrl = in.readString();
+        blurHash = in.readString();
+        isFavorite = in.readByte() != 0;
+    }
+
+    /**
+     * Создаёт снимок строки списка.
+     *
+     * @param course Курс из списка
+     * @return Снимок для Intent
+     */
+    public static CourseSnapshot from(Course course) {
+        return new CourseSnapshot(course);
+    }
+
+    /**
+     * Восстанавливает частичный курс для отображения.
+     * Описание пустое, отзыв не заполнен - их даёт полная строка из Room.
+     *
+     * @return Курс без описания и отзыва
+     */
+    public Course toCourse() {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle(title);
+        course.setProvider(provider);
+        course.setDuration(duration);
+        course.setLevel(level);
+        course.setImageUrl(imageUrl);
+        course.setBlurHash(blurHash);
+        course.setFavorite(isFavorite);
+        return course;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public void writeToParcel(@NonNull Parcel dest, int flags) {
+        dest.writeInt(id);
+        dest.writeString(title);
+        dest.writeString(provider);
+        dest.writeInt(duration);
+        dest.writeString(level);
+        dest.writeString(imageUrl);
+        dest.writeString(blurHash);
+        dest.writeByte((byte) (isFavorite ? 1 : 0));
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    public static final Creator<CourseSnapshot> CREATOR = new Creator<CourseSnapshot>() {
+        @Override
+        public CourseSnapshot createFromParcel(Parcel in) {
+            return new CourseSnapshot(in);
+        }
+
+        @Override
+        public CourseSnapshot[] newArray(int size) {
+            return new CourseSnapshot[size];
+        }
+    };
+}
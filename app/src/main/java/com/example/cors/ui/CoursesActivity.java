@@ -2,24 +2,37 @@ package com.example.cors.ui;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.format.DateUtils;
+import android.view.Choreographer;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.SearchView;
 import androidx.lifecycle.ViewModelProvider;
-import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.cors.R;
 import com.example.cors.data.Resource;
 import com.example.cors.databinding.ActivityCoursesBinding;
 import com.example.cors.domain.model.Course;
 import com.example.cors.ui.adapter.CourseAdapter;
+import com.example.cors.ui.adapter.DetailPrefetchScrollListener;
+import com.example.cors.ui.adapter.PrefetchLinearLayoutManager;
+import com.example.cors.ui.adapter.RowViewPool;
+import com.example.cors.ui.adapter.SharedCourseViewPool;
 import com.example.cors.viewmodel.CoursesViewModel;
+import com.example.cors.utils.StartupPipeline;
+import com.example.cors.utils.metrics.FrameMonitor;
+import com.example.cors.utils.metrics.Metrics;
+import com.example.cors.utils.metrics.Tracing;
 import com.google.android.material.chip.Chip;
 
+import java.util.List;
+
 /**
  * Главный экран приложения - список курсов.
  * 
@@ -35,6 +48,23 @@ import com.google.android.material.chip.Chip;
  */
 public class CoursesActivity extends AppCompatActivity {
     
+    /**
+     * Extra для выбора реализации строки списка (для сравнения времени кадра):
+     * adb shell am start -n com.example.cors/.ui.CoursesActivity --ez USE_CARD_VIEW false
+     */
+    public static final String EXTRA_USE_CARD_VIEW = "USE_CARD_VIEW";
+    
+    /**
+     * Extra для количества строк, создаваемых заранее в фоне (по умолчанию - экран + 2 строки)
+     */
+    public static final String EXTRA_PREINFLATE_ROWS = "PREINFLATE_ROWS";
+    
+    /**
+     * Примерная высота строки списка вместе с отступами (100dp обложка + 32dp padding + 16dp margin).
+     * Используется для расчёта, сколько строк помещается на первом экране.
+     */
+    private static final int ESTIMATED_ROW_HEIGHT_DP = 148;
+    
     /**
      * ViewBinding - автоматически генерируемый класс для доступа к View.
      * Заменяет findViewById, обеспечивает type-safety.
@@ -51,6 +81,37 @@ public class CoursesActivity extends AppCompatActivity {
      */
     private CourseAdapter adapter;
     
+    /**
+     * Пул строк, созданных заранее в фоновом потоке, пока данные грузятся из Room
+     */
+    private RowViewPool rowViewPool;
+    
+    /**
+     * Предзагрузка полных строк видимых курсов, когда список остановился
+     */
+    private DetailPrefetchScrollListener detailPrefetchListener;
+    
+    /**
+     * reportFullyDrawn уже запрошен для этого экрана
+     */
+    private boolean fullyDrawnReported;
+    
+    /**
+     * Замер времени кадров и рывков экрана
+     */
+    private FrameMonitor frameMonitor;
+    
+    /**
+     * Асинхронная секция трейса: нажатие клавиши в поиске → привязка его результатов
+     */
+    private static final String SEARCH_TRACE_SECTION = "search.keystrokeToBind";
+    
+    /**
+     * Cookie открытой секции поиска (0 - нет) и счётчик cookie
+     */
+    private int searchTraceCookie;
+    private int searchTraceCounter;
+    
     /**
      * Метод onCreate - точка входа при создании Activity.
      * Вызывается системой при первом создании экрана.
@@ -66,9 +127,11 @@ public class CoursesActivity extends AppCompatActivity {
         binding = ActivityCoursesBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
         
-        // Инициализируем БД тестовыми данными (только при первом запуске)
-        // DatabaseInitializer проверяет наличие данных и добавляет их если БД пустая
-        initializeDatabaseIfNeeded();
+        // Время кадров по состояниям экрана (прокрутка, поиск, фильтр)
+        frameMonitor = new FrameMonitor(this, "courses");
+        
+        // БД, тестовые данные, Retrofit и Glide инициализирует StartupPipeline в фоне
+        // (запускается из CorsApplication) - здесь только UI
         
         // Настраиваем ActionBar
         setupActionBar();
@@ -86,22 +149,49 @@ public class CoursesActivity extends AppCompatActivity {
         observeViewModel();
     }
     
+    @Override
+    protected void onResume() {
+        super.onResume();
+        frameMonitor.start();
+        // Относительное время ("5 минут назад") устаревает, пока экран в фоне
+        showLastSynced(viewModel.getLastSyncedAt().getValue());
+    }
+    
+    @Override
+    protected void onPause() {
+        super.onPause();
+        frameMonitor.stop();
+    }
+    
     /**
-     * Инициализирует БД тестовыми данными при первом запуске.
-     * Проверяет SharedPreferences - если приложение запускается впервые,
-     * вызывает DatabaseInitializer для заполнения БД примерами курсов.
+     * Сообщает системе, что экран полностью отрисован, когда список с данными
+     * попадает в кадр (Time to Full Display в logcat/Play Console).
+     * Вызывается при каждом SUCCESS, но срабатывает один раз на экземпляр Activity:
+     * система считает Time to Full Display для каждого запуска экрана, поэтому флаг
+     * не статический. Время первого кадра со списком за процесс StartupPipeline
+     * учитывает само (reportFirstListFrame).
      */
-    private void initializeDatabaseIfNeeded() {
-        android.content.SharedPreferences prefs = getSharedPreferences("app_prefs", MODE_PRIVATE);
-        boolean isFirstRun = prefs.getBoolean("is_first_run", true);
-        
-        if (isFirstRun) {
-            // Заполняем БД тестовыми данными
-            com.example.cors.utils.DatabaseInitializer.populateDatabase(this);
-            
-            // Сохраняем флаг что приложение уже запускалось
-            prefs.edit().putBoolean("is_first_run", false).apply();
+    private void reportFullyDrawnOnNextFrame() {
+        if (fullyDrawnReported) {
+            return;
         }
+        fullyDrawnReported = true;
+        binding.coursesRecyclerView.getViewTreeObserver().addOnPreDrawListener(
+                new android.view.ViewTreeObserver.OnPreDrawListener() {
+                    @Override
+                    public boolean onPreDraw() {
+                        binding.coursesRecyclerView.getViewTreeObserver().removeOnPreDrawListener(this);
+                        // Кадр с заполненным списком уже рисуется - замеряем после его отправки
+                        binding.coursesRecyclerView.post(() -> {
+                            if (isDestroyed()) {
+                                return;
+                            }
+                            StartupPipeline.reportFirstListFrame();
+                            reportFullyDrawn();
+                        });
+                        return true;
+                    }
+                });
     }
     
     /**
@@ -114,6 +204,25 @@ public class CoursesActivity extends AppCompatActivity {
         }
     }
     
+    /**
+     * Показывает свежесть каталога в подзаголовке: когда прошла последняя
+     * фоновая синхронизация. Без синхронизации (демо-режим) подзаголовка нет.
+     * 
+     * @param lastSyncedAt Время синхронизации в мс (null или 0 - не было)
+     */
+    private void showLastSynced(Long lastSyncedAt) {
+        if (getSupportActionBar() == null) {
+            return;
+        }
+        if (lastSyncedAt == null || lastSyncedAt == 0) {
+            getSupportActionBar().setSubtitle(null);
+            return;
+        }
+        CharSequence ago = DateUtils.getRelativeTimeSpanString(lastSyncedAt,
+                System.currentTimeMillis(), DateUtils.MINUTE_IN_MILLIS);
+        getSupportActionBar().setSubtitle("Обновлено: " + ago);
+    }
+    
     /**
      * Настраивает RecyclerView для отображения списка курсов.
      * 
@@ -124,13 +233,54 @@ public class CoursesActivity extends AppCompatActivity {
         // Создаём adapter
         adapter = new CourseAdapter();
         
+        // CourseCardView по умолчанию, XML layout - через Intent extra
+        adapter.setUseCardView(getIntent().getBooleanExtra(
+                EXTRA_USE_CARD_VIEW, CourseAdapter.DEFAULT_USE_CARD_VIEW));
+        
         // Устанавливаем LayoutManager - определяет как располагать элементы
         // LinearLayoutManager - вертикальный список
-        binding.coursesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        PrefetchLinearLayoutManager layoutManager = new PrefetchLinearLayoutManager(this);
+        binding.coursesRecyclerView.setLayoutManager(layoutManager);
+        
+        // Общий с другим экраном пул строк + prefetch нескольких строк по направлению прокрутки
+        SharedCourseViewPool.attach(binding.coursesRecyclerView, layoutManager);
+        
+        // Создаём строки первого экрана в фоне - первый кадр со списком не будет их инфлейтить
+        rowViewPool = new RowViewPool();
+        rowViewPool.preinflate(binding.coursesRecyclerView, adapter.getRowViewType(),
+                getIntent().getIntExtra(EXTRA_PREINFLATE_ROWS, defaultPreinflateRowCount()));
+        adapter.setRowViewPool(rowViewPool);
         
         // Подключаем adapter к RecyclerView
         binding.coursesRecyclerView.setAdapter(adapter);
         
+        // В простое читаем полные строки видимых курсов - экран деталей откроется заполненным
+        detailPrefetchListener = new DetailPrefetchScrollListener(adapter,
+                new DetailPrefetchScrollListener.Callback() {
+                    @Override
+                    public void onIdle(List<Integer> visibleCourseIds) {
+                        viewModel.prefetchCourseDetails(visibleCourseIds);
+                    }
+                    
+                    @Override
+                    public void onFling() {
+                        viewModel.cancelCourseDetailPrefetch();
+                    }
+                });
+        binding.coursesRecyclerView.addOnScrollListener(detailPrefetchListener);
+        
+        // Кадры во время прокрутки (включая fling) - отдельная статистика рывков
+        binding.coursesRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    frameMonitor.clearState(FrameMonitor.State.SCROLLING);
+                } else {
+                    frameMonitor.setState(FrameMonitor.State.SCROLLING);
+                }
+            }
+        });
+        
         // Устанавливаем listener на клик по курсу
         adapter.setOnCourseClickListener(course -> {
             // При клике открываем экран деталей курса
@@ -149,6 +299,18 @@ public class CoursesActivity extends AppCompatActivity {
         });
     }
     
+    /**
+     * Рассчитывает, сколько строк нужно создать заранее: столько, сколько помещается
+     * на экране, плюс две (частично видимая и первая из prefetch при прокрутке).
+     * 
+     * @return Количество строк для пула
+     */
+    private int defaultPreinflateRowCount() {
+        android.util.DisplayMetrics metrics = getResources().getDisplayMetrics();
+        float screenHeightDp = metrics.heightPixels / metrics.density;
+        return (int) Math.ceil(screenHeightDp / ESTIMATED_ROW_HEIGHT_DP) + 2;
+    }
+    
     /**
      * Настраивает Material Chips для фильтрации по уровню с цветовой индикацией.
      * 
@@ -170,28 +332,73 @@ public class CoursesActivity extends AppCompatActivity {
         
         // Chip "Все" - показывает все курсы без фильтра
         binding.chipAll.setOnClickListener(v -> {
-            viewModel.filterByLevel(null); // null = все уровни
+            filterByLevel(null); // null = все уровни
         });
         
         // Chip "Начальный" - фильтрует по Beginner
         binding.chipBeginner.setOnClickListener(v -> {
-            viewModel.filterByLevel("Beginner");
+            filterByLevel("Beginner");
         });
         
         // Chip "Средний" - фильтрует по Intermediate
         binding.chipIntermediate.setOnClickListener(v -> {
-            viewModel.filterByLevel("Intermediate");
+            filterByLevel("Intermediate");
         });
         
         // Chip "Продвинутый" - фильтрует по Advanced
         binding.chipAdvanced.setOnClickListener(v -> {
-            viewModel.filterByLevel("Advanced");
+            filterByLevel("Advanced");
         });
         
         // По умолчанию выбран chip "Все"
         binding.chipAll.setChecked(true);
     }
     
+    /**
+     * Применяет фильтр по уровню. Кадры до отрисовки нового списка
+     * относятся к состоянию FILTER_CHANGE.
+     * 
+     * @param level Уровень или null для всех курсов
+     */
+    private void filterByLevel(String level) {
+        frameMonitor.setState(FrameMonitor.State.FILTER_CHANGE);
+        viewModel.filterByLevel(level);
+    }
+    
+    /**
+     * Новый список передан в adapter: кадр с ним ещё относится к поиску/фильтру,
+     * следующие - снова к IDLE.
+     */
+    private void onListUpdated() {
+        frameMonitor.clearStateAfterNextFrame(FrameMonitor.State.SEARCHING);
+        frameMonitor.clearStateAfterNextFrame(FrameMonitor.State.FILTER_CHANGE);
+        if (Tracing.ENABLED && searchTraceCookie != 0) {
+            // Строки привязываются в layout следующего кадра - секция закрывается после него
+            int cookie = searchTraceCookie;
+            searchTraceCookie = 0;
+            Choreographer.getInstance().postFrameCallback(frameTimeNanos -> {
+                if (binding == null) {
+                    // Экран закрыли до кадра - секцию всё равно закрываем
+                    Tracing.endAsync(SEARCH_TRACE_SECTION, cookie);
+                    return;
+                }
+                binding.coursesRecyclerView.post(() -> Tracing.endAsync(SEARCH_TRACE_SECTION, cookie));
+            });
+        }
+    }
+    
+    /**
+     * Открывает асинхронную секцию для нажатия клавиши в поиске.
+     * Предыдущая незакрытая секция закрывается: её результаты заменит новый запрос.
+     */
+    private void traceSearchKeystroke() {
+        if (searchTraceCookie != 0) {
+            Tracing.endAsync(SEARCH_TRACE_SECTION, searchTraceCookie);
+        }
+        searchTraceCookie = ++searchTraceCounter;
+        Tracing.beginAsync(SEARCH_TRACE_SECTION, searchTraceCookie);
+    }
+    
     /**
      * Применяет цветовые схемы к Filter Chips для визуального различия уровней.
      * 
@@ -260,6 +467,9 @@ public class CoursesActivity extends AppCompatActivity {
      * - Невозможно забыть обработать какое-то состояние
      */
     private void observeViewModel() {
+        // Свежесть каталога - время последней фоновой синхронизации
+        viewModel.getLastSyncedAt().observe(this, this::showLastSynced);
+        
         // Подписываемся на Resource с курсами
         // Resource содержит и данные, и состояние, и ошибку в одном объекте
         viewModel.getCoursesLiveData().observe(this, resource -> {
@@ -286,9 +496,19 @@ public class CoursesActivity extends AppCompatActivity {
                         // Есть данные - показываем список
                         showSuccessState();
                         adapter.setCourses(resource.getData());
+                        onListUpdated();
+                        
+                        // Без прокрутки события idle не будет - предзагружаем первый экран после layout
+                        binding.coursesRecyclerView.post(() -> {
+                            if (binding != null) {
+                                detailPrefetchListener.prefetchVisible(binding.coursesRecyclerView);
+                            }
+                        });
+                        reportFullyDrawnOnNextFrame();
                     } else {
                         // Нет данных - показываем Empty State
                         showEmptyState();
+                        onListUpdated();
                     }
                     break;
                     
@@ -307,6 +527,7 @@ public class CoursesActivity extends AppCompatActivity {
                         // Нет даже старых данных - показываем Empty State
                         showEmptyState();
                     }
+                    onListUpdated();
                     break;
             }
         });
@@ -387,10 +608,8 @@ public class CoursesActivity extends AppCompatActivity {
      * @param course Курс для отображения
      */
     private void openCourseDetail(Course course) {
-        Intent intent = new Intent(this, CourseDetailActivity.class);
-        // Передаём ID курса через Intent
-        intent.putExtra("COURSE_ID", course.getId());
-        startActivity(intent);
+        // Передаём ID курса и снимок строки - экран деталей отрисуется сразу
+        startActivity(CourseDetailActivity.newIntent(this, course));
     }
     
     /**
@@ -431,6 +650,8 @@ public class CoursesActivity extends AppCompatActivity {
             @Override
             public boolean onQueryTextChange(String newText) {
                 // Выполняем поиск при каждом изменении (живой поиск)
+                frameMonitor.setState(FrameMonitor.State.SEARCHING);
+                if (Tracing.ENABLED) traceSearchKeystroke();
                 viewModel.searchCourses(newText);
                 return true;
             }
@@ -439,12 +660,45 @@ public class CoursesActivity extends AppCompatActivity {
         return true;
     }
     
+    /**
+     * Обработка пунктов меню.
+     * "Выгрузить метрики" - снимок гистограмм горячих путей в logcat и в файл.
+     */
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_dump_metrics) {
+            // Запись файла - в фоне, Toast - по готовности
+            Metrics.dumpAsync(this, file -> {
+                if (isDestroyed()) {
+                    return;
+                }
+                if (file != null) {
+                    Toast.makeText(this, "Метрики: " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+                } else {
+                    Toast.makeText(this, "Не удалось сохранить метрики", Toast.LENGTH_SHORT).show();
+                }
+            });
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+    
     /**
      * Освобождаем ресурсы при уничтожении Activity.
      */
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        // Отменяем фоновое создание строк (задачи держат RecyclerView экрана)
+        // и освобождаем неиспользованные строки
+        if (rowViewPool != null) {
+            rowViewPool.close();
+        }
+        // Незакрытая секция поиска - список уже не обновится
+        if (searchTraceCookie != 0) {
+            Tracing.endAsync(SEARCH_TRACE_SECTION, searchTraceCookie);
+            searchTraceCookie = 0;
+        }
         // Очищаем binding для предотвращения утечек памяти
         binding = null;
     }
@@ -1,6 +1,5 @@
 package com.example.cors.ui;
 
-import android.content.Intent;
 import android.os.Bundle;
 import android.view.MenuItem;
 import android.view.View;
@@ -8,12 +7,13 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
-import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.cors.data.Resource;
 import com.example.cors.databinding.ActivityFavoritesBinding;
 import com.example.cors.domain.model.Course;
 import com.example.cors.ui.adapter.CourseAdapter;
+import com.example.cors.ui.adapter.PrefetchLinearLayoutManager;
+import com.example.cors.ui.adapter.SharedCourseViewPool;
 import com.example.cors.viewmodel.FavoritesViewModel;
 
 /**
@@ -86,7 +86,11 @@ public class FavoritesActivity extends AppCompatActivity {
         adapter = new CourseAdapter();
         
         // Устанавливаем LayoutManager
-        binding.favoritesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        PrefetchLinearLayoutManager layoutManager = new PrefetchLinearLayoutManager(this);
+        binding.favoritesRecyclerView.setLayoutManager(layoutManager);
+        
+        // Общий с другим экраном пул строк + prefetch нескольких строк по направлению прокрутки
+        SharedCourseViewPool.attach(binding.favoritesRecyclerView, layoutManager);
         
         // Подключаем adapter
         binding.favoritesRecyclerView.setAdapter(adapter);
@@ -184,9 +188,8 @@ public class FavoritesActivity extends AppCompatActivity {
      * @param course Курс для отображения
      */
     private void openCourseDetail(Course course) {
-        Intent intent = new Intent(this, CourseDetailActivity.class);
-        intent.putExtra("COURSE_ID", course.getId());
-        startActivity(intent);
+        // Передаём ID курса и снимок строки - экран деталей отрисуется сразу
+        startActivity(CourseDetailActivity.newIntent(this, course));
     }
     
     /**
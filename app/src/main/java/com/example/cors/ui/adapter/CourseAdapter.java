@@ -1,5 +1,7 @@
 package com.example.cors.ui.adapter;
 
+import android.content.Context;
+import android.os.SystemClock;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -8,15 +10,25 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.cors.R;
 import com.example.cors.domain.model.Course;
+import com.example.cors.ui.view.CourseCardView;
+import com.example.cors.utils.BlurHashPlaceholders;
+import com.example.cors.utils.ConnectivityMonitor;
 import com.example.cors.utils.GlideHelper;
+import com.example.cors.utils.TextPrecomputer;
+import com.example.cors.utils.metrics.LatencyHistogram;
+import com.example.cors.utils.metrics.Metrics;
+import com.example.cors.utils.metrics.Tracing;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -28,6 +40,26 @@ import java.util.List;
  */
 public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseViewHolder> {
     
+    /**
+     * Тип элемента: строка из XML layout (item_course.xml)
+     */
+    public static final int VIEW_TYPE_LAYOUT = 0;
+    
+    /**
+     * Тип элемента: CourseCardView, которая рисует карточку сама за один проход
+     */
+    public static final int VIEW_TYPE_CARD = 1;
+    
+    /**
+     * Реализация строки по умолчанию.
+     * CourseCardView дешевле по measure/layout, XML layout оставлен для сравнения времени кадра.
+     */
+    public static final boolean DEFAULT_USE_CARD_VIEW = true;
+    
+    private static final LatencyHistogram DIFF_TIME = Metrics.histogram(Metrics.ADAPTER_DIFF);
+    
+    private static final LatencyHistogram BIND_TIME = Metrics.histogram(Metrics.ADAPTER_BIND);
+    
     /**
      * Список курсов для отображения
      */
@@ -43,6 +75,64 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
      */
     private OnFavoriteClickListener favoriteClickListener;
     
+    /**
+     * Параметры TextView названия курса (шрифт, размер, переносы).
+     * Запоминаются при создании первого ViewHolder и используются для
+     * фонового расчёта названий через TextPrecomputer.
+     */
+    private PrecomputedTextCompat.Params titleTextParams;
+    
+    /**
+     * Параметры layout названия CourseCardView (ширина, краска, направление).
+     * Берутся у уже измеренной карточки и используются для фонового построения
+     * названий следующих строк - bind карточки получает готовый StaticLayout.
+     */
+    private TextPrecomputer.LayoutSpec cardTitleSpec;
+    
+    /**
+     * Сколько строк с начала списка подготавливать заранее (названия, BlurHash) -
+     * первые экраны. Дальше строки подготавливаются по ходу прокрутки
+     * (ThumbnailPreloader, prefetchRow) - в окне перед краем экрана.
+     */
+    private static final int INITIAL_PREFETCH_COUNT = 24;
+    
+    /**
+     * Какую реализацию строки использовать: CourseCardView (true) или item_course.xml (false)
+     */
+    private boolean useCardView = DEFAULT_USE_CARD_VIEW;
+    
+    /**
+     * Пул строк, созданных заранее в фоновом потоке (может быть null)
+     */
+    private RowViewPool rowViewPool;
+    
+    /**
+     * Контекст экрана, к которому подключён адаптер (для Glide с привязкой к lifecycle).
+     * Строки создаются в контексте приложения (общий пул), поэтому берём его из RecyclerView.
+     */
+    private Context hostContext;
+    
+    /**
+     * Предзагрузка превью по направлению прокрутки (создаётся при подключении к RecyclerView)
+     */
+    private ThumbnailPreloader thumbnailPreloader;
+    
+    /**
+     * Снимок лимитности сети для текущего списка (null - ещё не взят).
+     * bind и предзагрузка строят URL превью по нему - один ключ кеша, даже если
+     * сеть сменилась во время прокрутки. Сбрасывается в setCourses.
+     */
+    private Boolean meteredSnapshot;
+    
+    /**
+     * Конструктор адаптера.
+     * Stable ids (ID курса) позволяют RecyclerView сопоставлять строки между обновлениями
+     * и не перепривязывать строки, данные которых не изменились.
+     */
+    public CourseAdapter() {
+        setHasStableIds(true);
+    }
+    
     /**
      * Устанавливает новый список курсов с использованием DiffUtil.
      * DiffUtil вычисляет разницу между старым и новым списком,
@@ -55,13 +145,33 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
         CourseDiffCallback diffCallback = new CourseDiffCallback(this.courses, newCourses);
         
         // Вычисляем разницу между списками
-        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(diffCallback);
+        if (Tracing.ENABLED) Tracing.begin("CourseAdapter.diff");
+        DiffUtil.DiffResult diffResult;
+        try {
+            long diffStart = Metrics.now();
+            diffResult = DiffUtil.calculateDiff(diffCallback);
+            DIFF_TIME.recordSince(diffStart);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
         
-        // Обновляем список
+        // Обновляем список; состояние сети для URL превью - заново для нового списка
         this.courses = new ArrayList<>(newCourses);
+        meteredSnapshot = null;
+        
+        // Запускаем фоновый расчёт названий - к bind они уже будут измерены
+        prefetchTitles();
+        
+        // И декодирование BlurHash-превью - к bind они будут готовы как placeholder
+        prefetchBlurHashes();
         
         // Применяем изменения к RecyclerView (с анимацией)
-        diffResult.dispatchUpdatesTo(this);
+        if (Tracing.ENABLED) Tracing.begin("CourseAdapter.dispatchUpdates");
+        try {
+            diffResult.dispatchUpdatesTo(this);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
     }
     
     /**
@@ -82,22 +192,221 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
         this.favoriteClickListener = listener;
     }
     
+    /**
+     * Переключает реализацию строки списка.
+     * Позволяет сравнить время кадра CourseCardView и item_course.xml на одном экране.
+     * 
+     * @param useCardView true - CourseCardView, false - XML layout
+     */
+    public void setUseCardView(boolean useCardView) {
+        if (this.useCardView != useCardView) {
+            this.useCardView = useCardView;
+            notifyDataSetChanged();
+        }
+    }
+    
+    /**
+     * Подключает пул заранее созданных строк.
+     * onCreateViewHolder будет брать View из пула и создавать синхронно только при его исчерпании.
+     * 
+     * @param pool Пул строк или null
+     */
+    public void setRowViewPool(RowViewPool pool) {
+        this.rowViewPool = pool;
+    }
+    
+    /**
+     * Возвращает тип строки, который адаптер создаёт при текущих настройках.
+     * 
+     * @return VIEW_TYPE_CARD или VIEW_TYPE_LAYOUT
+     */
+    public int getRowViewType() {
+        return useCardView ? VIEW_TYPE_CARD : VIEW_TYPE_LAYOUT;
+    }
+    
+    /**
+     * Возвращает тип элемента в зависимости от выбранной реализации строки.
+     * 
+     * @param position Позиция элемента
+     * @return VIEW_TYPE_CARD или VIEW_TYPE_LAYOUT
+     */
+    @Override
+    public int getItemViewType(int position) {
+        return getRowViewType();
+    }
+    
+    /**
+     * Возвращает стабильный ID элемента - ID курса.
+     * 
+     * @param position Позиция элемента
+     * @return ID курса
+     */
+    @Override
+    public long getItemId(int position) {
+        return courses.get(position).getId();
+    }
+    
+    /**
+     * Ставит в очередь фоновый расчёт названия и декодирование BlurHash строки,
+     * которая скоро появится на экране. Вызывается ThumbnailPreloader для позиций
+     * в окне предзагрузки по направлению прокрутки.
+     * 
+     * @param course Курс строки
+     */
+    void prefetchRow(Course course) {
+        if (titleTextParams != null && course.getTitle() != null) {
+            TextPrecomputer.precompute(course.getTitle(), titleTextParams);
+        }
+        if (cardTitleSpec != null && course.getTitle() != null) {
+            TextPrecomputer.prefetchLayouts(Collections.singletonList(course.getTitle()), cardTitleSpec);
+        }
+        if (course.getBlurHash() != null) {
+            BlurHashPlaceholders.prefetch(Collections.singletonList(course.getBlurHash()));
+        }
+    }
+    
+    /**
+     * Возвращает снимок лимитности сети для текущего списка (берётся при первом запросе).
+     * 
+     * @param context Context для ConnectivityMonitor
+     * @return true если URL превью строятся для лимитной сети
+     */
+    boolean isMeteredSnapshot(Context context) {
+        if (meteredSnapshot == null) {
+            meteredSnapshot = ConnectivityMonitor.getInstance(context).isMetered();
+        }
+        return meteredSnapshot;
+    }
+    
+    /**
+     * Возвращает курс на позиции (для предзагрузки превью).
+     * 
+     * @param position Позиция элемента
+     * @return Курс
+     */
+    Course getCourse(int position) {
+        return courses.get(position);
+    }
+    
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        hostContext = recyclerView.getContext();
+        thumbnailPreloader = new ThumbnailPreloader(hostContext, Glide.with(recyclerView), this,
+                GlideHelper.thumbnailSize(recyclerView.getContext()));
+        thumbnailPreloader.attach(recyclerView);
+    }
+    
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        if (thumbnailPreloader != null) {
+            thumbnailPreloader.detach(recyclerView);
+            thumbnailPreloader = null;
+        }
+        hostContext = null;
+    }
+    
     /**
      * Создаёт новый ViewHolder.
      * Вызывается RecyclerView когда нужно создать новый элемент списка.
      * 
      * @param parent Родительский ViewGroup
-     * @param viewType Тип view (не используется, т.к. все элементы одинаковые)
+     * @param viewType VIEW_TYPE_CARD или VIEW_TYPE_LAYOUT
      * @return Новый ViewHolder
      */
     @NonNull
     @Override
     public CourseViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        // Сначала пробуем взять строку, созданную заранее в фоне
+        View view = rowViewPool != null ? rowViewPool.obtain(viewType) : null;
+        if (view == null) {
+            if (Tracing.ENABLED) Tracing.begin("CourseAdapter.create");
+            try {
+                long start = SystemClock.elapsedRealtime();
+                view = createRowView(parent, viewType);
+                if (rowViewPool != null) {
+                    rowViewPool.recordFallback(viewType, SystemClock.elapsedRealtime() - start);
+                }
+            } finally {
+                if (Tracing.ENABLED) Tracing.end();
+            }
+        }
+        
+        if (viewType == VIEW_TYPE_CARD) {
+            return new CardViewHolder((CourseCardView) view);
+        }
+        
+        return new LayoutViewHolder(view);
+    }
+    
+    /**
+     * Создаёт View строки указанного типа.
+     * Может вызываться из фонового потока (RowViewPool), пока View не прикреплена к окну.
+     * Строка создаётся в контексте приложения с темой - она может попасть в общий
+     * пул (SharedCourseViewPool) и быть переиспользована на другом экране.
+     * 
+     * @param parent RecyclerView - источник LayoutParams
+     * @param viewType VIEW_TYPE_CARD или VIEW_TYPE_LAYOUT
+     * @return Новая View строки
+     */
+    static View createRowView(ViewGroup parent, int viewType) {
+        if (viewType == VIEW_TYPE_CARD) {
+            return createCardView(parent);
+        }
         // Инфлейтим layout для одного элемента списка
-        View view = LayoutInflater.from(parent.getContext())
+        return LayoutInflater.from(SharedCourseViewPool.rowContext(parent.getContext()))
                 .inflate(R.layout.item_course, parent, false);
+    }
+    
+    /**
+     * Создаёт CourseCardView с теми же отступами, что у корня item_course.xml
+     * (16dp по бокам, 8dp сверху и снизу).
+     * 
+     * @param parent Родительский RecyclerView
+     * @return Новая карточка курса
+     */
+    private static CourseCardView createCardView(ViewGroup parent) {
+        CourseCardView cardView = new CourseCardView(SharedCourseViewPool.rowContext(parent.getContext()));
+        float density = parent.getResources().getDisplayMetrics().density;
+        int horizontal = Math.round(16 * density);
+        int vertical = Math.round(8 * density);
         
-        return new CourseViewHolder(view);
+        RecyclerView.LayoutParams params = new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        params.setMargins(horizontal, vertical, horizontal, vertical);
+        cardView.setLayoutParams(params);
+        return cardView;
+    }
+    
+    /**
+     * Ставит в очередь фоновый расчёт названий первых INITIAL_PREFETCH_COUNT курсов.
+     * Ничего не делает, пока не известны параметры названия (TextView или карточки).
+     */
+    private void prefetchTitles() {
+        if (titleTextParams == null && cardTitleSpec == null) {
+            return;
+        }
+        int count = Math.min(courses.size(), INITIAL_PREFETCH_COUNT);
+        List<String> titles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            titles.add(courses.get(i).getTitle());
+        }
+        TextPrecomputer.prefetch(titles, titleTextParams);
+        TextPrecomputer.prefetchLayouts(titles, cardTitleSpec);
+    }
+    
+    /**
+     * Ставит в очередь фоновое декодирование BlurHash-превью первых курсов списка.
+     * Декодированные превью кешируются (BlurHashPlaceholders), окно - то же, что у названий.
+     */
+    private void prefetchBlurHashes() {
+        int count = Math.min(courses.size(), INITIAL_PREFETCH_COUNT);
+        List<String> hashes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hashes.add(courses.get(i).getBlurHash());
+        }
+        BlurHashPlaceholders.prefetch(hashes);
     }
     
     /**
@@ -112,8 +421,59 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
         // Получаем курс из списка
         Course course = courses.get(position);
         
+        // Параметры названия одинаковы для всех XML строк - запоминаем при первом bind
+        // (строка могла быть создана другим адаптером из общего пула)
+        if (titleTextParams == null && holder instanceof LayoutViewHolder) {
+            titleTextParams = TextViewCompat.getTextMetricsParams(((LayoutViewHolder) holder).titleTextView);
+            prefetchTitles();
+        }
+        // У карточки параметры известны после первого measure; меняются с шириной (поворот)
+        if (holder instanceof CardViewHolder) {
+            TextPrecomputer.LayoutSpec spec = ((CardViewHolder) holder).cardView.getTitleLayoutSpec();
+            if (spec != null && !spec.equals(cardTitleSpec)) {
+                cardTitleSpec = spec;
+                prefetchTitles();
+            }
+        }
+        
         // Передаём данные в ViewHolder для отображения
-        holder.bind(course);
+        if (Tracing.ENABLED) Tracing.begin("CourseAdapter.bind");
+        try {
+            long bindStart = Metrics.now();
+            Context context = hostContext != null ? hostContext : holder.itemView.getContext();
+            holder.bind(course, context, isMeteredSnapshot(context));
+            BIND_TIME.recordSince(bindStart);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
+    }
+    
+    /**
+     * Частичная привязка: если изменился только статус избранного (PAYLOAD_FAVORITE),
+     * обновляем только иконку. Иначе - полная привязка.
+     * 
+     * @param holder ViewHolder для заполнения
+     * @param position Позиция элемента в списке
+     * @param payloads Список payload из DiffUtil
+     */
+    @Override
+    public void onBindViewHolder(@NonNull CourseViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        for (Object payload : payloads) {
+            if (payload != CourseDiffCallback.PAYLOAD_FAVORITE) {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+        if (Tracing.ENABLED) Tracing.begin("CourseAdapter.bindFavorite");
+        try {
+            holder.bindFavorite(courses.get(position).isFavorite());
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
     }
     
     /**
@@ -127,10 +487,106 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
     }
     
     /**
-     * ViewHolder - держатель View элементов для одного курса.
+     * Базовый ViewHolder для строки курса.
+     * Обрабатывает клик по элементу; наследники отвечают за отображение данных.
+     */
+    abstract static class CourseViewHolder extends RecyclerView.ViewHolder {
+        
+        /**
+         * Конструктор базового ViewHolder.
+         * Устанавливает listener на клик по всему элементу.
+         * 
+         * @param itemView Корневой View элемента списка
+         */
+        CourseViewHolder(@NonNull View itemView) {
+            super(itemView);
+            
+            // Устанавливаем listener на клик по всему элементу
+            itemView.setOnClickListener(v -> {
+                CourseAdapter adapter = boundAdapter();
+                int position = getBindingAdapterPosition();
+                if (adapter != null && position != RecyclerView.NO_POSITION && adapter.clickListener != null) {
+                    Course course = adapter.courses.get(position);
+                    adapter.clickListener.onCourseClick(course);
+                }
+            });
+        }
+        
+        /**
+         * Возвращает адаптер, к которому сейчас привязана строка.
+         * ViewHolder статический: из общего пула он может попасть в адаптер другого экрана,
+         * поэтому listeners и данные берутся из текущего адаптера, а не из создавшего.
+         * 
+         * @return Текущий CourseAdapter или null
+         */
+        CourseAdapter boundAdapter() {
+            RecyclerView.Adapter<?> adapter = getBindingAdapter();
+            return adapter instanceof CourseAdapter ? (CourseAdapter) adapter : null;
+        }
+        
+        /**
+         * Передаёт клик по кнопке избранного в listener адаптера.
+         */
+        void dispatchFavoriteClick() {
+            CourseAdapter adapter = boundAdapter();
+            int position = getBindingAdapterPosition();
+            if (adapter != null && position != RecyclerView.NO_POSITION && adapter.favoriteClickListener != null) {
+                Course course = adapter.courses.get(position);
+                adapter.favoriteClickListener.onFavoriteClick(course);
+            }
+        }
+        
+        /**
+         * Заполняет элемент данными курса.
+         * 
+         * @param course Курс для отображения
+         * @param hostContext Контекст экрана для загрузки изображений
+         * @param isMetered Снимок лимитности сети для URL превью
+         */
+        abstract void bind(Course course, Context hostContext, boolean isMetered);
+        
+        /**
+         * Обновляет только иконку избранного (частичная привязка).
+         * 
+         * @param isFavorite Статус избранного
+         */
+        abstract void bindFavorite(boolean isFavorite);
+    }
+    
+    /**
+     * ViewHolder для CourseCardView.
+     * Одна View - без findViewById и вложенных measure/layout.
+     */
+    static class CardViewHolder extends CourseViewHolder {
+        
+        private final CourseCardView cardView;
+        
+        CardViewHolder(@NonNull CourseCardView cardView) {
+            super(cardView);
+            this.cardView = cardView;
+            cardView.setOnFavoriteClickListener(v -> dispatchFavoriteClick());
+        }
+        
+        @Override
+        void bind(Course course, Context hostContext, boolean isMetered) {
+            cardView.bind(course);
+            
+            // Та же конфигурация Glide, что и для XML строки (общий ключ кеша)
+            GlideHelper.loadThumbnail(hostContext, course.getImageUrl(), course.getBlurHash(), isMetered,
+                    cardView);
+        }
+        
+        @Override
+        void bindFavorite(boolean isFavorite) {
+            cardView.setFavorite(isFavorite);
+        }
+    }
+    
+    /**
+     * ViewHolder - держатель View элементов для одного курса (item_course.xml).
      * Кеширует ссылки на View чтобы не вызывать findViewById повторно.
      */
-    class CourseViewHolder extends RecyclerView.ViewHolder {
+    static class LayoutViewHolder extends CourseViewHolder {
         
         // View элементы из layout
         private final ImageView imageView;
@@ -146,7 +602,7 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
          * 
          * @param itemView Корневой View элемента списка
          */
-        public CourseViewHolder(@NonNull View itemView) {
+        LayoutViewHolder(@NonNull View itemView) {
             super(itemView);
             
             // Находим все View элементы (вызывается только один раз при создании)
@@ -157,23 +613,8 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
             levelTextView = itemView.findViewById(R.id.levelTextView);
             favoriteButton = itemView.findViewById(R.id.favoriteButton);
             
-            // Устанавливаем listener на клик по всему элементу
-            itemView.setOnClickListener(v -> {
-                int position = getAdapterPosition();
-                if (position != RecyclerView.NO_POSITION && clickListener != null) {
-                    Course course = courses.get(position);
-                    clickListener.onCourseClick(course);
-                }
-            });
-            
             // Устанавливаем listener на кнопку избранного
-            favoriteButton.setOnClickListener(v -> {
-                int position = getAdapterPosition();
-                if (position != RecyclerView.NO_POSITION && favoriteClickListener != null) {
-                    Course course = courses.get(position);
-                    favoriteClickListener.onFavoriteClick(course);
-                }
-            });
+            favoriteButton.setOnClickListener(v -> dispatchFavoriteClick());
         }
         
         /**
@@ -187,9 +628,11 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
          * 
          * @param course Курс для отображения
          */
-        public void bind(Course course) {
+        @Override
+        void bind(Course course, Context hostContext, boolean isMetered) {
             // Устанавливаем текстовые данные
-            titleTextView.setText(course.getTitle());
+            // Название - через PrecomputedText (измерено в фоновом потоке)
+            TextPrecomputer.setText(titleTextView, course.getTitle());
             providerTextView.setText(course.getProvider());
             durationTextView.setText(course.getFormattedDuration());
             levelTextView.setText(course.getLocalizedLevel());
@@ -238,10 +681,10 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
              *    - Сохраняет пропорции (aspect ratio) оригинала
              *    - Пример: фото 1920x1080 → масштабируется и обрезается до 100x100
              * 
-             * 5. Override(400, 400):
-             *    - Glide загрузит изображение размером 400x400px
+             * 5. Размер по ImageView + RGB_565:
+             *    - Glide декодирует изображение под реальный размер ImageView (100dp)
              *    - Не весь оригинал 4000x4000px!
-             *    - Экономит память: 400x400 ARGB = ~640KB vs 4000x4000 = ~64MB
+             *    - Экономит память: 300x300 RGB_565 = ~176KB vs 400x400 ARGB = ~640KB
              *    - Экономит трафик (Unsplash auto-resize по URL параметрам)
              * 
              * 6. CrossFade transition (200ms):
@@ -256,8 +699,10 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
              * - Lifecycle-aware: pause/resume/destroy автоматически
              */
             GlideHelper.loadThumbnail(
-                itemView.getContext(),
+                hostContext,
                 course.getImageUrl(),
+                course.getBlurHash(),
+                isMetered,
                 imageView
             );
             
@@ -294,10 +739,19 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
              * 
              * Иконка меняется мгновенно при клике благодаря LiveData в ViewModel
              */
-            if (course.isFavorite()) {
+            bindFavorite(course.isFavorite());
+        }
+        
+        @Override
+        void bindFavorite(boolean isFavorite) {
+            if (isFavorite) {
                 favoriteButton.setImageResource(R.drawable.ic_favorite_filled);
+                favoriteButton.setContentDescription(
+                        favoriteButton.getContext().getString(R.string.remove_from_favorites));
             } else {
                 favoriteButton.setImageResource(R.drawable.ic_favorite_border);
+                favoriteButton.setContentDescription(
+                        favoriteButton.getContext().getString(R.string.add_to_favorites));
             }
         }
     }
@@ -326,77 +780,4 @@ public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseView
          */
         void onFavoriteClick(Course course);
     }
-    
-    /**
-     * DiffUtil.Callback для эффективного обновления списка.
-     * Сравнивает старый и новый список, определяет какие элементы изменились.
-     */
-    private static class CourseDiffCallback extends DiffUtil.Callback {
-        
-        private final List<Course> oldList;
-        private final List<Course> newList;
-        
-        /**
-         * Конструктор callback.
-         * 
-         * @param oldList Старый список курсов
-         * @param newList Новый список курсов
-         */
-        public CourseDiffCallback(List<Course> oldList, List<Course> newList) {
-            this.oldList = oldList;
-            this.newList = newList;
-        }
-        
-        /**
-         * Возвращает размер старого списка.
-         */
-        @Override
-        public int getOldListSize() {
-            return oldList.size();
-        }
-        
-        /**
-         * Возвращает размер нового списка.
-         */
-        @Override
-        public int getNewListSize() {
-            return newList.size();
-        }
-        
-        /**
-         * Проверяет, являются ли элементы одним и тем же объектом.
-         * Сравнивает по ID - если ID совпадают, это один и тот же курс.
-         * 
-         * @param oldItemPosition Позиция в старом списке
-         * @param newItemPosition Позиция в новом списке
-         * @return true если это один и тот же элемент
-         */
-        @Override
-        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-            return oldList.get(oldItemPosition).getId() == 
-                   newList.get(newItemPosition).getId();
-        }
-        
-        /**
-         * Проверяет, одинаково ли содержимое элементов.
-         * Вызывается только если areItemsTheSame вернул true.
-         * Если содержимое разное - элемент будет обновлён.
-         * 
-         * @param oldItemPosition Позиция в старом списке
-         * @param newItemPosition Позиция в новом списке
-         * @return true если содержимое одинаковое
-         */
-        @Override
-        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
-            Course oldCourse = oldList.get(oldItemPosition);
-            Course newCourse = newList.get(newItemPosition);
-            
-            // Сравниваем все поля, которые отображаются в UI
-            return oldCourse.getTitle().equals(newCourse.getTitle()) &&
-                   oldCourse.getProvider().equals(newCourse.getProvider()) &&
-                   oldCourse.getDuration() == newCourse.getDuration() &&
-                   oldCourse.getLevel().equals(newCourse.getLevel()) &&
-                   oldCourse.isFavorite() == newCourse.isFavorite();
-        }
-    }
 }
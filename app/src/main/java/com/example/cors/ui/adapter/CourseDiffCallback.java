@@ -0,0 +1,122 @@
+package com.example.cors.ui.adapter;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.cors.domain.model.Course;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DiffUtil.Callback для эффективного обновления списка.
+ * Сравнивает старый и новый список, определяет какие элементы изменились.
+ *
+ * Вынесен из CourseAdapter, чтобы diff можно было замерять без адаптера
+ * (AllocationBudgetTest).
+ */
+public class CourseDiffCallback extends DiffUtil.Callback {
+    
+    /**
+     * Payload для частичного обновления строки: изменился только статус избранного.
+     * Строка перерисовывает только иконку, без повторной загрузки изображения и текста.
+     */
+    public static final Object PAYLOAD_FAVORITE = new Object();
+    
+    private final List<Course> oldList;
+    private final List<Course> newList;
+    
+    /**
+     * Конструктор callback.
+     * 
+     * @param oldList Старый список курсов
+     * @param newList Новый список курсов
+     */
+    public CourseDiffCallback(List<Course> oldList, List<Course> newList) {
+        this.oldList = oldList;
+        this.newList = newList;
+    }
+    
+    /**
+     * Возвращает размер старого списка.
+     */
+    @Override
+    public int getOldListSize() {
+        return oldList.size();
+    }
+    
+    /**
+     * Возвращает размер нового списка.
+     */
+    @Override
+    public int getNewListSize() {
+        return newList.size();
+    }
+    
+    /**
+     * Проверяет, являются ли элементы одним и тем же объектом.
+     * Сравнивает по ID - если ID совпадают, это один и тот же курс.
+     * 
+     * @param oldItemPosition Позиция в старом списке
+     * @param newItemPosition Позиция в новом списке
+     * @return true если это один и тот же элемент
+     */
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        return oldList.get(oldItemPosition).getId() == 
+               newList.get(newItemPosition).getId();
+    }
+    
+    /**
+     * Проверяет, одинаково ли содержимое элементов.
+     * Вызывается только если areItemsTheSame вернул true.
+     * Если содержимое разное - элемент будет обновлён.
+     * 
+     * @param oldItemPosition Позиция в старом списке
+     * @param newItemPosition Позиция в новом списке
+     * @return true если содержимое одинаковое
+     */
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        Course oldCourse = oldList.get(oldItemPosition);
+        Course newCourse = newList.get(newItemPosition);
+        
+        // Сравниваем все поля, которые отображаются в UI: обложка и её BlurHash-превью тоже
+        return sameImage(oldCourse, newCourse) &&
+               oldCourse.getTitle().equals(newCourse.getTitle()) &&
+               oldCourse.getProvider().equals(newCourse.getProvider()) &&
+               oldCourse.getDuration() == newCourse.getDuration() &&
+               oldCourse.getLevel().equals(newCourse.getLevel()) &&
+               oldCourse.isFavorite() == newCourse.isFavorite();
+    }
+    
+    /**
+     * Возвращает payload для частичного обновления.
+     * Если изменился только статус избранного - строка обновит только иконку,
+     * без повторной загрузки изображения и установки текста.
+     * 
+     * @param oldItemPosition Позиция в старом списке
+     * @param newItemPosition Позиция в новом списке
+     * @return PAYLOAD_FAVORITE или null (полная привязка)
+     */
+    @Override
+    public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+        Course oldCourse = oldList.get(oldItemPosition);
+        Course newCourse = newList.get(newItemPosition);
+        
+        boolean sameExceptFavorite = sameImage(oldCourse, newCourse) &&
+               oldCourse.getTitle().equals(newCourse.getTitle()) &&
+               oldCourse.getProvider().equals(newCourse.getProvider()) &&
+               oldCourse.getDuration() == newCourse.getDuration() &&
+               oldCourse.getLevel().equals(newCourse.getLevel());
+        return sameExceptFavorite ? PAYLOAD_FAVORITE : null;
+    }
+    
+    /**
+     * Проверяет, что у курса та же обложка: URL изображения и BlurHash.
+     * Новый hash (посчитан после первой загрузки) или новое изображение требуют полной привязки.
+     */
+    private static boolean sameImage(Course oldCourse, Course newCourse) {
+        return Objects.equals(oldCourse.getImageUrl(), newCourse.getImageUrl()) &&
+               Objects.equals(oldCourse.getBlurHash(), newCourse.getBlurHash());
+    }
+}
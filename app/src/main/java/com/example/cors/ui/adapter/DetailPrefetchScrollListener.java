@@ -0,0 +1,89 @@
+package com.example.cors.ui.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.cors.domain.model.Course;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Предзагрузка полных строк курсов, пока список стоит на месте.
+ *
+ * Экран деталей читает из Room полную строку (с описанием и отзывом).
+ * Когда прокрутка остановилась, пользователь выбирает среди видимых курсов -
+ * их строки можно прочитать заранее, в простое, и экран деталей откроется уже заполненным.
+ *
+ * 1. SCROLL_STATE_IDLE - передаём ID видимых курсов в Callback.onIdle
+ * 2. SCROLL_STATE_SETTLING (fling) - Callback.onFling: видимые курсы сейчас сменятся,
+ *    незавершённую предзагрузку нужно отменить
+ * 3. Во время перетаскивания пальцем ничего не делаем - это не простой
+ */
+public class DetailPrefetchScrollListener extends RecyclerView.OnScrollListener {
+
+    /**
+     * Получатель событий предзагрузки (обычно ViewModel экрана)
+     */
+    public interface Callback {
+
+        /**
+         * Список остановился.
+         *
+         * @param visibleCourseIds ID видимых курсов
+         */
+        void onIdle(List<Integer> visibleCourseIds);
+
+        /**
+         * Начался fling - предзагрузку нужно отменить.
+         */
+        void onFling();
+    }
+
+    private final CourseAdapter adapter;
+
+    private final Callback callback;
+
+    public DetailPrefetchScrollListener(CourseAdapter adapter, Callback callback) {
+        this.adapter = adapter;
+        this.callback = callback;
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            prefetchVisible(recyclerView);
+        } else if (newState == RecyclerView.SCROLL_STATE_SETTLING) {
+            callback.onFling();
+        }
+    }
+
+    /**
+     * Запускает предзагрузку для видимых строк без прокрутки
+     * (например, после первой загрузки списка).
+     *
+     * @param recyclerView Список с LinearLayoutManager
+     */
+    public void prefetchVisible(@NonNull RecyclerView recyclerView) {
+        if (!(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = Math.min(layoutManager.findLastVisibleItemPosition(), adapter.getItemCount() - 1);
+        if (first == RecyclerView.NO_POSITION || last < first) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(last - first + 1);
+        for (int position = first; position <= last; position++) {
+            Course course = adapter.getCourse(position);
+            if (course != null) {
+                ids.add(course.getId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            callback.onIdle(ids);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.cors.ui.adapter;
+
+import android.content.Context;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Вертикальный LinearLayoutManager с настраиваемым количеством строк для prefetch.
+ *
+ * Стандартный LinearLayoutManager во время прокрутки заранее создаёт и привязывает
+ * (в свободное время между кадрами, через GapWorker) только ОДНУ следующую строку.
+ * При быстром fling этого не хватает - следующие строки создаются уже в кадре.
+ *
+ * Этот LayoutManager добавляет в очередь prefetch N строк по направлению прокрутки.
+ * Для вложенных списков дополнительно используется setInitialPrefetchItemCount.
+ */
+public class PrefetchLinearLayoutManager extends LinearLayoutManager {
+
+    /**
+     * Сколько строк подготавливать заранее по направлению прокрутки
+     */
+    private int prefetchItemCount = 1;
+
+    public PrefetchLinearLayoutManager(Context context) {
+        super(context);
+    }
+
+    /**
+     * Устанавливает количество строк для prefetch.
+     *
+     * @param count Количество строк (минимум 1 - поведение LinearLayoutManager по умолчанию)
+     */
+    public void setPrefetchItemCount(int count) {
+        this.prefetchItemCount = Math.max(1, count);
+        setInitialPrefetchItemCount(this.prefetchItemCount);
+    }
+
+    /**
+     * @return Количество строк для prefetch
+     */
+    public int getPrefetchItemCount() {
+        return prefetchItemCount;
+    }
+
+    @Override
+    public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+                                                 @NonNull LayoutPrefetchRegistry registry) {
+        // Стандартный prefetch одной соседней строки
+        super.collectAdjacentPrefetchPositions(dx, dy, state, registry);
+
+        int delta = getOrientation() == VERTICAL ? dy : dx;
+        if (prefetchItemCount <= 1 || delta == 0 || getChildCount() == 0) {
+            return;
+        }
+
+        boolean forward = (delta > 0) != getReverseLayout();
+        View edge = getChildAt(forward ? getChildCount() - 1 : 0);
+        if (edge == null) {
+            return;
+        }
+        int edgePosition = getPosition(edge);
+        int step = forward ? 1 : -1;
+        int rowExtent = Math.max(1, getDecoratedMeasuredHeight(edge));
+        int edgeDistance = forward
+                ? Math.max(0, getDecoratedBottom(edge) - (getHeight() - getPaddingBottom()))
+                : Math.max(0, getPaddingTop() - getDecoratedTop(edge));
+
+        // Первую соседнюю строку уже добавил super - добавляем следующие
+        for (int i = 2; i <= prefetchItemCount; i++) {
+            int position = edgePosition + step * i;
+            if (position < 0 || position >= state.getItemCount()) {
+                break;
+            }
+            registry.addPosition(position, edgeDistance + rowExtent * (i - 1));
+        }
+    }
+}
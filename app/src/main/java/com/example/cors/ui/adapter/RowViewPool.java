@@ -0,0 +1,165 @@
+package com.example.cors.ui.adapter;
+
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пул заранее созданных View для строк списка курсов.
+ *
+ * Проблема: при первом показе CoursesActivity RecyclerView создаёт строки
+ * (inflate item_course.xml или конструктор CourseCardView) в главном потоке -
+ * именно в тот кадр, когда из Room пришли данные.
+ *
+ * Решение:
+ * 1. В onCreate запускаем создание N строк в фоновом потоке (данные ещё грузятся)
+ * 2. CourseAdapter.onCreateViewHolder сначала берёт View из пула
+ * 3. Если пул пуст - создаёт View синхронно и увеличивает счётчик fallback
+ *
+ * Счётчики hits/fallbacks пишутся в logcat (тег RowViewPool), чтобы было видно,
+ * хватает ли заранее созданных строк для первого экрана.
+ *
+ * Создание View вне главного потока безопасно, пока View не прикреплена к окну
+ * (тот же подход использует AsyncLayoutInflater).
+ */
+public class RowViewPool {
+
+    private static final String TAG = "RowViewPool";
+
+    /**
+     * Фоновый поток для создания строк
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "row-preinflate");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    /**
+     * Готовые View по типам элементов (VIEW_TYPE_CARD / VIEW_TYPE_LAYOUT).
+     * Доступ синхронизирован на самом объекте.
+     */
+    private final SparseArray<ArrayDeque<View>> views = new SparseArray<>();
+
+    /**
+     * Сколько строк взято из пула
+     */
+    private final AtomicInteger hits = new AtomicInteger();
+
+    /**
+     * Сколько строк пришлось создать синхронно в главном потоке
+     */
+    private final AtomicInteger fallbacks = new AtomicInteger();
+
+    /**
+     * Флаг: пул закрыт (Activity уничтожена), новые View не принимаются
+     */
+    private volatile boolean closed;
+
+    /**
+     * Запускает фоновое создание строк.
+     *
+     * @param parent RecyclerView, в который будут добавлены строки (нужен для LayoutParams)
+     * @param viewType Тип элемента (см. CourseAdapter.VIEW_TYPE_*)
+     * @param count Сколько строк создать заранее
+     */
+    public void preinflate(ViewGroup parent, int viewType, int count) {
+        for (int i = 0; i < count; i++) {
+            executor.execute(() -> {
+                if (closed) {
+                    return;
+                }
+                long start = SystemClock.elapsedRealtime();
+                View view;
+                try {
+                    view = CourseAdapter.createRowView(parent, viewType);
+                } catch (RuntimeException e) {
+                    // Какая-то View в layout требует главный поток - строки будут созданы синхронно
+                    Log.w(TAG, "Фоновое создание строки не удалось", e);
+                    closed = true;
+                    return;
+                }
+                synchronized (views) {
+                    if (!closed) {
+                        queueFor(viewType).add(view);
+                    }
+                }
+                Log.d(TAG, "Строка создана в фоне за " + (SystemClock.elapsedRealtime() - start) + " мс");
+            });
+        }
+    }
+
+    /**
+     * Возвращает заранее созданную View или null, если пул пуст.
+     * Вызывается из CourseAdapter.onCreateViewHolder в главном потоке.
+     *
+     * @param viewType Тип элемента
+     * @return Готовая View или null
+     */
+    View obtain(int viewType) {
+        View view;
+        synchronized (views) {
+            view = queueFor(viewType).poll();
+        }
+        if (view != null) {
+            hits.incrementAndGet();
+        }
+        return view;
+    }
+
+    /**
+     * Отмечает синхронное создание строки в главном потоке (пул был пуст).
+     *
+     * @param viewType Тип элемента
+     * @param durationMs Сколько заняло создание строки
+     */
+    void recordFallback(int viewType, long durationMs) {
+        int count = fallbacks.incrementAndGet();
+        Log.i(TAG, "Синхронное создание строки (type=" + viewType + ") за " + durationMs
+                + " мс, fallback=" + count + ", hits=" + hits.get());
+    }
+
+    /**
+     * @return Сколько строк взято из пула
+     */
+    public int getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return Сколько строк создано синхронно
+     */
+    public int getFallbackCount() {
+        return fallbacks.get();
+    }
+
+    /**
+     * Закрывает пул: отменяет ещё не выполненные задачи (они держат RecyclerView экрана)
+     * и освобождает неиспользованные строки. Сами строки созданы в контексте
+     * SharedCourseViewPool.rowContext и ссылку на Activity не держат.
+     * Вызывается из onDestroy.
+     */
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+        synchronized (views) {
+            views.clear();
+        }
+    }
+
+    private ArrayDeque<View> queueFor(int viewType) {
+        ArrayDeque<View> queue = views.get(viewType);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            views.put(viewType, queue);
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.cors.ui.adapter;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.cors.R;
+
+/**
+ * Общий (на уровне приложения) пул строк списка курсов.
+ *
+ * CoursesActivity и FavoritesActivity показывают одинаковые строки (CourseAdapter),
+ * но раньше каждый RecyclerView имел свой RecycledViewPool - строки, созданные
+ * на одном экране, не могли быть переиспользованы на другом.
+ *
+ * Что делает этот класс:
+ * 1. Хранит один RecycledViewPool для обоих экранов
+ * 2. Увеличивает лимит переиспользуемых строк (по умолчанию RecyclerView хранит 5 на тип)
+ * 3. Даёт контекст для создания строк, не привязанный к конкретной Activity -
+ *    строки в общем пуле переживают экран, на котором были созданы, и не должны
+ *    удерживать его в памяти
+ * 4. Настраивает RecyclerView: кеш View и количество строк для prefetch
+ */
+public final class SharedCourseViewPool {
+
+    /**
+     * Сколько строк каждого типа хранится в общем пуле
+     */
+    public static final int MAX_RECYCLED_ROWS = 20;
+
+    /**
+     * Размер кеша View у RecyclerView (строки, ушедшие за край экрана,
+     * возвращаются без повторного bind)
+     */
+    public static final int DEFAULT_ITEM_VIEW_CACHE_SIZE = 4;
+
+    /**
+     * Сколько строк заранее создаётся и привязывается по направлению прокрутки
+     */
+    public static final int DEFAULT_PREFETCH_ITEM_COUNT = 3;
+
+    private static RecyclerView.RecycledViewPool pool;
+
+    private static Context rowContext;
+
+    /**
+     * Приватный конструктор - класс содержит только статические методы.
+     */
+    private SharedCourseViewPool() {
+    }
+
+    /**
+     * Возвращает общий пул строк (создаёт при первом вызове).
+     *
+     * @return RecycledViewPool для строк курсов
+     */
+    public static synchronized RecyclerView.RecycledViewPool get() {
+        if (pool == null) {
+            pool = new RecyclerView.RecycledViewPool();
+            pool.setMaxRecycledViews(CourseAdapter.VIEW_TYPE_CARD, MAX_RECYCLED_ROWS);
+            pool.setMaxRecycledViews(CourseAdapter.VIEW_TYPE_LAYOUT, MAX_RECYCLED_ROWS);
+        }
+        return pool;
+    }
+
+    /**
+     * Возвращает контекст для создания строк: тема приложения поверх Application context.
+     * Строка из общего пула не держит ссылку на Activity, на которой была создана.
+     *
+     * @param context Любой контекст
+     * @return Контекст с темой Theme.Cors
+     */
+    public static synchronized Context rowContext(Context context) {
+        if (rowContext == null) {
+            rowContext = new ContextThemeWrapper(context.getApplicationContext(), R.style.Theme_Cors);
+        }
+        return rowContext;
+    }
+
+    /**
+     * Подключает RecyclerView к общему пулу и настраивает prefetch с параметрами по умолчанию.
+     *
+     * @param recyclerView RecyclerView со списком курсов
+     * @param layoutManager LayoutManager этого RecyclerView
+     */
+    public static void attach(RecyclerView recyclerView, PrefetchLinearLayoutManager layoutManager) {
+        attach(recyclerView, layoutManager, DEFAULT_PREFETCH_ITEM_COUNT, DEFAULT_ITEM_VIEW_CACHE_SIZE);
+    }
+
+    /**
+     * Подключает RecyclerView к общему пулу и настраивает prefetch.
+     *
+     * @param recyclerView RecyclerView со списком курсов
+     * @param layoutManager LayoutManager этого RecyclerView
+     * @param prefetchItemCount Сколько строк подготавливать заранее при прокрутке
+     * @param itemViewCacheSize Размер кеша View
+     */
+    public static void attach(RecyclerView recyclerView, PrefetchLinearLayoutManager layoutManager,
+                              int prefetchItemCount, int itemViewCacheSize) {
+        layoutManager.setPrefetchItemCount(prefetchItemCount);
+        // При уходе с экрана строки возвращаются в общий пул, а не уничтожаются вместе с RecyclerView
+        layoutManager.setRecycleChildrenOnDetach(true);
+        recyclerView.setRecycledViewPool(get());
+        recyclerView.setItemViewCacheSize(itemViewCacheSize);
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.cors.ui.adapter;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.request.target.Target;
+import com.example.cors.domain.model.Course;
+import com.example.cors.utils.GlideHelper;
+
+import java.util.ArrayDeque;
+
+/**
+ * Предзагрузка превью курсов по направлению прокрутки.
+ *
+ * Проблема: GlideHelper.loadThumbnail запускает загрузку только в onBindViewHolder,
+ * поэтому при прокрутке изображения появляются с задержкой.
+ *
+ * Решение:
+ * 1. При каждом onScrolled запрашиваем превью для следующих N позиций за краем экрана
+ * 2. Используем GlideHelper.preloadThumbnail - тот же размер и опции, что у loadThumbnail,
+ *    поэтому при bind изображение берётся из memory cache под тем же ключом
+ * 3. N зависит от скорости прокрутки: при быстром fling окно больше
+ * 4. При смене направления или изменении списка незавершённые запросы отменяются
+ * 5. Для тех же позиций адаптер заранее рассчитывает названия и BlurHash
+ *    (CourseAdapter.prefetchRow) - к bind они готовы и в конце длинного списка
+ *
+ * Подключается CourseAdapter в onAttachedToRecyclerView.
+ */
+class ThumbnailPreloader extends RecyclerView.OnScrollListener {
+
+    /**
+     * Минимальное окно предзагрузки (строк за краем экрана)
+     */
+    static final int MIN_PRELOAD_COUNT = 4;
+
+    /**
+     * Максимальное окно предзагрузки - ограничивает число одновременных запросов
+     */
+    static final int MAX_PRELOAD_COUNT = 20;
+
+    /**
+     * На сколько миллисекунд вперёд предзагружать при текущей скорости прокрутки
+     */
+    private static final long LOOKAHEAD_MS = 500;
+
+    private final Context context;
+
+    private final RequestManager requestManager;
+
+    private final CourseAdapter adapter;
+
+    /**
+     * Размер превью в пикселях - тот же, что у строки списка
+     */
+    private final int thumbnailSize;
+
+    /**
+     * Активные запросы предзагрузки (старые - в начале очереди)
+     */
+    private final ArrayDeque<Target<Drawable>> targets = new ArrayDeque<>();
+
+    /**
+     * Отменяет предзагрузку при изменении списка: позиции больше не соответствуют курсам
+     */
+    private final RecyclerView.AdapterDataObserver dataObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            cancel();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+            // Частичное обновление (например, PAYLOAD_FAVORITE) не меняет изображения
+            if (payload == null) {
+                cancel();
+            }
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            cancel();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            cancel();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            cancel();
+        }
+    };
+
+    /**
+     * Направление последней предзагрузки: 1 - вниз, -1 - вверх, 0 - не было
+     */
+    private int lastDirection;
+
+    /**
+     * Самая дальняя позиция, для которой уже запущена предзагрузка
+     */
+    private int lastPreloadedPosition = RecyclerView.NO_POSITION;
+
+    private long lastScrollTime;
+
+    ThumbnailPreloader(Context context, RequestManager requestManager, CourseAdapter adapter,
+                       int thumbnailSize) {
+        this.context = context;
+        this.requestManager = requestManager;
+        this.adapter = adapter;
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    /**
+     * Подключает предзагрузку к RecyclerView.
+     *
+     * @param recyclerView RecyclerView со списком курсов
+     */
+    void attach(RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(this);
+        adapter.registerAdapterDataObserver(dataObserver);
+    }
+
+    /**
+     * Отключает предзагрузку и отменяет незавершённые запросы.
+     *
+     * @param recyclerView RecyclerView со списком курсов
+     */
+    void detach(RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(this);
+        adapter.unregisterAdapterDataObserver(dataObserver);
+        cancel();
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0 || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        long elapsed = Math.max(1, now - lastScrollTime);
+        lastScrollTime = now;
+
+        int direction = dy > 0 ? 1 : -1;
+        if (direction != lastDirection) {
+            // Запросы в обратную сторону больше не нужны
+            cancel();
+            lastDirection = direction;
+        }
+
+        int count = preloadCount(Math.abs(dy), elapsed, rowHeight(layoutManager));
+        int edge = direction > 0 ? last : first;
+        int from = edge + direction;
+        if (lastPreloadedPosition != RecyclerView.NO_POSITION
+                && (lastPreloadedPosition - from) * direction >= 0) {
+            from = lastPreloadedPosition + direction;
+        }
+        int to = edge + direction * count;
+        int itemCount = adapter.getItemCount();
+
+        for (int position = from; (to - position) * direction >= 0; position += direction) {
+            if (position < 0 || position >= itemCount) {
+                break;
+            }
+            Course course = adapter.getCourse(position);
+            preload(course.getImageUrl(), course.getBlurHash());
+            adapter.prefetchRow(course);
+            lastPreloadedPosition = position;
+        }
+    }
+
+    /**
+     * Отменяет все незавершённые запросы предзагрузки.
+     * Уже загруженные изображения остаются в memory cache.
+     */
+    void cancel() {
+        while (!targets.isEmpty()) {
+            requestManager.clear(targets.poll());
+        }
+        lastPreloadedPosition = RecyclerView.NO_POSITION;
+        lastDirection = 0;
+    }
+
+    /**
+     * Рассчитывает окно предзагрузки по скорости прокрутки: сколько строк пройдёт
+     * за LOOKAHEAD_MS плюс минимальный запас.
+     *
+     * @param distance Пройдено пикселей с прошлого onScrolled
+     * @param elapsedMs Прошло миллисекунд с прошлого onScrolled
+     * @param rowHeight Высота строки в пикселях
+     * @return Количество строк для предзагрузки
+     */
+    static int preloadCount(int distance, long elapsedMs, int rowHeight) {
+        // Между кадрами прокрутки проходит ~16 мс; большой интервал - это начало новой прокрутки
+        long frameMs = Math.min(elapsedMs, 100);
+        long lookaheadPx = distance * LOOKAHEAD_MS / frameMs;
+        long rows = lookaheadPx / Math.max(1, rowHeight);
+        return (int) Math.min(MAX_PRELOAD_COUNT, MIN_PRELOAD_COUNT + rows);
+    }
+
+    private void preload(String imageUrl, String blurHash) {
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return;
+        }
+        targets.add(GlideHelper.preloadThumbnail(context, requestManager, imageUrl, blurHash, thumbnailSize,
+                adapter.isMeteredSnapshot(context)));
+        // Держим не больше MAX_PRELOAD_COUNT запросов - самые старые уже не актуальны
+        while (targets.size() > MAX_PRELOAD_COUNT) {
+            requestManager.clear(targets.poll());
+        }
+    }
+
+    private static int rowHeight(LinearLayoutManager layoutManager) {
+        View child = layoutManager.getChildAt(0);
+        return child != null ? layoutManager.getDecoratedMeasuredHeight(child) : 1;
+    }
+}
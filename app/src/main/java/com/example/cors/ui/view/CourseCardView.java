@@ -0,0 +1,736 @@
+package com.example.cors.ui.view;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.os.Bundle;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.Button;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import com.bumptech.glide.request.target.CustomViewTarget;
+import com.bumptech.glide.request.transition.Transition;
+import com.example.cors.R;
+import com.example.cors.domain.model.Course;
+import com.example.cors.utils.TextPrecomputer;
+
+import java.util.List;
+
+/**
+ * CourseCardView - карточка курса, которая рисует себя сама за один проход measure/draw.
+ *
+ * Заменяет вложенную иерархию item_course.xml
+ * (MaterialCardView → ConstraintLayout → ImageView + 4 TextView + ImageButton).
+ * Вместо 7 View с отдельными measure/layout одна View:
+ * - рисует обложку курса (Drawable от Glide) со скруглёнными углами
+ * - рисует название (StaticLayout, максимум 2 строки), провайдера и метаданные
+ * - рисует бейдж уровня сложности с цветовой индикацией
+ * - обрабатывает нажатие на "сердечко" (область 48x48dp) отдельно от клика по карточке
+ * - предоставляет виртуальные узлы доступности (TalkBack) через ExploreByTouchHelper
+ *
+ * Внешний вид повторяет item_course.xml, чтобы адаптер мог переключаться
+ * между двумя реализациями и сравнивать время кадра.
+ *
+ * StaticLayout названия строится в фоне (TextPrecomputer.layoutIfReady) по ключу
+ * текст + ширина: адаптер заранее ставит названия строк в очередь (getTitleLayoutSpec),
+ * bind и onMeasure берут готовый layout. Если он ещё не готов - строится на месте.
+ *
+ * Учитывает направление View (supportsRtl): в RTL обложка справа, избранное слева,
+ * метаданные идут справа налево.
+ */
+public class CourseCardView extends View {
+
+    /**
+     * ID виртуального узла доступности для содержимого карточки
+     */
+    private static final int VIRTUAL_ID_CONTENT = 0;
+
+    /**
+     * ID виртуального узла доступности для кнопки избранного
+     */
+    private static final int VIRTUAL_ID_FAVORITE = 1;
+
+    // Размеры (в пикселях, рассчитываются из dp в конструкторе)
+    private final int padding;
+    private final int imageSize;
+    private final float imageCornerRadius;
+    private final int textMarginStart;
+    private final int favoriteSize;
+    private final int favoriteIconPadding;
+    private final int providerMarginTop;
+    private final int metaMarginTop;
+    private final int iconSize;
+    private final int iconPadding;
+    private final int badgeMarginStart;
+    private final int badgePaddingHorizontal;
+    private final int badgePaddingVertical;
+
+    // Краски для текста и фона
+    private final TextPaint titlePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint providerPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint metaPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint imageBackgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint badgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    // Иконки
+    private final Drawable durationIcon;
+    private final Drawable levelIcon;
+    private final Drawable favoriteBorderIcon;
+    private final Drawable favoriteFilledIcon;
+
+    // Геометрия, пересчитывается в onSizeChanged / onMeasure
+    private final Rect imageRect = new Rect();
+    private final Path imageClipPath = new Path();
+    private final Rect favoriteRect = new Rect();
+    private final RectF badgeRect = new RectF();
+
+    // Данные курса
+    private String title = "";
+    private String provider = "";
+    private String durationText = "";
+    private String levelText = "";
+    private final int metaColor;
+    private int levelColor;
+    private int levelContainerColor;
+    private boolean isFavorite;
+
+    // Рассчитанный текст
+    private StaticLayout titleLayout;
+    private int titleLayoutWidth = -1;
+
+    /**
+     * Параметры layout названия для текущей ширины и направления (null - ещё не измерена)
+     */
+    private TextPrecomputer.LayoutSpec titleSpec;
+    private CharSequence providerEllipsized = "";
+
+    /**
+     * Текущее изображение обложки (placeholder, результат Glide или TransitionDrawable)
+     */
+    private Drawable thumbnail;
+
+    /**
+     * Target для Glide - создаётся один раз на View
+     */
+    private final ThumbnailTarget thumbnailTarget;
+
+    /**
+     * Listener для кнопки избранного
+     */
+    private OnClickListener favoriteClickListener;
+
+    /**
+     * Флаг: текущее касание началось в области кнопки избранного
+     */
+    private boolean favoriteTouchActive;
+
+    /**
+     * Помощник доступности - виртуальные узлы для содержимого и кнопки избранного
+     */
+    private final AccessibilityHelper accessibilityHelper;
+
+    public CourseCardView(Context context) {
+        this(context, null);
+    }
+
+    public CourseCardView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+
+        padding = dp(16);
+        imageSize = getResources().getDimensionPixelSize(R.dimen.course_thumbnail_size);
+        imageCornerRadius = dp(12);
+        textMarginStart = dp(16);
+        favoriteSize = dp(48);
+        favoriteIconPadding = dp(12);
+        providerMarginTop = dp(4);
+        metaMarginTop = dp(8);
+        iconSize = dp(16);
+        iconPadding = dp(6);
+        badgeMarginStart = dp(16);
+        badgePaddingHorizontal = dp(8);
+        badgePaddingVertical = dp(2);
+
+        // Типографика как в item_course.xml (TitleMedium / Caption / Metadata)
+        titlePaint.setTextSize(sp(16));
+        titlePaint.setTypeface(Typeface.create("sans-serif-medium", Typeface.NORMAL));
+        titlePaint.setColor(context.getColor(R.color.md_theme_light_onSurface));
+
+        providerPaint.setTextSize(sp(12));
+        providerPaint.setColor(context.getColor(R.color.md_theme_light_onSurfaceVariant));
+
+        metaPaint.setTextSize(sp(13));
+        metaPaint.setTypeface(Typeface.create("sans-serif-medium", Typeface.NORMAL));
+        metaColor = context.getColor(R.color.md_theme_light_onSurfaceVariant);
+        metaPaint.setColor(metaColor);
+
+        imageBackgroundPaint.setColor(context.getColor(R.color.md_theme_light_surfaceVariant));
+
+        ColorStateList metaTint = ColorStateList.valueOf(context.getColor(R.color.md_theme_light_onSurfaceVariant));
+        durationIcon = tinted(R.drawable.ic_duration, metaTint);
+        levelIcon = tinted(R.drawable.ic_level, metaTint);
+
+        ColorStateList favoriteTint = ColorStateList.valueOf(context.getColor(R.color.md_theme_light_primary));
+        favoriteBorderIcon = tinted(R.drawable.ic_favorite_border, favoriteTint);
+        favoriteFilledIcon = tinted(R.drawable.ic_favorite_filled, favoriteTint);
+
+        levelColor = context.getColor(R.color.md_theme_light_onSurfaceVariant);
+        levelContainerColor = context.getColor(R.color.md_theme_light_surfaceVariant);
+
+        // Фон карточки: белая поверхность со скруглением 16dp и тенью 2dp (как MaterialCardView)
+        GradientDrawable background = new GradientDrawable();
+        background.setColor(context.getColor(R.color.md_theme_light_surface));
+        background.setCornerRadius(dp(16));
+        setBackground(background);
+        setElevation(dp(2));
+        setClipToOutline(true);
+
+        // Ripple эффект при нажатии
+        TypedValue value = new TypedValue();
+        if (context.getTheme().resolveAttribute(android.R.attr.selectableItemBackground, value, true)) {
+            setForeground(ContextCompat.getDrawable(context, value.resourceId));
+        }
+
+        setClickable(true);
+        setFocusable(true);
+
+        thumbnailTarget = new ThumbnailTarget(this);
+
+        accessibilityHelper = new AccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+    }
+
+    /**
+     * Заполняет карточку данными курса.
+     * Пересчитывает layout только если изменилось название (высота может измениться):
+     * берёт построенный в фоне layout, если он готов.
+     *
+     * @param course Курс для отображения
+     */
+    public void bind(Course course) {
+        String newTitle = course.getTitle() != null ? course.getTitle() : "";
+        boolean titleChanged = !newTitle.equals(title);
+
+        title = newTitle;
+        provider = course.getProvider() != null ? course.getProvider() : "";
+        durationText = course.getFormattedDuration();
+        levelText = course.getLocalizedLevel() != null ? course.getLocalizedLevel() : "";
+        isFavorite = course.isFavorite();
+        applyLevelColors(course.getLevel());
+
+        providerEllipsized = ellipsizeProvider(getWidth());
+
+        if (titleChanged) {
+            titleLayout = titleSpec != null ? TextPrecomputer.layoutIfReady(title, titleSpec) : null;
+            titleLayoutWidth = titleLayout != null ? titleSpec.getWidth() : -1;
+            requestLayout();
+        }
+        invalidate();
+        accessibilityHelper.invalidateRoot();
+    }
+
+    /**
+     * Обновляет только статус избранного (частичная привязка без пересчёта текста).
+     *
+     * @param favorite true - курс в избранном
+     */
+    public void setFavorite(boolean favorite) {
+        if (isFavorite != favorite) {
+            isFavorite = favorite;
+            invalidate(favoriteRect);
+            accessibilityHelper.invalidateVirtualView(VIRTUAL_ID_FAVORITE);
+        }
+    }
+
+    /**
+     * Устанавливает listener для кнопки избранного.
+     *
+     * @param listener Callback при нажатии на "сердечко"
+     */
+    public void setOnFavoriteClickListener(OnClickListener listener) {
+        this.favoriteClickListener = listener;
+    }
+
+    /**
+     * Возвращает Glide Target для загрузки обложки в эту карточку.
+     * Используется GlideHelper.loadThumbnail(Context, String, String, CourseCardView).
+     *
+     * @return Target, привязанный к жизненному циклу View
+     */
+    public CustomViewTarget<CourseCardView, Drawable> getThumbnailTarget() {
+        return thumbnailTarget;
+    }
+
+    /**
+     * Параметры layout названия - для фонового построения названий следующих строк
+     * (TextPrecomputer.prefetchLayouts). Все карточки списка одной ширины.
+     *
+     * @return Параметры или null, если карточка ещё не измерена
+     */
+    @Nullable
+    public TextPrecomputer.LayoutSpec getTitleLayoutSpec() {
+        return titleSpec;
+    }
+
+    /**
+     * Возвращает размер обложки в пикселях.
+     * Glide должен декодировать изображение под этот размер, а не под размер всей карточки.
+     *
+     * @return Сторона квадратной обложки
+     */
+    public int getThumbnailSize() {
+        return imageSize;
+    }
+
+    /**
+     * Устанавливает текущее изображение обложки.
+     *
+     * @param drawable Drawable для отрисовки или null
+     */
+    private void setThumbnail(@Nullable Drawable drawable) {
+        if (thumbnail == drawable) {
+            return;
+        }
+        if (thumbnail != null) {
+            thumbnail.setCallback(null);
+        }
+        thumbnail = drawable;
+        if (thumbnail != null) {
+            // Callback нужен для анимаций (TransitionDrawable при crossfade)
+            thumbnail.setCallback(this);
+            thumbnail.setBounds(imageRect);
+        }
+        invalidate();
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == thumbnail || super.verifyDrawable(who);
+    }
+
+    /**
+     * Измерение: ширина - от родителя, высота - по содержимому.
+     * Высота = отступы + max(обложка, блок текста).
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        ensureTitleLayout(width);
+
+        int textHeight = titleLayout.getHeight()
+                + providerMarginTop + lineHeight(providerPaint)
+                + metaMarginTop + Math.max(iconSize, lineHeight(metaPaint)) + badgePaddingVertical * 2;
+        int height = padding * 2 + Math.max(imageSize, textHeight);
+
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateGeometry(w);
+    }
+
+    @Override
+    public void onRtlPropertiesChanged(int layoutDirection) {
+        super.onRtlPropertiesChanged(layoutDirection);
+        // Обложка, избранное и текст меняются местами, у названия другое направление
+        titleSpec = null;
+        titleLayout = null;
+        titleLayoutWidth = -1;
+        if (getWidth() > 0) {
+            updateGeometry(getWidth());
+        }
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Пересчитывает положение обложки, кнопки избранного и текста для ширины w
+     * с учётом направления View.
+     */
+    private void updateGeometry(int w) {
+        int imageLeft = isRtl() ? w - padding - imageSize : padding;
+        imageRect.set(imageLeft, padding, imageLeft + imageSize, padding + imageSize);
+        imageClipPath.reset();
+        imageClipPath.addRoundRect(new RectF(imageRect), imageCornerRadius, imageCornerRadius, Path.Direction.CW);
+        if (thumbnail != null) {
+            thumbnail.setBounds(imageRect);
+        }
+
+        int favoriteLeft = isRtl() ? padding : w - padding - favoriteSize;
+        favoriteRect.set(favoriteLeft, padding, favoriteLeft + favoriteSize, padding + favoriteSize);
+        int iconInset = favoriteIconPadding;
+        favoriteBorderIcon.setBounds(favoriteRect.left + iconInset, favoriteRect.top + iconInset,
+                favoriteRect.right - iconInset, favoriteRect.bottom - iconInset);
+        favoriteFilledIcon.setBounds(favoriteBorderIcon.getBounds());
+
+        ensureTitleLayout(w);
+        providerEllipsized = ellipsizeProvider(w);
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+
+        // 1. Обложка курса со скруглёнными углами
+        canvas.save();
+        canvas.clipPath(imageClipPath);
+        canvas.drawRect(imageRect, imageBackgroundPaint);
+        if (thumbnail != null) {
+            thumbnail.draw(canvas);
+        }
+        canvas.restore();
+
+        // 2. Название (до 2 строк)
+        int width = getWidth();
+        int textLeft = textLeft(width);
+        int y = padding;
+        if (titleLayout != null) {
+            canvas.save();
+            canvas.translate(textLeft, y);
+            titleLayout.draw(canvas);
+            canvas.restore();
+            y += titleLayout.getHeight();
+        }
+
+        // 3. Провайдер
+        y += providerMarginTop;
+        float providerWidth = providerPaint.measureText(providerEllipsized, 0, providerEllipsized.length());
+        canvas.drawText(providerEllipsized, 0, providerEllipsized.length(),
+                startX(0, providerWidth, width), y - providerPaint.ascent(), providerPaint);
+        y += lineHeight(providerPaint);
+
+        // 4. Метаданные: иконка + длительность, затем бейдж уровня
+        // (offset - расстояние от начала строки, startX переводит его в координату с учётом RTL)
+        y += metaMarginTop;
+        int rowHeight = Math.max(iconSize, lineHeight(metaPaint)) + badgePaddingVertical * 2;
+        int centerY = y + rowHeight / 2;
+        float baseline = centerY - (metaPaint.ascent() + metaPaint.descent()) / 2f;
+
+        float offset = 0;
+        int iconX = (int) startX(offset, iconSize, width);
+        durationIcon.setBounds(iconX, centerY - iconSize / 2, iconX + iconSize, centerY + iconSize / 2);
+        durationIcon.draw(canvas);
+        offset += iconSize + iconPadding;
+        float durationWidth = metaPaint.measureText(durationText);
+        metaPaint.setColor(metaColor);
+        canvas.drawText(durationText, startX(offset, durationWidth, width), baseline, metaPaint);
+        offset += (int) durationWidth + badgeMarginStart;
+
+        float levelWidth = metaPaint.measureText(levelText);
+        float badgeWidth = badgePaddingHorizontal * 2 + iconSize + iconPadding + levelWidth;
+        float badgeX = startX(offset, badgeWidth, width);
+        badgeRect.set(badgeX, y, badgeX + badgeWidth, y + rowHeight);
+        badgePaint.setColor(levelContainerColor);
+        float badgeRadius = rowHeight / 2f;
+        canvas.drawRoundRect(badgeRect, badgeRadius, badgeRadius, badgePaint);
+
+        offset += badgePaddingHorizontal;
+        iconX = (int) startX(offset, iconSize, width);
+        levelIcon.setBounds(iconX, centerY - iconSize / 2, iconX + iconSize, centerY + iconSize / 2);
+        levelIcon.draw(canvas);
+        offset += iconSize + iconPadding;
+        metaPaint.setColor(levelColor);
+        canvas.drawText(levelText, startX(offset, levelWidth, width), baseline, metaPaint);
+
+        // 5. Кнопка избранного
+        Drawable favoriteIcon = isFavorite ? favoriteFilledIcon : favoriteBorderIcon;
+        favoriteIcon.draw(canvas);
+    }
+
+    /**
+     * Обработка касаний: нажатие внутри области "сердечка" - клик по избранному,
+     * иначе - стандартная обработка клика по карточке (ripple + performClick).
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        int x = (int) event.getX();
+        int y = (int) event.getY();
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                favoriteTouchActive = favoriteRect.contains(x, y);
+                if (favoriteTouchActive) {
+                    return true;
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+                if (favoriteTouchActive) {
+                    favoriteTouchActive = false;
+                    if (favoriteRect.contains(x, y)) {
+                        performFavoriteClick();
+                    }
+                    return true;
+                }
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                if (favoriteTouchActive) {
+                    favoriteTouchActive = false;
+                    return true;
+                }
+                break;
+            default:
+                if (favoriteTouchActive) {
+                    return true;
+                }
+        }
+        return super.onTouchEvent(event);
+    }
+
+    /**
+     * Выполняет клик по кнопке избранного.
+     *
+     * @return true если listener установлен
+     */
+    private boolean performFavoriteClick() {
+        if (favoriteClickListener == null) {
+            return false;
+        }
+        playSoundEffect(android.view.SoundEffectConstants.CLICK);
+        favoriteClickListener.onClick(this);
+        accessibilityHelper.sendEventForVirtualView(VIRTUAL_ID_FAVORITE,
+                android.view.accessibility.AccessibilityEvent.TYPE_VIEW_CLICKED);
+        return true;
+    }
+
+    // Делегирование событий доступности в ExploreByTouchHelper
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    // Вспомогательные методы
+
+    /**
+     * Подготавливает layout названия для ширины карточки: готовый из фонового потока
+     * или, если его ещё нет, строит на месте (фоновый результат останется в кеше).
+     */
+    private void ensureTitleLayout(int width) {
+        int textWidth = Math.max(0, textRight(width) - textLeft(width));
+        if (titleSpec == null || titleSpec.getWidth() != textWidth) {
+            titleSpec = new TextPrecomputer.LayoutSpec(titlePaint, textWidth, 2, isRtl());
+        }
+        if (titleLayout != null && titleLayoutWidth == textWidth) {
+            return;
+        }
+        StaticLayout ready = TextPrecomputer.layoutIfReady(title, titleSpec);
+        titleLayout = ready != null ? ready : titleSpec.build(title);
+        titleLayoutWidth = textWidth;
+    }
+
+    private CharSequence ellipsizeProvider(int width) {
+        int textWidth = textRight(width) - textLeft(width);
+        if (textWidth <= 0) {
+            return provider;
+        }
+        return TextUtils.ellipsize(provider, providerPaint, textWidth, TextUtils.TruncateAt.END);
+    }
+
+    private void applyLevelColors(String level) {
+        Context context = getContext();
+        int color;
+        int container;
+        switch (level != null ? level : "") {
+            case "Beginner":
+                color = context.getColor(R.color.level_beginner);
+                container = context.getColor(R.color.level_beginner_container);
+                break;
+            case "Intermediate":
+                color = context.getColor(R.color.level_intermediate);
+                container = context.getColor(R.color.level_intermediate_container);
+                break;
+            case "Advanced":
+                color = context.getColor(R.color.level_advanced);
+                container = context.getColor(R.color.level_advanced_container);
+                break;
+            default:
+                color = context.getColor(R.color.md_theme_light_onSurfaceVariant);
+                container = context.getColor(R.color.md_theme_light_surfaceVariant);
+        }
+        levelColor = color;
+        levelContainerColor = container;
+    }
+
+    private boolean isRtl() {
+        return getLayoutDirection() == LAYOUT_DIRECTION_RTL;
+    }
+
+    private int textLeft(int width) {
+        // Как в item_course.xml: обложка в начале строки, место под кнопку избранного (48dp) в конце
+        return isRtl() ? padding + favoriteSize : padding + imageSize + textMarginStart;
+    }
+
+    private int textRight(int width) {
+        return isRtl() ? width - padding - imageSize - textMarginStart : width - padding - favoriteSize;
+    }
+
+    /**
+     * Левая координата элемента шириной size, отстоящего на offset от начала блока текста:
+     * в LTR отсчёт от левого края блока, в RTL - от правого.
+     */
+    private float startX(float offset, float size, int width) {
+        return isRtl() ? textRight(width) - offset - size : textLeft(width) + offset;
+    }
+
+    private static int lineHeight(Paint paint) {
+        Paint.FontMetricsInt metrics = paint.getFontMetricsInt();
+        return metrics.descent - metrics.ascent;
+    }
+
+    private Drawable tinted(int resId, ColorStateList tint) {
+        Drawable drawable = ContextCompat.getDrawable(getContext(), resId).mutate();
+        drawable.setTintList(tint);
+        return drawable;
+    }
+
+    private int dp(int value) {
+        return Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value,
+                getResources().getDisplayMetrics()));
+    }
+
+    private float sp(int value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, value,
+                getResources().getDisplayMetrics());
+    }
+
+    /**
+     * Glide Target для обложки.
+     * Реализует Transition.ViewAdapter, чтобы crossfade из GlideHelper работал
+     * так же, как для ImageView.
+     */
+    private static final class ThumbnailTarget extends CustomViewTarget<CourseCardView, Drawable>
+            implements Transition.ViewAdapter {
+
+        ThumbnailTarget(@NonNull CourseCardView view) {
+            super(view);
+        }
+
+        @Override
+        protected void onResourceLoading(@Nullable Drawable placeholder) {
+            view.setThumbnail(placeholder);
+        }
+
+        @Override
+        public void onResourceReady(@NonNull Drawable resource, @Nullable Transition<? super Drawable> transition) {
+            if (transition == null || !transition.transition(resource, this)) {
+                view.setThumbnail(resource);
+            }
+        }
+
+        @Override
+        public void onLoadFailed(@Nullable Drawable errorDrawable) {
+            view.setThumbnail(errorDrawable);
+        }
+
+        @Override
+        protected void onResourceCleared(@Nullable Drawable placeholder) {
+            view.setThumbnail(placeholder);
+        }
+
+        @Nullable
+        @Override
+        public Drawable getCurrentDrawable() {
+            return view.thumbnail;
+        }
+
+        @Override
+        public void setDrawable(Drawable drawable) {
+            view.setThumbnail(drawable);
+        }
+
+        @NonNull
+        @Override
+        public View getView() {
+            return view;
+        }
+    }
+
+    /**
+     * Виртуальная иерархия доступности:
+     * - VIRTUAL_ID_CONTENT: вся карточка (название, провайдер, длительность, уровень)
+     * - VIRTUAL_ID_FAVORITE: кнопка избранного
+     */
+    private final class AccessibilityHelper extends ExploreByTouchHelper {
+
+        private final Rect tempRect = new Rect();
+
+        AccessibilityHelper(@NonNull View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            if (favoriteRect.contains((int) x, (int) y)) {
+                return VIRTUAL_ID_FAVORITE;
+            }
+            return VIRTUAL_ID_CONTENT;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            virtualViewIds.add(VIRTUAL_ID_CONTENT);
+            virtualViewIds.add(VIRTUAL_ID_FAVORITE);
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            if (virtualViewId == VIRTUAL_ID_FAVORITE) {
+                // Подпись - действие по клику, состояние TalkBack читает из checked
+                node.setContentDescription(getContext().getString(
+                        isFavorite ? R.string.remove_from_favorites : R.string.add_to_favorites));
+                node.setClassName(Button.class.getName());
+                node.setCheckable(true);
+                node.setChecked(isFavorite);
+                node.setBoundsInParent(favoriteRect);
+            } else {
+                node.setContentDescription(title + ", " + provider + ", " + durationText + ", " + levelText);
+                tempRect.set(0, 0, getWidth(), getHeight());
+                node.setBoundsInParent(tempRect);
+            }
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (action != AccessibilityNodeInfoCompat.ACTION_CLICK) {
+                return false;
+            }
+            if (virtualViewId == VIRTUAL_ID_FAVORITE) {
+                return performFavoriteClick();
+            }
+            return performClick();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.cors.utils;
+
+/**
+ * Кодирование и декодирование BlurHash (https://blurha.sh).
+ *
+ * BlurHash - короткая строка (20-30 символов), которая описывает размытое превью
+ * изображения несколькими компонентами косинусного преобразования. Строка хранится
+ * вместе с курсом, и по ней можно нарисовать превью без загрузки из сети.
+ *
+ * Формат строки (base83):
+ * - 1 символ: количество компонент по X и Y
+ * - 1 символ: максимальная амплитуда AC компонент
+ * - 4 символа: средний цвет (DC компонента)
+ * - по 2 символа на каждую AC компоненту
+ *
+ * Класс не зависит от Android: работает с массивами пикселей ARGB.
+ */
+public final class BlurHash {
+
+    private static final String ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    /**
+     * Приватный конструктор - класс содержит только статические методы.
+     */
+    private BlurHash() {
+    }
+
+    /**
+     * Кодирует изображение в BlurHash.
+     * Для скорости изображение лучше заранее уменьшить (32x32 достаточно).
+     *
+     * @param pixels Пиксели в формате ARGB (как Bitmap.getPixels)
+     * @param width Ширина изображения
+     * @param height Высота изображения
+     * @param componentsX Количество компонент по X (1-9)
+     * @param componentsY Количество компонент по Y (1-9)
+     * @return Строка BlurHash
+     */
+    public static String encode(int[] pixels, int width, int height, int componentsX, int componentsY) {
+        if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+            throw new IllegalArgumentException("Количество компонент должно быть от 1 до 9");
+        }
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException("Недостаточно пикселей для " + width + "x" + height);
+        }
+
+        double[][] factors = new double[componentsX * componentsY][];
+        for (int j = 0; j < componentsY; j++) {
+            for (int i = 0; i < componentsX; i++) {
+                double normalisation = (i == 0 && j == 0) ? 1 : 2;
+                factors[j * componentsX + i] = multiplyBasis(pixels, width, height, i, j, normalisation);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder(4 + 2 * componentsX * componentsY);
+        encode83((componentsX - 1) + (componentsY - 1) * 9, 1, hash);
+
+        double maximumValue;
+        if (factors.length > 1) {
+            double actualMaximum = 0;
+            for (int k = 1; k < factors.length; k++) {
+                for (double value : factors[k]) {
+                    actualMaximum = Math.max(actualMaximum, Math.abs(value));
+                }
+            }
+            int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+            maximumValue = (quantisedMaximum + 1) / 166.0;
+            encode83(quantisedMaximum, 1, hash);
+        } else {
+            maximumValue = 1;
+            encode83(0, 1, hash);
+        }
+
+        encode83(encodeDc(factors[0]), 4, hash);
+        for (int k = 1; k < factors.length; k++) {
+            encode83(encodeAc(factors[k], maximumValue), 2, hash);
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Декодирует BlurHash в пиксели.
+     *
+     * @param hash Строка BlurHash
+     * @param width Ширина результата (для превью достаточно 32)
+     * @param height Высота результата
+     * @param punch Контраст (1 - как при кодировании)
+     * @return Пиксели в формате ARGB (непрозрачные)
+     * @throws IllegalArgumentException если строка некорректна
+     */
+    public static int[] decode(String hash, int width, int height, double punch) {
+        if (hash == null || hash.length() < 6) {
+            throw new IllegalArgumentException("Некорректный BlurHash: " + hash);
+        }
+        int sizeFlag = decode83(hash, 0, 1);
+        int componentsY = sizeFlag / 9 + 1;
+        int componentsX = sizeFlag % 9 + 1;
+        if (hash.length() != 4 + 2 * componentsX * componentsY) {
+            throw new IllegalArgumentException("Некорректная длина BlurHash: " + hash);
+        }
+
+        double maximumValue = (decode83(hash, 1, 2) + 1) / 166.0 * punch;
+        double[][] colors = new double[componentsX * componentsY][];
+        colors[0] = decodeDc(decode83(hash, 2, 6));
+        for (int k = 1; k < colors.length; k++) {
+            colors[k] = decodeAc(decode83(hash, 4 + k * 2, 6 + k * 2), maximumValue);
+        }
+
+        // Косинусы зависят только от координаты и номера компоненты - считаем один раз
+        double[] cosX = new double[width * componentsX];
+        for (int x = 0; x < width; x++) {
+            for (int i = 0; i < componentsX; i++) {
+                cosX[x * componentsX + i] = Math.cos(Math.PI * x * i / width);
+            }
+        }
+        double[] cosY = new double[height * componentsY];
+        for (int y = 0; y < height; y++) {
+            for (int j = 0; j < componentsY; j++) {
+                cosY[y * componentsY + j] = Math.cos(Math.PI * y * j / height);
+            }
+        }
+
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double r = 0;
+                double g = 0;
+                double b = 0;
+                for (int j = 0; j < componentsY; j++) {
+                    double basisY = cosY[y * componentsY + j];
+                    for (int i = 0; i < componentsX; i++) {
+                        double basis = cosX[x * componentsX + i] * basisY;
+                        double[] color = colors[j * componentsX + i];
+                        r += color[0] * basis;
+                        g += color[1] * basis;
+                        b += color[2] * basis;
+                    }
+                }
+                pixels[y * width + x] = 0xFF000000
+                        | (linearToSrgb(r) << 16)
+                        | (linearToSrgb(g) << 8)
+                        | linearToSrgb(b);
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Проверяет, похожа ли строка на корректный BlurHash (длина и алфавит).
+     *
+     * @param hash Строка для проверки
+     * @return true если строку можно декодировать
+     */
+    public static boolean isValid(String hash) {
+        if (hash == null || hash.length() < 6) {
+            return false;
+        }
+        for (int k = 0; k < hash.length(); k++) {
+            if (ALPHABET.indexOf(hash.charAt(k)) < 0) {
+                return false;
+            }
+        }
+        int sizeFlag = decode83(hash, 0, 1);
+        return hash.length() == 4 + 2 * (sizeFlag % 9 + 1) * (sizeFlag / 9 + 1);
+    }
+
+    private static double[] multiplyBasis(int[] pixels, int width, int height, int i, int j,
+                                          double normalisation) {
+        double r = 0;
+        double g = 0;
+        double b = 0;
+        for (int y = 0; y < height; y++) {
+            double basisY = Math.cos(Math.PI * j * y / height);
+            for (int x = 0; x < width; x++) {
+                double basis = normalisation * Math.cos(Math.PI * i * x / width) * basisY;
+                int pixel = pixels[y * width + x];
+                r += basis * srgbToLinear((pixel >> 16) & 0xFF);
+                g += basis * srgbToLinear((pixel >> 8) & 0xFF);
+                b += basis * srgbToLinear(pixel & 0xFF);
+            }
+        }
+        double scale = 1.0 / (width * height);
+        return new double[]{r * scale, g * scale, b * scale};
+    }
+
+    private static int encodeDc(double[] color) {
+        return (linearToSrgb(color[0]) << 16) + (linearToSrgb(color[1]) << 8) + linearToSrgb(color[2]);
+    }
+
+    private static int encodeAc(double[] color, double maximumValue) {
+        int quantR = quantiseAc(color[0], maximumValue);
+        int quantG = quantiseAc(color[1], maximumValue);
+        int quantB = quantiseAc(color[2], maximumValue);
+        return quantR * 19 * 19 + quantG * 19 + quantB;
+    }
+
+    private static int quantiseAc(double value, double maximumValue) {
+        return (int) Math.max(0, Math.min(18, Math.floor(signPow(value / maximumValue, 0.5) * 9 + 9.5)));
+    }
+
+    private static double[] decodeDc(int value) {
+        return new double[]{
+                srgbToLinear(value >> 16),
+                srgbToLinear((value >> 8) & 0xFF),
+                srgbToLinear(value & 0xFF)
+        };
+    }
+
+    private static double[] decodeAc(int value, double maximumValue) {
+        int quantR = value / (19 * 19);
+        int quantG = (value / 19) % 19;
+        int quantB = value % 19;
+        return new double[]{
+                signPow((quantR - 9) / 9.0, 2) * maximumValue,
+                signPow((quantG - 9) / 9.0, 2) * maximumValue,
+                signPow((quantB - 9) / 9.0, 2) * maximumValue
+        };
+    }
+
+    private static double srgbToLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    private static int linearToSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        return v <= 0.0031308
+                ? (int) (v * 12.92 * 255 + 0.5)
+                : (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static double signPow(double value, double exp) {
+        return Math.copySign(Math.pow(Math.abs(value), exp), value);
+    }
+
+    private static void encode83(int value, int length, StringBuilder out) {
+        for (int k = 1; k <= length; k++) {
+            int digit = (value / pow83(length - k)) % 83;
+            out.append(ALPHABET.charAt(digit));
+        }
+    }
+
+    private static int decode83(String hash, int from, int to) {
+        int value = 0;
+        for (int k = from; k < to; k++) {
+            int digit = ALPHABET.indexOf(hash.charAt(k));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Некорректный символ BlurHash: " + hash.charAt(k));
+            }
+            value = value * 83 + digit;
+        }
+        return value;
+    }
+
+    private static int pow83(int exp) {
+        int result = 1;
+        for (int k = 0; k < exp; k++) {
+            result *= 83;
+        }
+        return result;
+    }
+}
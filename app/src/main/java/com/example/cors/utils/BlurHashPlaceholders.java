@@ -0,0 +1,240 @@
+package com.example.cors.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.request.FutureTarget;
+import com.example.cors.data.local.dao.CourseDao;
+import com.example.cors.data.local.database.AppDatabase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Placeholder-превью из BlurHash для строк списка.
+ *
+ * Проблема: пока превью грузится из сети, все строки показывают одинаковую
+ * иконку ic_course_placeholder.
+ *
+ * Решение:
+ * 1. У каждого курса есть строка blurHash (приходит с сервера или считается здесь
+ *    после первой загрузки изображения и сохраняется в Room)
+ * 2. Строка декодируется в Bitmap 32x32 в фоновом потоке и кешируется по hash
+ * 3. GlideHelper использует готовый Bitmap как placeholder - размытое превью
+ *    показывается сразу, без сетевых запросов
+ *
+ * Если Bitmap ещё не декодирован, при bind используется обычный placeholder,
+ * а декодирование запускается в фоне (CourseAdapter.setCourses запускает его заранее).
+ */
+public final class BlurHashPlaceholders {
+
+    private static final String TAG = "BlurHashPlaceholders";
+
+    /**
+     * Размер декодированного превью. При растягивании на 100dp размытие не теряется.
+     */
+    static final int DECODE_SIZE = 32;
+
+    /**
+     * До какого размера уменьшается изображение перед кодированием
+     */
+    static final int ENCODE_SIZE = 32;
+
+    /**
+     * Количество компонент BlurHash (4x3 - стандарт для горизонтальных фото)
+     */
+    static final int COMPONENTS_X = 4;
+    static final int COMPONENTS_Y = 3;
+
+    /**
+     * Задержка записи посчитанных hash в БД: записываем пачкой, а не по одной строке,
+     * чтобы не перезапускать LiveData-запросы списка после каждой картинки
+     */
+    private static final long FLUSH_DELAY_MS = 1000;
+
+    /**
+     * Таймаут декодирования уменьшенной копии из disk cache (секунды)
+     */
+    private static final long ENCODE_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Декодированные превью по hash. 32x32 ARGB = 4 КБ, 256 записей = 1 МБ.
+     */
+    private static final LruCache<String, Bitmap> CACHE = new LruCache<>(256);
+
+    /**
+     * Hash, которые сейчас декодируются (чтобы не декодировать дважды)
+     */
+    private static final Set<String> DECODING = ConcurrentHashMap.newKeySet();
+
+    /**
+     * URL изображений, для которых hash уже посчитан в этом процессе
+     */
+    private static final Set<String> ENCODED_URLS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Посчитанные, но ещё не записанные в БД hash: URL изображения → hash
+     */
+    private static final Map<String, String> PENDING_WRITES = new HashMap<>();
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "blurhash");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    /**
+     * Приватный конструктор - класс содержит только статические методы.
+     */
+    private BlurHashPlaceholders() {
+    }
+
+    /**
+     * Возвращает placeholder для hash, если он уже декодирован.
+     * Иначе запускает декодирование в фоне и возвращает null.
+     *
+     * @param context Context для ресурсов
+     * @param blurHash Строка BlurHash (может быть null)
+     * @return Drawable с размытым превью или null
+     */
+    public static Drawable placeholder(Context context, String blurHash) {
+        if (blurHash == null) {
+            return null;
+        }
+        Bitmap bitmap = CACHE.get(blurHash);
+        if (bitmap == null) {
+            decodeAsync(blurHash);
+            return null;
+        }
+        // Drawable на каждый вызов: у общего Drawable менялись бы bounds в разных строках
+        return new BitmapDrawable(context.getResources(), bitmap);
+    }
+
+    /**
+     * Заранее декодирует превью для списка hash (например, всего списка курсов).
+     *
+     * @param blurHashes Строки BlurHash (null пропускаются)
+     */
+    public static void prefetch(List<String> blurHashes) {
+        for (String blurHash : blurHashes) {
+            if (blurHash != null && CACHE.get(blurHash) == null) {
+                decodeAsync(blurHash);
+            }
+        }
+    }
+
+    /**
+     * Считает BlurHash по загруженному изображению и сохраняет его в курсы с этим URL.
+     * Вызывается из GlideHelper при первой загрузке превью курса без hash.
+     *
+     * Главный поток ничего не копирует: уменьшенная до ENCODE_SIZE копия декодируется
+     * Glide в фоне из disk cache (файл уже там после загрузки строки). Bitmap строки
+     * не используется - он может вернуться в пул Glide, пока считается hash.
+     *
+     * @param context Context для доступа к БД и Glide
+     * @param imageUrl Исходный URL изображения курса (как в БД)
+     * @param model Модель загруженного запроса Glide (переписанный URL) - ключ disk cache
+     */
+    public static void remember(Context context, String imageUrl, Object model) {
+        if (imageUrl == null || !ENCODED_URLS.add(imageUrl)) {
+            return;
+        }
+        Context appContext = context.getApplicationContext();
+
+        EXECUTOR.execute(() -> {
+            RequestManager requestManager = Glide.with(appContext);
+            FutureTarget<Bitmap> small = requestManager
+                    .asBitmap()
+                    .load(model)
+                    .override(ENCODE_SIZE, ENCODE_SIZE)
+                    .dontTransform()                         // hash по всему изображению, без crop
+                    .format(DecodeFormat.PREFER_ARGB_8888)
+                    .disallowHardwareConfig()                // getPixels не работает с HARDWARE
+                    .skipMemoryCache(true)                   // 32px копия не нужна в memory cache
+                    .onlyRetrieveFromCache(true)             // не качать изображение повторно
+                    .submit();
+            String blurHash;
+            try {
+                Bitmap bitmap = small.get(ENCODE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                int width = bitmap.getWidth();
+                int height = bitmap.getHeight();
+                int[] pixels = new int[width * height];
+                bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+                blurHash = BlurHash.encode(pixels, width, height, COMPONENTS_X, COMPONENTS_Y);
+            } catch (ExecutionException | TimeoutException e) {
+                // Файла нет в disk cache - посчитаем при следующей загрузке
+                ENCODED_URLS.remove(imageUrl);
+                Log.w(TAG, "Не удалось посчитать BlurHash: " + imageUrl, e);
+                return;
+            } catch (InterruptedException e) {
+                ENCODED_URLS.remove(imageUrl);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                requestManager.clear(small);                 // Bitmap возвращается в пул Glide
+            }
+
+            boolean scheduleFlush;
+            synchronized (PENDING_WRITES) {
+                scheduleFlush = PENDING_WRITES.isEmpty();
+                PENDING_WRITES.put(imageUrl, blurHash);
+            }
+            if (scheduleFlush) {
+                EXECUTOR.schedule(() -> flush(appContext), FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    private static void decodeAsync(String blurHash) {
+        if (!DECODING.add(blurHash)) {
+            return;
+        }
+        EXECUTOR.execute(() -> {
+            try {
+                if (BlurHash.isValid(blurHash)) {
+                    int[] pixels = BlurHash.decode(blurHash, DECODE_SIZE, DECODE_SIZE, 1);
+                    CACHE.put(blurHash, Bitmap.createBitmap(pixels, DECODE_SIZE, DECODE_SIZE,
+                            Bitmap.Config.ARGB_8888));
+                } else {
+                    Log.w(TAG, "Некорректный BlurHash: " + blurHash);
+                }
+            } finally {
+                DECODING.remove(blurHash);
+            }
+        });
+    }
+
+    private static void flush(Context context) {
+        Map<String, String> writes;
+        synchronized (PENDING_WRITES) {
+            writes = new HashMap<>(PENDING_WRITES);
+            PENDING_WRITES.clear();
+        }
+        if (writes.isEmpty()) {
+            return;
+        }
+        AppDatabase database = AppDatabase.getInstance(context);
+        CourseDao dao = database.courseDao();
+        database.runInTransaction(() -> {
+            for (Map.Entry<String, String> entry : writes.entrySet()) {
+                dao.updateBlurHash(entry.getKey(), entry.getValue());
+            }
+        });
+        Log.d(TAG, "Сохранено BlurHash: " + writes.size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.cors.utils;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Состояние сети для решений "идти ли в сеть и сколько качать".
+ *
+ * Одна подписка NetworkCallback на процесс: состояние читается из volatile-полей,
+ * без IPC-вызова ConnectivityManager на каждый запрос или bind строки.
+ *
+ * - isOnline: есть сеть с доступом в интернет (проверенная системой - не captive portal)
+ * - isMetered: сеть лимитная (мобильный интернет, точка доступа) - качаем меньше
+ * - runWhenOnline: задача выполняется сразу или откладывается до подключения,
+ *   вместо запроса, который без сети дождётся таймаута
+ */
+public final class ConnectivityMonitor {
+
+    private static final String TAG = "ConnectivityMonitor";
+
+    private static volatile ConnectivityMonitor instance;
+
+    /**
+     * Отложенные до подключения задачи по ключу: повторный запрос той же задачи
+     * офлайн не ставит её второй раз
+     */
+    private final Map<String, Runnable> pending = new LinkedHashMap<>();
+
+    /**
+     * Текущая сеть по умолчанию (null - нет сети)
+     */
+    private volatile Network network;
+    private volatile boolean online;
+    private volatile boolean metered;
+
+    /**
+     * Отдельный экземпляр - для тестов; в приложении - getInstance
+     */
+    ConnectivityMonitor(Context context) {
+        ConnectivityManager connectivityManager = (ConnectivityManager) context
+                .getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) {
+            // Состояние неизвестно - не блокируем запросы
+            online = true;
+            return;
+        }
+        Network active = connectivityManager.getActiveNetwork();
+        if (active != null) {
+            update(active, connectivityManager.getNetworkCapabilities(active));
+        }
+        connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onCapabilitiesChanged(@NonNull Network network,
+                                              @NonNull NetworkCapabilities capabilities) {
+                update(network, capabilities);
+            }
+
+            @Override
+            public void onLost(@NonNull Network lost) {
+                // При смене сети новая может прийти раньше, чем потеря старой
+                if (lost.equals(network)) {
+                    update(null, null);
+                }
+            }
+        });
+    }
+
+    /**
+     * @param context Context (используется контекст приложения)
+     */
+    public static ConnectivityMonitor getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ConnectivityMonitor.class) {
+                if (instance == null) {
+                    instance = new ConnectivityMonitor(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    /**
+     * @return true если есть сеть и она лимитная. Без сети - false
+     */
+    public boolean isMetered() {
+        return online && metered;
+    }
+
+    /**
+     * Выполняет задачу сейчас, если есть сеть, иначе - при подключении.
+     * Задача выполняется в потоке вызова или в потоке NetworkCallback -
+     * она должна только ставить работу в очередь (executor, WorkManager).
+     *
+     * @param key Ключ задачи: пока она ждёт сети, задачи с тем же ключом не добавляются
+     * @param task Задача
+     * @return true если выполнена сразу
+     */
+    public boolean runWhenOnline(String key, Runnable task) {
+        synchronized (pending) {
+            if (!online) {
+                if (!pending.containsKey(key)) {
+                    pending.put(key, task);
+                    Log.d(TAG, "Нет сети, отложено до подключения: " + key);
+                }
+                return false;
+            }
+        }
+        task.run();
+        return true;
+    }
+
+    private void update(Network network, NetworkCapabilities capabilities) {
+        boolean nowOnline = capabilities != null
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED);
+        this.network = network;
+        this.metered = capabilities != null
+                && !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+
+        List<Runnable> ready;
+        synchronized (pending) {
+            boolean reconnected = nowOnline && !online;
+            online = nowOnline;
+            if (!reconnected || pending.isEmpty()) {
+                return;
+            }
+            ready = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        Log.d(TAG, "Сеть появилась, отложенных задач: " + ready.size());
+        for (Runnable task : ready) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.cors.utils;
+
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.module.AppGlideModule;
+
+/**
+ * Конфигурация Glide для приложения.
+ *
+ * По умолчанию Glide рассчитывает размеры кешей от размера экрана и не учитывает,
+ * сколько памяти реально доступно приложению. Здесь размеры считаются от memory class
+ * устройства (лимит heap приложения, ActivityManager.getMemoryClass):
+ *
+ * 1. Memory cache (готовые Bitmap) - 1/8 heap (1/16 на low-RAM устройствах)
+ * 2. Bitmap pool (переиспользуемые Bitmap для декодирования) - 1/16 heap (1/32)
+ * 3. Disk cache - 250 МБ (50 МБ на low-RAM устройствах)
+ *
+ * Пример: memory class 256 МБ → memory cache 32 МБ ≈ 180 превью 300x300 в RGB_565.
+ * Замер памяти при прокрутке 1000 строк до и после этих настроек - ThumbnailHeapTest
+ * (androidTest).
+ *
+ * Также подключает GlideMemoryTrimmer - ступенчатую очистку кешей при нехватке памяти.
+ *
+ * Класс обрабатывается annotation processor Glide (glide:compiler).
+ */
+@GlideModule
+public final class CorsGlideModule extends AppGlideModule {
+
+    private static final String TAG = "CorsGlideModule";
+
+    private static final long MB = 1024L * 1024L;
+
+    /**
+     * Размер дискового кеша на обычных устройствах
+     */
+    private static final long DISK_CACHE_SIZE = 250 * MB;
+
+    /**
+     * Размер дискового кеша на low-RAM устройствах (обычно и памяти мало)
+     */
+    private static final long LOW_RAM_DISK_CACHE_SIZE = 50 * MB;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        ActivityManager activityManager =
+                (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        boolean lowRam = activityManager.isLowRamDevice();
+        long heapSize = activityManager.getMemoryClass() * MB;
+
+        long memoryCacheSize = heapSize / (lowRam ? 16 : 8);
+        long bitmapPoolSize = heapSize / (lowRam ? 32 : 16);
+        long diskCacheSize = lowRam ? LOW_RAM_DISK_CACHE_SIZE : DISK_CACHE_SIZE;
+
+        builder.setMemoryCache(new LruResourceCache(memoryCacheSize));
+        builder.setBitmapPool(new LruBitmapPool(bitmapPoolSize));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, diskCacheSize));
+        builder.setLogLevel(Log.ERROR);
+
+        Log.i(TAG, "Кеши Glide: memory=" + memoryCacheSize / MB + " МБ, pool="
+                + bitmapPoolSize / MB + " МБ, disk=" + diskCacheSize / MB + " МБ, lowRam=" + lowRam);
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide,
+                                   @NonNull Registry registry) {
+        GlideMemoryTrimmer trimmer = new GlideMemoryTrimmer(glide);
+        Context appContext = context.getApplicationContext();
+        appContext.registerComponentCallbacks(trimmer);
+        if (appContext instanceof Application) {
+            ((Application) appContext).registerActivityLifecycleCallbacks(trimmer);
+        }
+    }
+
+    /**
+     * Модули из AndroidManifest (старый способ Glide 3) не используются.
+     * Отключение ускоряет инициализацию Glide.
+     */
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
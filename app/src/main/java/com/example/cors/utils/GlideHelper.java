@@ -1,12 +1,36 @@
 package com.example.cors.utils;
 
 import android.content.Context;
+import android.graphics.Point;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
 import android.widget.ImageView;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.DecodeFormat;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.engine.GlideException;
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
 import com.example.cors.R;
+import com.example.cors.ui.view.CourseCardView;
+import com.example.cors.utils.metrics.LatencyHistogram;
+import com.example.cors.utils.metrics.Metrics;
+import com.example.cors.utils.metrics.Tracing;
+
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Утилитный класс для настройки Glide - библиотеки загрузки изображений.
@@ -24,11 +48,49 @@ import com.example.cors.R;
  */
 public class GlideHelper {
     
+    /**
+     * Размер превью для списка в пикселях (R.dimen.course_thumbnail_size).
+     * Тот же размер у ImageView в item_course.xml и у обложки CourseCardView,
+     * поэтому загрузка и предзагрузка дают одинаковый ключ кеша.
+     * 
+     * @param context Context для ресурсов
+     * @return Сторона квадратного превью в пикселях
+     */
+    public static int thumbnailSize(Context context) {
+        return context.getResources().getDimensionPixelSize(R.dimen.course_thumbnail_size);
+    }
+    
+    /**
+     * Таймаут скачивания одного изображения для offline (секунды)
+     */
+    private static final long OFFLINE_DOWNLOAD_TIMEOUT_SECONDS = 30;
+    
+    /**
+     * URL, по которому строка списка последний раз грузила превью: исходный URL → переписанный.
+     * loadHeaderImage ищет превью в memory cache именно по нему - после смены сети
+     * ImageUrlRewriter.rewrite дал бы другой ключ и промах.
+     */
+    private static final LruCache<String, String> ROW_THUMBNAIL_URLS = new LruCache<>(256);
+    
+    /**
+     * Размер header экрана деталей по умолчанию: ширина экрана x R.dimen.course_header_height.
+     * Используется, пока View header ещё не измерена, и offline-предзагрузкой.
+     * 
+     * @param context Context для ресурсов
+     * @return Ширина и высота header в пикселях
+     */
+    public static Point headerSize(Context context) {
+        return new Point(
+                context.getResources().getDisplayMetrics().widthPixels,
+                context.getResources().getDimensionPixelSize(R.dimen.course_header_height));
+    }
+    
     /**
      * Загружает изображение для превью в списке (RecyclerView).
      * 
      * Оптимизация для списков:
-     * - Малый размер (400x400px) для экономии памяти
+     * - Размер по реальному ImageView (100dp), а не фиксированные 400x400px
+     * - RGB_565 вместо ARGB_8888 - в 2 раза меньше памяти на превью без прозрачности
      * - Быстрая загрузка (200ms fade)
      * - centerCrop для заполнения ImageView
      * - AUTOMATIC кеширование (Glide решает что кешировать)
@@ -52,25 +114,104 @@ public class GlideHelper {
      * 
      * @param context Context для Glide
      * @param imageUrl URL изображения для загрузки
+     * @param blurHash BlurHash изображения для placeholder (может быть null)
+     * @param isMetered Снимок лимитности сети для списка (см. ImageUrlRewriter)
      * @param imageView ImageView для отображения результата
      */
-    public static void loadThumbnail(Context context, String imageUrl, ImageView imageView) {
-        Glide.with(context)
-                .load(imageUrl)
-                .placeholder(R.drawable.ic_course_placeholder)  // Пока загружается
+    public static void loadThumbnail(Context context, String imageUrl, String blurHash, boolean isMetered,
+                                     ImageView imageView) {
+        // ImageView в строке имеет размер course_thumbnail_size - по нему подбирается URL,
+        // а размер декодирования Glide берёт из самой View
+        if (Tracing.ENABLED) Tracing.begin("GlideHelper.loadThumbnail");
+        try {
+            thumbnailRequest(context, Glide.with(context), imageUrl, blurHash, thumbnailSize(context), isMetered)
+                    .addListener(new LoadTimingListener())
+                    .into(imageView);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
+    }
+    
+    /**
+     * Загружает изображение для превью в карточку CourseCardView.
+     * Использует те же параметры, что и loadThumbnail для ImageView,
+     * поэтому ключ кеша одинаковый для обоих вариантов строки списка.
+     * 
+     * @param context Context для Glide
+     * @param imageUrl URL изображения для загрузки
+     * @param blurHash BlurHash изображения для placeholder (может быть null)
+     * @param isMetered Снимок лимитности сети для списка (см. ImageUrlRewriter)
+     * @param cardView Карточка курса, которая рисует обложку сама
+     */
+    public static void loadThumbnail(Context context, String imageUrl, String blurHash, boolean isMetered,
+                                     CourseCardView cardView) {
+        if (Tracing.ENABLED) Tracing.begin("GlideHelper.loadThumbnail");
+        try {
+            int size = cardView.getThumbnailSize();
+            thumbnailRequest(context, Glide.with(context), imageUrl, blurHash, size, isMetered)
+                    .override(size, size)                        // Обложка - часть карточки, а не вся View
+                    .addListener(new LoadTimingListener())
+                    .into(cardView.getThumbnailTarget());
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
+    }
+    
+    /**
+     * Создаёт запрос Glide с настройками превью для списка.
+     * Размер не задаётся: для ImageView Glide берёт его из View, для остальных
+     * целей размер передаётся явно (override / preload).
+     * 
+     * URL переписывается под размер превью (ImageUrlRewriter) - CDN отдаёт картинку
+     * нужного размера, а ключ кеша строится по переписанному URL. Он запоминается
+     * в ROW_THUMBNAIL_URLS для поиска превью из header.
+     * 
+     * Placeholder - размытое превью из BlurHash курса (если он есть и уже декодирован).
+     * Если hash ещё нет, он считается по загруженному изображению и сохраняется в БД.
+     * Placeholder и listener не входят в ключ кеша.
+     * 
+     * @param context Context для плотности экрана и состояния сети
+     * @param requestManager RequestManager экрана
+     * @param imageUrl URL изображения
+     * @param blurHash BlurHash изображения (может быть null)
+     * @param size Размер превью в пикселях
+     * @param isMetered Снимок лимитности сети для списка
+     * @return Настроенный RequestBuilder
+     */
+    private static RequestBuilder<Drawable> thumbnailRequest(Context context, RequestManager requestManager,
+                                                             String imageUrl, String blurHash, int size,
+                                                             boolean isMetered) {
+        String thumbnailUrl = ImageUrlRewriter.rewrite(context, imageUrl, size, size, isMetered);
+        if (imageUrl != null && thumbnailUrl != null) {
+            ROW_THUMBNAIL_URLS.put(imageUrl, thumbnailUrl);
+        }
+        RequestBuilder<Drawable> request = requestManager.load(thumbnailUrl);
+        
+        Drawable blurPlaceholder = BlurHashPlaceholders.placeholder(context, blurHash);
+        if (blurPlaceholder != null) {
+            request = request.placeholder(blurPlaceholder);           // Размытое превью курса
+        } else {
+            request = request.placeholder(R.drawable.ic_course_placeholder); // Пока загружается
+        }
+        if (blurHash == null) {
+            request = request.addListener(new BlurHashListener(context.getApplicationContext(), imageUrl));
+        }
+        
+        return request
                 .error(R.drawable.ic_course_placeholder)        // При ошибке
                 .centerCrop()                                    // Заполнить без искажений
-                .override(400, 400)                              // Оптимальный размер для превью
+                .format(DecodeFormat.PREFER_RGB_565)             // 2 байта на пиксель вместо 4
                 .diskCacheStrategy(DiskCacheStrategy.AUTOMATIC)  // Умное кеширование
-                .transition(DrawableTransitionOptions.withCrossFade(200)) // Плавное появление
-                .into(imageView);
+                .transition(DrawableTransitionOptions.withCrossFade(200)); // Плавное появление
     }
     
     /**
      * Загружает изображение в высоком качестве для Hero Header (экран деталей).
      * 
      * Оптимизация для header:
-     * - Высокое качество (1200x800px) для Full HD экранов
+     * - Размер по реальным границам ImageView (а не фиксированные 1200x800px)
+     * - Прогрессивная загрузка: сразу показываем превью из списка, если оно есть
+     *   в memory cache, затем плавно меняем на полное изображение
      * - Медленная анимация (400ms) для premium эффекта
      * - centerCrop для заполнения всей области
      * - AUTOMATIC кеширование
@@ -89,20 +230,65 @@ public class GlideHelper {
      * - Создает immersive эффект
      * - Работает с любыми пропорциями изображений
      * 
+     * Прогрессивная загрузка:
+     * 1. Превью того же курса (300x300 из списка) запрашивается ТОЛЬКО из memory cache:
+     *    тот же URL, по которому его грузила строка (ROW_THUMBNAIL_URLS), и те же опции,
+     *    что у loadThumbnail, DiskCacheStrategy.NONE +
+     *    onlyRetrieveFromCache - при промахе запрос сразу завершается без диска и сети.
+     *    Попадание в memory cache отдаётся синхронно, ещё до первого кадра экрана
+     * 2. Полное изображение грузится параллельно и появляется через crossfade
+     * 3. Если превью нет в памяти - виден BlurHash placeholder
+     * 
      * @param context Context для Glide
      * @param imageUrl URL изображения для загрузки
+     * @param blurHash BlurHash изображения для placeholder (может быть null)
      * @param imageView ImageView для отображения результата
      */
-    public static void loadHeaderImage(Context context, String imageUrl, ImageView imageView) {
-        Glide.with(context)
-                .load(imageUrl)
-                .placeholder(R.drawable.ic_course_placeholder)  // Пока загружается
-                .error(R.drawable.ic_course_placeholder)        // При ошибке
-                .centerCrop()                                    // Заполнить весь header
-                .override(1200, 800)                             // Высокое качество
-                .diskCacheStrategy(DiskCacheStrategy.AUTOMATIC)  // Умное кеширование
-                .transition(DrawableTransitionOptions.withCrossFade(400)) // Медленный fade для эффекта
-                .into(imageView);
+    public static void loadHeaderImage(Context context, String imageUrl, String blurHash, ImageView imageView) {
+        if (Tracing.ENABLED) Tracing.begin("GlideHelper.loadHeaderImage");
+        try {
+            // Размер по реальным границам View; до первого layout - по размерам экрана
+            int width = imageView.getWidth();
+            int height = imageView.getHeight();
+            if (width == 0 || height == 0) {
+                Point size = headerSize(context);
+                width = size.x;
+                height = size.y;
+            }
+            
+            RequestManager requestManager = Glide.with(context);
+            int thumbnailSize = thumbnailSize(context);
+            String thumbnailUrl = imageUrl != null ? ROW_THUMBNAIL_URLS.get(imageUrl) : null;
+            if (thumbnailUrl == null) {
+                thumbnailUrl = ImageUrlRewriter.rewrite(context, imageUrl, thumbnailSize, thumbnailSize);
+            }
+            RequestBuilder<Drawable> cachedThumbnail = requestManager
+                    .load(thumbnailUrl)
+                    .centerCrop()
+                    .format(DecodeFormat.PREFER_RGB_565)
+                    .override(thumbnailSize, thumbnailSize)
+                    .diskCacheStrategy(DiskCacheStrategy.NONE)    // Не читать с диска
+                    .onlyRetrieveFromCache(true);                 // Не ходить в сеть
+            
+            Drawable blurPlaceholder = BlurHashPlaceholders.placeholder(context, blurHash);
+            RequestBuilder<Drawable> request = requestManager
+                    .load(ImageUrlRewriter.rewrite(context, imageUrl, width, height))
+                    .thumbnail(cachedThumbnail);                  // Превью из списка - мгновенно
+            if (blurPlaceholder != null) {
+                request = request.placeholder(blurPlaceholder);
+            } else {
+                request = request.placeholder(R.drawable.ic_course_placeholder);  // Пока загружается
+            }
+            
+            request
+                    .error(R.drawable.ic_course_placeholder)    // При ошибке
+                    .centerCrop()                                // Заполнить весь header
+                    .diskCacheStrategy(DiskCacheStrategy.AUTOMATIC)  // Умное кеширование
+                    .transition(DrawableTransitionOptions.withCrossFade(400)) // Медленный fade для эффекта
+                    .into(imageView);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
     }
     
     /**
@@ -121,10 +307,73 @@ public class GlideHelper {
      * @param imageUrl URL для предзагрузки
      */
     public static void preloadImage(Context context, String imageUrl) {
-        Glide.with(context)
-                .load(imageUrl)
-                .diskCacheStrategy(DiskCacheStrategy.AUTOMATIC)
-                .preload(400, 400);  // Размер для thumbnail
+        preloadThumbnail(context, Glide.with(context), imageUrl, null, thumbnailSize(context),
+                ConnectivityMonitor.getInstance(context).isMetered());
+    }
+    
+    /**
+     * Предзагружает превью для списка с ТЕМИ ЖЕ размером и опциями, что и loadThumbnail
+     * (centerCrop, RGB_565, размер превью), поэтому результат попадает под тот же ключ
+     * memory cache и при bind отображается мгновенно.
+     * 
+     * Возвращает Target, чтобы предзагрузку можно было отменить через requestManager.clear().
+     * 
+     * @param context Context для плотности экрана и состояния сети
+     * @param requestManager RequestManager экрана
+     * @param imageUrl URL для предзагрузки
+     * @param blurHash BlurHash изображения (null - посчитать после загрузки)
+     * @param size Размер превью в пикселях (см. thumbnailSize)
+     * @param isMetered Снимок лимитности сети для списка - тот же, что у bind строк
+     * @return Target предзагрузки
+     */
+    public static Target<Drawable> preloadThumbnail(Context context, RequestManager requestManager,
+                                                    String imageUrl, String blurHash, int size,
+                                                    boolean isMetered) {
+        if (Tracing.ENABLED) Tracing.begin("GlideHelper.preloadThumbnail");
+        try {
+            return thumbnailRequest(context, requestManager, imageUrl, blurHash, size, isMetered)
+                    .preload(size, size);
+        } finally {
+            if (Tracing.ENABLED) Tracing.end();
+        }
+    }
+    
+    /**
+     * Скачивает превью и header курса в disk cache Glide для работы offline.
+     * 
+     * Кешируются исходные данные (DiskCacheStrategy.DATA) по тем же URL, что строят
+     * loadThumbnail и loadHeaderImage (вариант для безлимитной сети, см.
+     * ImageUrlRewriter.rewriteUnmetered), поэтому без сети обычная загрузка
+     * находит файлы в кеше. Повторное скачивание уже закешированного файла
+     * не идёт в сеть и поднимает запись в LRU disk cache.
+     * 
+     * ВАЖНО: блокирующий вызов, только из фонового потока!
+     * 
+     * @param context Context для Glide
+     * @param imageUrl Исходный URL изображения курса
+     * @return Сколько байт занимают файлы в disk cache
+     * @throws ExecutionException если изображение не удалось скачать
+     * @throws InterruptedException если поток прерван
+     * @throws TimeoutException если скачивание не уложилось в таймаут
+     */
+    public static long downloadForOffline(Context context, String imageUrl)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        int thumbnailSize = thumbnailSize(context);
+        Point headerSize = headerSize(context);
+        String[] urls = {
+                ImageUrlRewriter.rewriteUnmetered(context, imageUrl, thumbnailSize, thumbnailSize),
+                ImageUrlRewriter.rewriteUnmetered(context, imageUrl, headerSize.x, headerSize.y)
+        };
+        long bytes = 0;
+        for (String url : urls) {
+            File file = Glide.with(context)
+                    .downloadOnly()
+                    .load(url)
+                    .submit()
+                    .get(OFFLINE_DOWNLOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            bytes += file.length();
+        }
+        return bytes;
     }
     
     /**
@@ -148,4 +397,86 @@ public class GlideHelper {
             Glide.get(context).clearDiskCache();
         }).start();
     }
+    
+    /**
+     * Считает BlurHash по первому загруженному превью курса, у которого hash ещё нет.
+     */
+    private static final class BlurHashListener implements RequestListener<Drawable> {
+        
+        private final Context context;
+        private final String imageUrl;
+        
+        BlurHashListener(Context context, String imageUrl) {
+            this.context = context;
+            this.imageUrl = imageUrl;
+        }
+        
+        @Override
+        public boolean onLoadFailed(@Nullable GlideException e, Object model,
+                                    @NonNull Target<Drawable> target, boolean isFirstResource) {
+            return false;
+        }
+        
+        @Override
+        public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model,
+                                       Target<Drawable> target, @NonNull DataSource dataSource,
+                                       boolean isFirstResource) {
+            if (resource instanceof BitmapDrawable) {
+                BlurHashPlaceholders.remember(context, imageUrl, model);
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * Замеряет загрузку превью строки: от bind до готового Drawable (Metrics.GLIDE_LOAD)
+     * и считает, откуда пришло изображение.
+     * Запросы предзагрузки не замеряются - замер касается только того, что ждёт пользователь.
+     * В трейсе загрузка - асинхронная секция LOAD_SECTION от bind до результата.
+     */
+    private static final class LoadTimingListener implements RequestListener<Drawable> {
+        
+        private static final LatencyHistogram LOAD_TIME = Metrics.histogram(Metrics.GLIDE_LOAD);
+        
+        private static final String LOAD_SECTION = "GlideHelper.load";
+        
+        private static final AtomicInteger NEXT_COOKIE = new AtomicInteger();
+        
+        private final long start = Metrics.now();
+        
+        private final int cookie;
+        
+        LoadTimingListener() {
+            cookie = Tracing.ENABLED ? NEXT_COOKIE.incrementAndGet() : 0;
+            if (Tracing.ENABLED) Tracing.beginAsync(LOAD_SECTION, cookie);
+        }
+        
+        @Override
+        public boolean onLoadFailed(@Nullable GlideException e, Object model,
+                                    @NonNull Target<Drawable> target, boolean isFirstResource) {
+            Metrics.counter(Metrics.GLIDE_FAILED).increment();
+            if (Tracing.ENABLED) Tracing.endAsync(LOAD_SECTION, cookie);
+            return false;
+        }
+        
+        @Override
+        public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model,
+                                       Target<Drawable> target, @NonNull DataSource dataSource,
+                                       boolean isFirstResource) {
+            LOAD_TIME.recordSince(start);
+            if (Tracing.ENABLED) Tracing.endAsync(LOAD_SECTION, cookie);
+            switch (dataSource) {
+                case MEMORY_CACHE:
+                    Metrics.counter(Metrics.GLIDE_MEMORY).increment();
+                    break;
+                case REMOTE:
+                    Metrics.counter(Metrics.GLIDE_REMOTE).increment();
+                    break;
+                default:
+                    Metrics.counter(Metrics.GLIDE_DISK).increment();
+                    break;
+            }
+            return false;
+        }
+    }
 }
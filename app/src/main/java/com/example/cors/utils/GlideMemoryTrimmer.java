@@ -0,0 +1,109 @@
+package com.example.cors.utils;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.MemoryCategory;
+
+/**
+ * Ступенчатая очистка кешей Glide при нехватке памяти.
+ *
+ * Glide сам реагирует на onTrimMemory только в фоне (очистка) и при критическом
+ * уровне (половина кеша). Пока приложение на экране, система присылает и более
+ * ранние сигналы - на них уменьшаем кеши заранее, не дожидаясь критического уровня:
+ *
+ * 1. RUNNING_MODERATE / RUNNING_LOW - MemoryCategory.LOW (лимиты кешей x0.5)
+ * 2. RUNNING_CRITICAL - дополнительно очищаем memory cache
+ *    (Bitmap видимых строк не пострадают - они в active resources, а не в кеше)
+ *    и кеш рассчитанных текстов (TextPrecomputer)
+ * 3. UI_HIDDEN и выше - стандартная обработка Glide (половина кеша / полная очистка);
+ *    кеш текстов очищается с TRIM_MEMORY_BACKGROUND - при возврате он наполнится заново
+ *
+ * Лимиты возвращаются к NORMAL при следующем показе экрана (onActivityStarted).
+ *
+ * Регистрируется в CorsGlideModule.
+ */
+final class GlideMemoryTrimmer implements ComponentCallbacks2, Application.ActivityLifecycleCallbacks {
+
+    private static final String TAG = "GlideMemoryTrimmer";
+
+    private final Glide glide;
+
+    /**
+     * Флаг: лимиты кешей уменьшены и должны быть восстановлены
+     */
+    private boolean reduced;
+
+    GlideMemoryTrimmer(Glide glide) {
+        this.glide = glide;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            // Уровни фона Glide обрабатывает сам (зарегистрирован как ComponentCallbacks2)
+            if (level >= TRIM_MEMORY_BACKGROUND) {
+                TextPrecomputer.clear();
+            }
+            return;
+        }
+        if (level >= TRIM_MEMORY_RUNNING_MODERATE && !reduced) {
+            glide.setMemoryCategory(MemoryCategory.LOW);
+            reduced = true;
+            Log.i(TAG, "Лимиты кешей уменьшены (level=" + level + ")");
+        }
+        if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+            glide.clearMemory();
+            TextPrecomputer.clear();
+            Log.i(TAG, "Memory cache и кеш текстов очищены (level=" + level + ")");
+        }
+    }
+
+    @Override
+    public void onActivityStarted(@NonNull Activity activity) {
+        if (reduced) {
+            glide.setMemoryCategory(MemoryCategory.NORMAL);
+            reduced = false;
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        // Glide очищает кеши сам
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+    }
+
+    @Override
+    public void onActivityCreated(@NonNull Activity activity, Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(@NonNull Activity activity) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.cors.utils;
+
+import android.content.Context;
+import android.net.Uri;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Подбор URL изображения под размер View, плотность экрана и тип сети.
+ *
+ * Проблема: URL курсов содержат фиксированный размер (Unsplash w=800&q=80).
+ * Для превью 100dp скачивается картинка 800px и уменьшается в 2-3 раза на устройстве,
+ * а для header наоборот растягивается до 1200px.
+ *
+ * Решение:
+ * 1. GlideHelper передаёт сюда реальный размер цели в пикселях (уже с учётом density)
+ * 2. Для известных CDN (см. STRATEGIES) параметры размера, качества и формата
+ *    подставляются в URL - CDN сам отдаёт картинку нужного размера
+ * 3. В лимитной сети (мобильный интернет) плотность ограничивается 2x, качество ниже
+ * 4. Ширина округляется вверх до шага WIDTH_STEP_PX, чтобы соседние размеры
+ *    использовали одну и ту же картинку
+ *
+ * Glide использует переписанный URL как модель запроса, поэтому и disk cache,
+ * и memory cache ключуются по нему: разные размеры - разные записи кеша.
+ * Поэтому список берёт один снимок isMetered на загрузку (CourseAdapter) и передаёт
+ * его явно - иначе смена сети во время прокрутки даёт bind и предзагрузке разные ключи.
+ */
+public final class ImageUrlRewriter {
+
+    /**
+     * Известные CDN
+     */
+    private static final List<ImageUrlStrategy> STRATEGIES = Arrays.<ImageUrlStrategy>asList(
+            new UnsplashUrlStrategy()
+    );
+
+    /**
+     * Шаг округления ширины (px)
+     */
+    static final int WIDTH_STEP_PX = 100;
+
+    /**
+     * Качество в безлимитной сети
+     */
+    static final int QUALITY_UNMETERED = 75;
+
+    /**
+     * Качество в лимитной сети
+     */
+    static final int QUALITY_METERED = 60;
+
+    /**
+     * Максимальная плотность картинок в лимитной сети (2x вместо 3x-4x на xxhdpi+)
+     */
+    static final float MAX_METERED_DENSITY = 2f;
+
+    /**
+     * Приватный конструктор - класс содержит только статические методы.
+     */
+    private ImageUrlRewriter() {
+    }
+
+    /**
+     * Переписывает URL под размер цели по текущему состоянию сети.
+     * Неизвестные CDN и пустые URL возвращаются без изменений.
+     * Для строк списка - вариант с явным снимком isMetered.
+     *
+     * @param context Context (для плотности экрана и состояния сети)
+     * @param imageUrl Исходный URL
+     * @param width Ширина цели в пикселях
+     * @param height Высота цели в пикселях
+     * @return URL для загрузки
+     */
+    public static String rewrite(Context context, String imageUrl, int width, int height) {
+        // Без сети - false: изображения берутся из кеша, куда их положила offline-предзагрузка
+        return rewrite(context, imageUrl, width, height, ConnectivityMonitor.getInstance(context).isMetered());
+    }
+    
+    /**
+     * Переписывает URL под размер цели для безлимитной сети.
+     * Этот вариант скачивает offline-предзагрузка, и его же выбирает rewrite(),
+     * когда сети нет - тогда ключ кеша совпадает с предзагруженным файлом.
+     *
+     * @param context Context (для плотности экрана)
+     * @param imageUrl Исходный URL
+     * @param width Ширина цели в пикселях
+     * @param height Высота цели в пикселях
+     * @return URL для загрузки
+     */
+    public static String rewriteUnmetered(Context context, String imageUrl, int width, int height) {
+        return rewrite(context, imageUrl, width, height, false);
+    }
+
+    /**
+     * Переписывает URL под размер цели для заданного состояния сети.
+     *
+     * @param context Context (для плотности экрана)
+     * @param imageUrl Исходный URL
+     * @param width Ширина цели в пикселях
+     * @param height Высота цели в пикселях
+     * @param isMetered Снимок ConnectivityMonitor.isMetered() - один на загрузку списка
+     * @return URL для загрузки
+     */
+    public static String rewrite(Context context, String imageUrl, int width, int height,
+                                 boolean isMetered) {
+        if (imageUrl == null || imageUrl.isEmpty() || width <= 0 || height <= 0) {
+            return imageUrl;
+        }
+        Uri uri = Uri.parse(imageUrl);
+        for (ImageUrlStrategy strategy : STRATEGIES) {
+            if (strategy.supports(uri)) {
+                float density = context.getResources().getDisplayMetrics().density;
+                float scale = isMetered && density > MAX_METERED_DENSITY
+                        ? MAX_METERED_DENSITY / density
+                        : 1f;
+                int targetWidth = roundUp(Math.round(width * scale));
+                int targetHeight = Math.round((float) height * targetWidth / width);
+                int quality = isMetered ? QUALITY_METERED : QUALITY_UNMETERED;
+                return strategy.rewrite(uri, targetWidth, targetHeight, quality);
+            }
+        }
+        return imageUrl;
+    }
+
+    private static int roundUp(int width) {
+        return ((width + WIDTH_STEP_PX - 1) / WIDTH_STEP_PX) * WIDTH_STEP_PX;
+    }
+}
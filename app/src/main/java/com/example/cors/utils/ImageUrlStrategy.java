@@ -0,0 +1,34 @@
+package com.example.cors.utils;
+
+import android.net.Uri;
+
+/**
+ * Стратегия переписывания URL изображения для конкретного CDN.
+ *
+ * CDN изображений (Unsplash/imgix, Cloudinary и др.) умеют отдавать картинку нужного
+ * размера, качества и формата по параметрам URL. Стратегия знает параметры своего CDN
+ * и подставляет их под реальный размер View.
+ *
+ * Используется ImageUrlRewriter.
+ */
+public interface ImageUrlStrategy {
+
+    /**
+     * Проверяет, обслуживает ли стратегия этот URL.
+     *
+     * @param uri URL изображения
+     * @return true если URL принадлежит CDN этой стратегии
+     */
+    boolean supports(Uri uri);
+
+    /**
+     * Переписывает URL под нужный размер и качество.
+     *
+     * @param uri Исходный URL
+     * @param width Ширина в пикселях
+     * @param height Высота в пикселях
+     * @param quality Качество сжатия (0-100)
+     * @return URL с параметрами CDN
+     */
+    String rewrite(Uri uri, int width, int height, int quality);
+}
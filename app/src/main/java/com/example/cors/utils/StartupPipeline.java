@@ -0,0 +1,145 @@
+package com.example.cors.utils;
+
+import android.content.Context;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.bumptech.glide.Glide;
+import com.example.cors.data.local.database.AppDatabase;
+import com.example.cors.data.remote.api.RetrofitClient;
+import com.example.cors.data.repository.CourseRepository;
+import com.example.cors.worker.CatalogSyncWorker;
+import com.example.cors.worker.FavoriteImagePrefetchWorker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Инициализация приложения при холодном старте.
+ *
+ * Раньше всё выполнялось последовательно в главном потоке CoursesActivity.onCreate:
+ * чтение SharedPreferences, создание Room, Retrofit, Glide - первый кадр ждал их всех.
+ *
+ * Теперь CorsApplication.onCreate запускает задачи в фоновых потоках параллельно.
+ * Зависимости выражены через CompletableFuture:
+ *
+ *   database ──► warm repository
+ *   network          (независимо)
+ *   glide            (независимо)
+ *   workers          (независимо)
+ *
+ * Главный поток ничего не ждёт: LiveData-запросы Room сами дождутся открытия БД
+ * в своём фоновом потоке. Длительность каждой задачи пишется в logcat (тег StartupPipeline),
+ * время до первого кадра со списком - через reportFirstListFrame.
+ */
+public final class StartupPipeline {
+
+    private static final String TAG = "StartupPipeline";
+
+    /**
+     * Сколько курсов первого экрана положить в кеш деталей при старте
+     */
+    private static final int WARM_COURSE_COUNT = 8;
+
+    /**
+     * Потоков столько, сколько независимых веток в графе задач
+     */
+    private static final int THREAD_COUNT = 3;
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+        Thread thread = new Thread(runnable, "startup-" + THREAD_NUMBER.incrementAndGet());
+        thread.setPriority(Thread.NORM_PRIORITY);
+        return thread;
+    });
+
+    private static volatile CompletableFuture<Void> completion;
+
+    private static volatile boolean firstListFrameReported;
+
+    /**
+     * Приватный конструктор - класс содержит только статические методы.
+     */
+    private StartupPipeline() {
+    }
+
+    /**
+     * Запускает инициализацию. Повторный вызов ничего не делает.
+     *
+     * @param context Context приложения
+     */
+    public static synchronized void start(Context context) {
+        if (completion != null) {
+            return;
+        }
+        Context appContext = context.getApplicationContext();
+
+        CompletableFuture<AppDatabase> database = timed("database", () -> {
+            AppDatabase db = AppDatabase.getInstance(appContext);
+            // Открываем файл сейчас, а не при первом запросе списка: при первом запуске
+            // здесь копируется каталог из assets (или заполняется DatabaseInitializer),
+            // при обновлении приложения - выполняются миграции
+            db.getOpenHelper().getWritableDatabase();
+            return db;
+        });
+        CompletableFuture<Void> repository = database.thenRunAsync(() ->
+                measure("repository", () -> CourseRepository.warmUp(appContext, WARM_COURSE_COUNT)), EXECUTOR);
+        CompletableFuture<?> network = timed("network", () -> RetrofitClient.getApiService(appContext));
+        CompletableFuture<?> glide = timed("glide", () -> Glide.get(appContext));
+        CompletableFuture<?> workers = timed("workers", () -> {
+            // Периодическое обновление offline-изображений избранного (безлимитная сеть + зарядка)
+            FavoriteImagePrefetchWorker.schedulePeriodic(appContext);
+            // Фоновая синхронизация каталога (безлимитная сеть + зарядка + простой)
+            CatalogSyncWorker.schedulePeriodic(appContext);
+            return null;
+        });
+
+        completion = CompletableFuture.allOf(repository, network, glide, workers)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        Log.e(TAG, "Ошибка инициализации", error);
+                    } else {
+                        Log.i(TAG, "Инициализация завершена через " + sinceProcessStart() + " мс после старта процесса");
+                    }
+                });
+    }
+
+    /**
+     * Отмечает первый кадр со списком курсов. Учитывается только первый вызов за процесс.
+     *
+     * @return Время от старта процесса в мс или -1, если кадр уже был отмечен
+     */
+    public static long reportFirstListFrame() {
+        if (firstListFrameReported) {
+            return -1;
+        }
+        firstListFrameReported = true;
+        long elapsed = sinceProcessStart();
+        Log.i(TAG, "Первый кадр со списком через " + elapsed + " мс после старта процесса");
+        return elapsed;
+    }
+
+    private static <T> CompletableFuture<T> timed(String name, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = SystemClock.elapsedRealtime();
+            T result = task.get();
+            Log.d(TAG, name + ": " + (SystemClock.elapsedRealtime() - start) + " мс");
+            return result;
+        }, EXECUTOR);
+    }
+
+    private static void measure(String name, Runnable task) {
+        long start = SystemClock.elapsedRealtime();
+        task.run();
+        Log.d(TAG, name + ": " + (SystemClock.elapsedRealtime() - start) + " мс");
+    }
+
+    private static long sinceProcessStart() {
+        return SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.cors.utils;
+
+import android.graphics.Typeface;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextDirectionHeuristic;
+import android.text.TextDirectionHeuristics;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.LruCache;
+import android.widget.TextView;
+
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Утилитный класс для предварительного расчёта текста (PrecomputedText) в фоновом потоке.
+ *
+ * Проблема: при setText() TextView измеряет текст (шрифты, переносы, ширина глифов)
+ * прямо в главном потоке во время onBindViewHolder / onMeasure. Для длинных названий
+ * и описаний это заметная часть времени кадра при быстрой прокрутке.
+ *
+ * Решение:
+ * 1. PrecomputedTextCompat.create() выполняет измерение текста в фоновом потоке
+ * 2. Результат кешируется по ключу (текст + параметры TextView)
+ * 3. AppCompatTextView.setTextFuture() подставляет готовый результат при measure,
+ *    поэтому главный поток только применяет уже рассчитанный layout
+ * 4. Если расчёт ещё не готов, текст измеряется как обычно (setText) - measure
+ *    не ждёт фоновый поток, а результат пригодится при следующем bind
+ *
+ * Параметры (PrecomputedTextCompat.Params) включают шрифт, размер текста,
+ * стратегию переносов - если TextView стилизован иначе, ключ будет другим
+ * и текст будет рассчитан заново.
+ *
+ * Для View, которые рисуют текст сами (CourseCardView), тот же поток строит
+ * готовый StaticLayout по ключу текст + LayoutSpec (краска, ширина, число строк,
+ * направление) - см. layoutIfReady / prefetchLayout.
+ */
+public class TextPrecomputer {
+
+    /**
+     * Максимальное количество рассчитанных текстов в кеше.
+     * Хватает на несколько экранов списка + описания открытых курсов.
+     */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Фоновый поток для расчёта текста.
+     * Один поток - расчёты выполняются в порядке запросов (сначала видимые элементы).
+     */
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "text-precompute");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * LRU кеш: ключ (текст + параметры) -> Future с результатом.
+     * Храним Future, а не результат, чтобы повторный запрос того же текста
+     * во время расчёта не запускал второй расчёт. LruCache потокобезопасен.
+     */
+    private static final LruCache<Key, Future<PrecomputedTextCompat>> cache = new LruCache<>(CACHE_SIZE);
+
+    /**
+     * LRU кеш: ключ (текст + LayoutSpec) -> Future с готовым StaticLayout
+     */
+    private static final LruCache<LayoutKey, Future<StaticLayout>> layoutCache = new LruCache<>(CACHE_SIZE);
+
+    /**
+     * Приватный конструктор - класс содержит только статические методы.
+     */
+    private TextPrecomputer() {
+    }
+
+    /**
+     * Устанавливает текст в TextView через предварительно рассчитанный layout.
+     *
+     * Если TextView - это AppCompatTextView (AppCompatActivity подменяет TextView из XML
+     * на AppCompatTextView автоматически) и расчёт уже готов, используется setTextFuture().
+     * Иначе текст устанавливается обычным setText(): setTextFuture() заблокировал бы
+     * measure до конца расчёта, а фоновый поток может быть занят очередью других текстов.
+     *
+     * @param textView TextView для отображения текста
+     * @param text Текст для отображения
+     */
+    public static void setText(TextView textView, CharSequence text) {
+        if (text == null || !(textView instanceof AppCompatTextView)) {
+            textView.setText(text);
+            return;
+        }
+
+        PrecomputedTextCompat.Params params = TextViewCompat.getTextMetricsParams(textView);
+        Future<PrecomputedTextCompat> future = precompute(text, params);
+        if (future.isDone()) {
+            ((AppCompatTextView) textView).setTextFuture(future);
+        } else {
+            textView.setText(text);
+        }
+    }
+
+    /**
+     * Запускает фоновый расчёт списка текстов с заданными параметрами.
+     * Используется адаптером при получении нового списка курсов - к моменту
+     * onBindViewHolder названия уже рассчитаны.
+     *
+     * @param texts Тексты для расчёта
+     * @param params Параметры TextView, в который будут установлены тексты
+     */
+    public static void prefetch(List<? extends CharSequence> texts, PrecomputedTextCompat.Params params) {
+        if (params == null) {
+            return;
+        }
+        for (CharSequence text : texts) {
+            if (text != null) {
+                precompute(text, params);
+            }
+        }
+    }
+
+    /**
+     * Возвращает Future с рассчитанным текстом.
+     * Берёт результат из кеша или ставит расчёт в очередь фонового потока.
+     *
+     * @param text Текст для расчёта
+     * @param params Параметры TextView
+     * @return Future с PrecomputedTextCompat
+     */
+    public static Future<PrecomputedTextCompat> precompute(CharSequence text, PrecomputedTextCompat.Params params) {
+        Key key = new Key(text.toString(), params);
+
+        synchronized (cache) {
+            Future<PrecomputedTextCompat> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            FutureTask<PrecomputedTextCompat> task =
+                    new FutureTask<>(() -> PrecomputedTextCompat.create(text, params));
+            cache.put(key, task);
+            executor.execute(task);
+            return task;
+        }
+    }
+
+    /**
+     * Возвращает StaticLayout текста, если он уже построен в фоне.
+     * Если нет - ставит построение в очередь и возвращает null: вызывающий строит
+     * layout сам (LayoutSpec.build), не дожидаясь фонового потока.
+     *
+     * @param text Текст
+     * @param spec Параметры layout
+     * @return Готовый StaticLayout или null
+     */
+    public static StaticLayout layoutIfReady(CharSequence text, LayoutSpec spec) {
+        Future<StaticLayout> future = precomputeLayout(text, spec);
+        if (!future.isDone()) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException | InterruptedException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Запускает фоновое построение StaticLayout для списка текстов.
+     *
+     * @param texts Тексты (null пропускаются)
+     * @param spec Параметры layout
+     */
+    public static void prefetchLayouts(List<? extends CharSequence> texts, LayoutSpec spec) {
+        if (spec == null) {
+            return;
+        }
+        for (CharSequence text : texts) {
+            if (text != null) {
+                precomputeLayout(text, spec);
+            }
+        }
+    }
+
+    private static Future<StaticLayout> precomputeLayout(CharSequence text, LayoutSpec spec) {
+        LayoutKey key = new LayoutKey(text.toString(), spec);
+
+        synchronized (layoutCache) {
+            Future<StaticLayout> cached = layoutCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            FutureTask<StaticLayout> task = new FutureTask<>(() -> spec.build(text));
+            layoutCache.put(key, task);
+            executor.execute(task);
+            return task;
+        }
+    }
+
+    /**
+     * Очищает кеш рассчитанных текстов и layout.
+     * Вызывается при нехватке памяти (GlideMemoryTrimmer).
+     */
+    public static void clear() {
+        cache.evictAll();
+        layoutCache.evictAll();
+    }
+
+    /**
+     * Параметры StaticLayout: краска, ширина, максимум строк (с многоточием в конце)
+     * и направление текста.
+     *
+     * Хранит свою копию краски: layout строится в фоновом потоке, а краска View
+     * используется при отрисовке в главном. Копия после создания не меняется.
+     * equals/hashCode - по ширине, числу строк, направлению и свойствам краски,
+     * влияющим на измерение и цвет.
+     */
+    public static final class LayoutSpec {
+
+        private final TextPaint paint;
+        private final int width;
+        private final int maxLines;
+        private final boolean rtl;
+
+        /**
+         * @param paint Краска текста (копируется)
+         * @param width Ширина текста в пикселях
+         * @param maxLines Максимум строк
+         * @param rtl true - направление View справа налево
+         */
+        public LayoutSpec(TextPaint paint, int width, int maxLines, boolean rtl) {
+            this.paint = new TextPaint(paint);
+            this.width = width;
+            this.maxLines = maxLines;
+            this.rtl = rtl;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Строит StaticLayout в текущем потоке.
+         *
+         * @param text Текст
+         * @return StaticLayout
+         */
+        public StaticLayout build(CharSequence text) {
+            // Как у TextView: направление абзаца - по первому символу, по умолчанию - как у View
+            TextDirectionHeuristic direction = rtl
+                    ? TextDirectionHeuristics.FIRSTSTRONG_RTL
+                    : TextDirectionHeuristics.FIRSTSTRONG_LTR;
+            return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                    .setAlignment(Layout.Alignment.ALIGN_NORMAL)
+                    .setTextDirection(direction)
+                    .setMaxLines(maxLines)
+                    .setEllipsize(TextUtils.TruncateAt.END)
+                    .setIncludePad(false)
+                    .build();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LayoutSpec)) return false;
+            LayoutSpec other = (LayoutSpec) o;
+            return width == other.width
+                    && maxLines == other.maxLines
+                    && rtl == other.rtl
+                    && paint.getTextSize() == other.paint.getTextSize()
+                    && paint.getTextScaleX() == other.paint.getTextScaleX()
+                    && paint.getLetterSpacing() == other.paint.getLetterSpacing()
+                    && paint.getColor() == other.paint.getColor()
+                    && paint.getFlags() == other.paint.getFlags()
+                    && Objects.equals(paint.getTypeface(), other.paint.getTypeface())
+                    && paint.getTextLocales().equals(other.paint.getTextLocales());
+        }
+
+        @Override
+        public int hashCode() {
+            Typeface typeface = paint.getTypeface();
+            int result = width;
+            result = 31 * result + maxLines;
+            result = 31 * result + (rtl ? 1 : 0);
+            result = 31 * result + Float.floatToIntBits(paint.getTextSize());
+            result = 31 * result + paint.getColor();
+            result = 31 * result + (typeface != null ? typeface.hashCode() : 0);
+            return result;
+        }
+    }
+
+    /**
+     * Ключ кеша: текст + параметры TextView.
+     * PrecomputedTextCompat.Params реализует equals/hashCode по шрифту, размеру и переносам.
+     */
+    private static final class Key {
+
+        private final String text;
+        private final PrecomputedTextCompat.Params params;
+
+        Key(String text, PrecomputedTextCompat.Params params) {
+            this.text = text;
+            this.params = params;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return text.equals(other.text) && params.equals(other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * text.hashCode() + params.hashCode();
+        }
+    }
+
+    /**
+     * Ключ кеша layout: текст + LayoutSpec
+     */
+    private static final class LayoutKey {
+
+        private final String text;
+        private final LayoutSpec spec;
+
+        LayoutKey(String text, LayoutSpec spec) {
+            this.text = text;
+            this.spec = spec;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LayoutKey)) return false;
+            LayoutKey other = (LayoutKey) o;
+            return text.equals(other.text) && spec.equals(other.spec);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * text.hashCode() + spec.hashCode();
+        }
+    }
+}
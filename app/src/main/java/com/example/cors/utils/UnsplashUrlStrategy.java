@@ -0,0 +1,57 @@
+package com.example.cors.utils;
+
+import android.net.Uri;
+
+/**
+ * Стратегия для Unsplash (images.unsplash.com, работает на imgix).
+ *
+ * Параметры imgix:
+ * - w / h - размер результата в пикселях
+ * - fit=crop - обрезка под пропорции w x h (как centerCrop)
+ * - q - качество сжатия
+ * - fm=webp - формат WebP (в 2-3 раза меньше JPEG того же качества).
+ *   auto=format убирается: он выбирает формат по заголовку Accept, а Glide его не отправляет
+ */
+public class UnsplashUrlStrategy implements ImageUrlStrategy {
+
+    private static final String HOST = "images.unsplash.com";
+
+    private static final String PARAM_WIDTH = "w";
+    private static final String PARAM_HEIGHT = "h";
+    private static final String PARAM_FIT = "fit";
+    private static final String PARAM_QUALITY = "q";
+    private static final String PARAM_FORMAT = "fm";
+    private static final String PARAM_AUTO = "auto";
+
+    @Override
+    public boolean supports(Uri uri) {
+        return HOST.equals(uri.getHost());
+    }
+
+    @Override
+    public String rewrite(Uri uri, int width, int height, int quality) {
+        Uri.Builder builder = uri.buildUpon().clearQuery();
+        // Сохраняем параметры, которыми не управляем (например, ixid, crop)
+        for (String name : uri.getQueryParameterNames()) {
+            if (isManaged(name)) {
+                continue;
+            }
+            for (String value : uri.getQueryParameters(name)) {
+                builder.appendQueryParameter(name, value);
+            }
+        }
+        return builder
+                .appendQueryParameter(PARAM_WIDTH, String.valueOf(width))
+                .appendQueryParameter(PARAM_HEIGHT, String.valueOf(height))
+                .appendQueryParameter(PARAM_FIT, "crop")
+                .appendQueryParameter(PARAM_QUALITY, String.valueOf(quality))
+                .appendQueryParameter(PARAM_FORMAT, "webp")
+                .build()
+                .toString();
+    }
+
+    private static boolean isManaged(String name) {
+        return PARAM_WIDTH.equals(name) || PARAM_HEIGHT.equals(name) || PARAM_FIT.equals(name)
+                || PARAM_QUALITY.equals(name) || PARAM_FORMAT.equals(name) || PARAM_AUTO.equals(name);
+    }
+}
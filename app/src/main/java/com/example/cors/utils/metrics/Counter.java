@@ -0,0 +1,37 @@
+package com.example.cors.utils.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчик событий без блокировок (LongAdder - без конкуренции за одну ячейку).
+ */
+public final class Counter {
+
+    private final String name;
+
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void reset() {
+        value.reset();
+    }
+}
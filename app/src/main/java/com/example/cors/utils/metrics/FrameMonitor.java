@@ -0,0 +1,295 @@
+package com.example.cors.utils.metrics;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Время кадров и рывки одного экрана с разбивкой по состоянию UI.
+ *
+ * Источник - FrameMetrics окна (Window.OnFrameMetricsAvailableListener, API 24+).
+ * Каждый кадр относится к состоянию, в котором экран был на момент vsync кадра
+ * (прокрутка, поиск, смена фильтра, загрузка деталей). По состоянию считаются:
+ * - janky: кадр дольше бюджета дисплея (1 / частота обновления)
+ * - slow: дольше SLOW_FRAME_MS (порог Android vitals)
+ * - frozen: дольше FROZEN_FRAME_MS
+ *
+ * Для каждого рывка из FrameWorkLog берётся работа горячих путей, пересекавшаяся
+ * с кадром (запросы Room, маппинг, diff, bind) - так регрессию видно по причине, а не только по факту.
+ *
+ * Сессия (от start до stop) дописывается в files/metrics/frames.log, файл ротируется
+ * при MAX_LOG_BYTES (предыдущий - frames.log.1). Сводка сессии выводится и в logcat.
+ *
+ * Статистика изменяется только в потоке frame-metrics, состояние - из главного потока.
+ */
+public final class FrameMonitor {
+
+    private static final String TAG = "FrameMonitor";
+
+    /**
+     * Состояние UI, к которому относится кадр
+     */
+    public enum State {
+        IDLE, SCROLLING, SEARCHING, FILTER_CHANGE, DETAIL_LOADING
+    }
+
+    static final long SLOW_FRAME_MS = 16;
+
+    static final long FROZEN_FRAME_MS = 700;
+
+    /**
+     * Сколько рывков с атрибуцией хранить за сессию (самые долгие)
+     */
+    static final int MAX_JANK_RECORDS = 20;
+
+    static final String LOG_FILE = "frames.log";
+
+    static final long MAX_LOG_BYTES = 256 * 1024;
+
+    private static Handler metricsHandler;
+
+    private final Activity activity;
+
+    private final String screen;
+
+    private final long frameBudgetNanos;
+
+    private final Window.OnFrameMetricsAvailableListener listener = this::onFrameMetrics;
+
+    /**
+     * Текущее и предыдущее состояние с моментом смены: метрики кадра приходят с задержкой,
+     * и кадр, начавшийся до смены, относится к предыдущему состоянию
+     */
+    private volatile State state = State.IDLE;
+    private volatile State previousState = State.IDLE;
+    private volatile long stateChangedAt;
+
+    private boolean started;
+
+    // Статистика сессии (только поток frame-metrics)
+    private final StateStats[] stats = new StateStats[State.values().length];
+    private final List<Jank> janks = new ArrayList<>();
+    private long droppedReports;
+    private long sessionStartedAt;
+
+    /**
+     * @param activity Экран, кадры которого замеряются
+     * @param screen Имя экрана в отчётах
+     */
+    public FrameMonitor(Activity activity, String screen) {
+        this.activity = activity;
+        this.screen = screen;
+        float refreshRate = activity.getWindowManager().getDefaultDisplay().getRefreshRate();
+        this.frameBudgetNanos = (long) (1_000_000_000L / (refreshRate > 0 ? refreshRate : 60f));
+        resetStats();
+    }
+
+    /**
+     * Начинает сессию замера (onResume).
+     */
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        Handler handler = handler();
+        handler.post(() -> {
+            resetStats();
+            sessionStartedAt = System.currentTimeMillis();
+        });
+        activity.getWindow().addOnFrameMetricsAvailableListener(listener, handler);
+    }
+
+    /**
+     * Заканчивает сессию (onPause): сводка уходит в logcat и дописывается в frames.log.
+     */
+    public void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        activity.getWindow().removeOnFrameMetricsAvailableListener(listener);
+        Context appContext = activity.getApplicationContext();
+        // Отчёт пишется в том же потоке, что и статистика, - после последнего кадра сессии
+        handler().post(() -> persist(appContext, report()));
+    }
+
+    /**
+     * Переводит экран в состояние (вызывается из главного потока).
+     */
+    public void setState(State newState) {
+        if (state == newState) {
+            return;
+        }
+        previousState = state;
+        stateChangedAt = System.nanoTime();
+        state = newState;
+    }
+
+    /**
+     * Возвращает экран в IDLE, если он всё ещё в состоянии expected.
+     */
+    public void clearState(State expected) {
+        if (state == expected) {
+            setState(State.IDLE);
+        }
+    }
+
+    /**
+     * Возвращает экран в IDLE после следующего кадра: кадр, рисующий результат
+     * (новый список после поиска, полную строку курса), ещё относится к состоянию expected.
+     */
+    public void clearStateAfterNextFrame(State expected) {
+        Choreographer.getInstance().postFrameCallback(frameTimeNanos ->
+                activity.getWindow().getDecorView().post(() -> clearState(expected)));
+    }
+
+    private void onFrameMetrics(Window window, FrameMetrics frameMetrics, int dropCountSinceLastInvocation) {
+        droppedReports += dropCountSinceLastInvocation;
+        long total = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+        long vsync = frameMetrics.getMetric(FrameMetrics.INTENDED_VSYNC_TIMESTAMP);
+        State frameState = vsync < stateChangedAt ? previousState : state;
+
+        StateStats stateStats = stats[frameState.ordinal()];
+        stateStats.frames++;
+        stateStats.totalNanos += total;
+        stateStats.worstNanos = Math.max(stateStats.worstNanos, total);
+        if (total <= frameBudgetNanos) {
+            return;
+        }
+        stateStats.janky++;
+        long millis = total / 1_000_000;
+        if (millis > SLOW_FRAME_MS) {
+            stateStats.slow++;
+        }
+        if (millis > FROZEN_FRAME_MS) {
+            stateStats.frozen++;
+        }
+        recordJank(new Jank(frameState, total,
+                frameMetrics.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 1,
+                FrameWorkLog.summarize(vsync, vsync + total)));
+    }
+
+    /**
+     * Хранит MAX_JANK_RECORDS самых долгих рывков сессии.
+     */
+    private void recordJank(Jank jank) {
+        if (janks.size() < MAX_JANK_RECORDS) {
+            janks.add(jank);
+            return;
+        }
+        int shortest = 0;
+        for (int i = 1; i < janks.size(); i++) {
+            if (janks.get(i).durationNanos < janks.get(shortest).durationNanos) {
+                shortest = i;
+            }
+        }
+        if (janks.get(shortest).durationNanos < jank.durationNanos) {
+            janks.set(shortest, jank);
+        }
+    }
+
+    private String report() {
+        StringBuilder builder = new StringBuilder();
+        String time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US).format(new Date(sessionStartedAt));
+        builder.append(String.format(Locale.US, "== %s %s budget=%.1fms dropped=%d%n",
+                time, screen, frameBudgetNanos / 1e6, droppedReports));
+        for (State value : State.values()) {
+            StateStats stateStats = stats[value.ordinal()];
+            if (stateStats.frames == 0) {
+                continue;
+            }
+            builder.append(String.format(Locale.US,
+                    "%-15s frames=%-6d jank=%.1f%% slow=%d frozen=%d mean=%.1fms worst=%.1fms%n",
+                    value, stateStats.frames, 100.0 * stateStats.janky / stateStats.frames,
+                    stateStats.slow, stateStats.frozen,
+                    stateStats.totalNanos / 1e6 / stateStats.frames, stateStats.worstNanos / 1e6));
+        }
+        for (Jank jank : janks) {
+            builder.append(String.format(Locale.US, "  jank %-15s %.1fms%s: %s%n",
+                    jank.state, jank.durationNanos / 1e6, jank.firstFrame ? " (first frame)" : "",
+                    jank.work.isEmpty() ? "no hot-path work" : jank.work));
+        }
+        return builder.toString();
+    }
+
+    private static void persist(Context context, String report) {
+        for (String line : report.split("\n")) {
+            Log.i(TAG, line);
+        }
+        File dir = new File(context.getFilesDir(), "metrics");
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            Log.w(TAG, "Не удалось создать " + dir);
+            return;
+        }
+        File file = new File(dir, LOG_FILE);
+        if (file.length() > MAX_LOG_BYTES && !file.renameTo(new File(dir, LOG_FILE + ".1"))) {
+            Log.w(TAG, "Не удалось ротировать " + file);
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8)) {
+            writer.write(report);
+        } catch (IOException e) {
+            Log.w(TAG, "Не удалось записать " + file, e);
+        }
+    }
+
+    private void resetStats() {
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new StateStats();
+        }
+        janks.clear();
+        droppedReports = 0;
+    }
+
+    /**
+     * Общий поток для FrameMetrics всех экранов - колбэки не нагружают главный поток.
+     */
+    private static synchronized Handler handler() {
+        if (metricsHandler == null) {
+            HandlerThread thread = new HandlerThread("frame-metrics");
+            thread.start();
+            metricsHandler = new Handler(thread.getLooper());
+        }
+        return metricsHandler;
+    }
+
+    private static final class StateStats {
+        long frames;
+        long janky;
+        long slow;
+        long frozen;
+        long totalNanos;
+        long worstNanos;
+    }
+
+    private static final class Jank {
+        final State state;
+        final long durationNanos;
+        final boolean firstFrame;
+        final String work;
+
+        Jank(State state, long durationNanos, boolean firstFrame, String work) {
+            this.state = state;
+            this.durationNanos = durationNanos;
+            this.firstFrame = firstFrame;
+            this.work = work;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.cors.utils.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Кольцевой журнал недавней работы горячих путей: какая метрика, когда началась, сколько длилась.
+ *
+ * Нужен FrameMonitor: по медленному кадру он выбирает из журнала работу, пересекающуюся
+ * с интервалом кадра, и так связывает рывок с запросом Room, маппингом, diff или bind.
+ *
+ * В журнал попадает только работа (FRAME_WORK), не ожидание в очереди.
+ * Запись без блокировок и аллокаций: номер слота - атомарный инкремент.
+ * При параллельной записи в тот же слот (журнал обогнал читателя на целый круг)
+ * запись может оказаться смешанной - для диагностики это допустимо.
+ */
+final class FrameWorkLog {
+
+    /**
+     * Метрики, которые считаются работой кадра. Индекс - идентификатор в журнале.
+     */
+    static final String[] FRAME_WORK = {
+            Metrics.DB_QUERY, Metrics.MAPPER, Metrics.ADAPTER_DIFF, Metrics.ADAPTER_BIND,
+            Metrics.REPOSITORY_TASK
+    };
+
+    /**
+     * Размер журнала (степень двойки). При прокрутке bind идёт на каждую новую строку -
+     * 1024 записей хватает на несколько секунд даже при быстром fling.
+     */
+    private static final int CAPACITY = 1024;
+
+    private static final int MASK = CAPACITY - 1;
+
+    /**
+     * Полей на запись: идентификатор метрики, начало (нс), длительность (нс)
+     */
+    private static final int FIELDS = 3;
+
+    private static final AtomicLongArray ENTRIES = new AtomicLongArray(CAPACITY * FIELDS);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private FrameWorkLog() {
+    }
+
+    /**
+     * @return Идентификатор метрики в журнале или -1, если метрика не работа кадра
+     */
+    static int idOf(String metric) {
+        for (int i = 0; i < FRAME_WORK.length; i++) {
+            if (FRAME_WORK[i].equals(metric)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static void record(int id, long startNanos, long durationNanos) {
+        int slot = (int) (SEQUENCE.getAndIncrement() & MASK) * FIELDS;
+        ENTRIES.set(slot, id);
+        ENTRIES.set(slot + 1, startNanos);
+        ENTRIES.set(slot + 2, durationNanos);
+    }
+
+    /**
+     * Сводка работы, пересекающейся с интервалом [fromNanos, toNanos]:
+     * "adapter.bind x6 9.4ms, db.query x1 3.2ms" (по убыванию времени).
+     * Время считается только внутри интервала.
+     *
+     * @return Сводка или пустая строка, если за интервал работы не было
+     */
+    static String summarize(long fromNanos, long toNanos) {
+        int[] counts = new int[FRAME_WORK.length];
+        long[] nanos = new long[FRAME_WORK.length];
+        for (int i = 0; i < CAPACITY; i++) {
+            int slot = i * FIELDS;
+            long duration = ENTRIES.get(slot + 2);
+            if (duration <= 0) {
+                continue;
+            }
+            long start = ENTRIES.get(slot + 1);
+            long overlap = Math.min(toNanos, start + duration) - Math.max(fromNanos, start);
+            int id = (int) ENTRIES.get(slot);
+            if (overlap > 0 && id >= 0 && id < FRAME_WORK.length) {
+                counts[id]++;
+                nanos[id] += overlap;
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        while (true) {
+            int top = -1;
+            for (int id = 0; id < FRAME_WORK.length; id++) {
+                if (counts[id] > 0 && (top < 0 || nanos[id] > nanos[top])) {
+                    top = id;
+                }
+            }
+            if (top < 0) {
+                return builder.toString();
+            }
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(String.format(Locale.US, "%s x%d %.1fms", FRAME_WORK[top], counts[top], nanos[top] / 1e6));
+            counts[top] = 0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.cors.utils.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor-обёртка: для каждой задачи записывает время ожидания в очереди
+ * и время выполнения в две гистограммы. Выполнение - секция трейса с именем runMetric.
+ */
+public final class InstrumentedExecutor implements Executor {
+
+    private final Executor delegate;
+
+    private final LatencyHistogram queueWait;
+
+    private final LatencyHistogram runTime;
+
+    private final String traceName;
+
+    /**
+     * @param delegate Реальный executor
+     * @param queueMetric Имя гистограммы ожидания в очереди
+     * @param runMetric Имя гистограммы выполнения
+     */
+    public InstrumentedExecutor(Executor delegate, String queueMetric, String runMetric) {
+        this.delegate = delegate;
+        this.queueWait = Metrics.histogram(queueMetric);
+        this.runTime = Metrics.histogram(runMetric);
+        this.traceName = runMetric;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        long enqueued = Metrics.now();
+        delegate.execute(() -> {
+            long started = Metrics.now();
+            queueWait.recordNanos(started - enqueued);
+            if (Tracing.ENABLED) Tracing.beginTask(traceName);
+            try {
+                command.run();
+            } finally {
+                runTime.recordSince(started);
+                if (Tracing.ENABLED) Tracing.endTask();
+            }
+        });
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.cors.utils.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек с фиксированными корзинами.
+ *
+ * Запись - один бинарный поиск по 16 границам и атомарный инкремент: без блокировок
+ * и аллокаций, поэтому гистограммы можно оставлять включёнными в release.
+ * Перцентили берутся по верхней границе корзины - точность в пределах корзины
+ * (границы растут примерно вдвое: 50 мкс ... 2 с).
+ * Метрики работы кадра (FrameWorkLog.FRAME_WORK) дополнительно пишутся в журнал кадров.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Верхние границы корзин в микросекундах. Последняя корзина - всё, что больше.
+     */
+    static final long[] BOUNDS_US = {
+            50, 100, 250, 500,
+            1_000, 2_000, 4_000, 8_000, 16_000, 32_000, 64_000, 128_000, 256_000, 512_000,
+            1_000_000, 2_000_000
+    };
+
+    private final String name;
+
+    /**
+     * Идентификатор в FrameWorkLog (-1 - метрика не пишется в журнал кадров)
+     */
+    private final int workId;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_US.length + 1);
+
+    private final LongAdder totalMicros = new LongAdder();
+
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+        this.workId = FrameWorkLog.idOf(name);
+    }
+
+    /**
+     * Записывает длительность с момента start.
+     *
+     * @param startNanos Значение Metrics.now() в начале операции
+     */
+    public void recordSince(long startNanos) {
+        record(startNanos, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Записывает длительность операции.
+     *
+     * @param nanos Длительность в наносекундах
+     */
+    public void recordNanos(long nanos) {
+        record(System.nanoTime() - nanos, nanos);
+    }
+
+    private void record(long startNanos, long nanos) {
+        if (!Metrics.isEnabled()) {
+            return;
+        }
+        if (workId >= 0) {
+            FrameWorkLog.record(workId, startNanos, nanos);
+        }
+        long micros = Math.max(0, nanos / 1_000);
+        buckets.incrementAndGet(bucketIndex(micros));
+        totalMicros.add(micros);
+        long max;
+        while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) {
+            // Повторяем, пока другой поток не записал больший максимум
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Снимок текущих значений. Корзины читаются по одной - снимок может быть
+     * слегка несогласован с параллельными записями, для мониторинга этого достаточно.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length()];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        return new Snapshot(name, counts, count, totalMicros.sum(), maxMicros.get());
+    }
+
+    void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        totalMicros.reset();
+        maxMicros.set(0);
+    }
+
+    static int bucketIndex(long micros) {
+        int low = 0;
+        int high = BOUNDS_US.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (micros <= BOUNDS_US[mid]) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Неизменяемый снимок гистограммы с перцентилями.
+     */
+    public static final class Snapshot {
+
+        private final String name;
+        private final long[] counts;
+        private final long count;
+        private final long totalMicros;
+        private final long maxMicros;
+
+        Snapshot(String name, long[] counts, long count, long totalMicros, long maxMicros) {
+            this.name = name;
+            this.counts = counts;
+            this.count = count;
+            this.totalMicros = totalMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMeanMicros() {
+            return count == 0 ? 0 : totalMicros / count;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        /**
+         * @param percentile Перцентиль от 0 до 100
+         * @return Верхняя граница корзины, в которую попал перцентиль (мкс)
+         */
+        public long percentileMicros(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(1, rank)) {
+                    return i < BOUNDS_US.length ? Math.min(BOUNDS_US[i], maxMicros) : maxMicros;
+                }
+            }
+            return maxMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%-28s n=%-7d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                    name, count, getMeanMicros() / 1000.0, percentileMicros(50) / 1000.0,
+                    percentileMicros(90) / 1000.0, percentileMicros(99) / 1000.0, maxMicros / 1000.0);
+        }
+    }
+}
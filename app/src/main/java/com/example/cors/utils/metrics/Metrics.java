@@ -0,0 +1,244 @@
+package com.example.cors.utils.metrics;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Реестр метрик горячих путей: счётчики и гистограммы задержек.
+ *
+ * Отвечает на вопрос "куда уходит время между инвалидацией Room и кадром":
+ *   DB_QUERY_QUEUE → DB_QUERY → MAPPER → ADAPTER_DIFF → ADAPTER_BIND
+ * и отдельно для изображений (GLIDE_LOAD), записей в БД (REPOSITORY_QUEUE, REPOSITORY_TASK)
+ * и сети (NET_*: фазы вызова, разбор, сохранение).
+ *
+ * Метрики создаются при первом обращении и живут до конца процесса.
+ * Запись не блокирует и не аллоцирует - реестр включён и в release.
+ * Снимок выводится в logcat (тег Metrics) или в файл: dumpToLogcat / dumpToFile.
+ * Из UI - dumpAsync: запись файла не в главном потоке.
+ */
+public final class Metrics {
+
+    private static final String TAG = "Metrics";
+
+    // Имена метрик горячих путей
+
+    /** Ожидание запроса Room в очереди executor */
+    public static final String DB_QUERY_QUEUE = "db.query.queue";
+    /** Выполнение запроса Room (SQL + чтение курсора в Entity) */
+    public static final String DB_QUERY = "db.query";
+    /** Маппинг Entity → Course в Repository */
+    public static final String MAPPER = "mapper.entity_to_domain";
+    /** DiffUtil в CourseAdapter.setCourses */
+    public static final String ADAPTER_DIFF = "adapter.diff";
+    /** onBindViewHolder (полная привязка строки) */
+    public static final String ADAPTER_BIND = "adapter.bind";
+    /** Загрузка превью Glide от запроса до готового Drawable */
+    public static final String GLIDE_LOAD = "glide.load";
+    /** Ожидание задачи записи в очереди executor Repository */
+    public static final String REPOSITORY_QUEUE = "repository.queue";
+    /** Выполнение задачи записи Repository */
+    public static final String REPOSITORY_TASK = "repository.task";
+
+    /** Превью из memory cache / с диска / из сети */
+    public static final String GLIDE_MEMORY = "glide.source.memory";
+    public static final String GLIDE_DISK = "glide.source.disk";
+    public static final String GLIDE_REMOTE = "glide.source.remote";
+    /** Ошибки загрузки превью */
+    public static final String GLIDE_FAILED = "glide.failed";
+
+    // Сеть (NetworkTimingListener): фазы вызова, разбор и сохранение ответа
+
+    /** Вызов целиком */
+    public static final String NET_CALL = "net.call";
+    /** DNS / TCP / TLS - только для новых соединений */
+    public static final String NET_DNS = "net.dns";
+    public static final String NET_CONNECT = "net.connect";
+    public static final String NET_TLS = "net.tls";
+    /** От отправки запроса до первого байта ответа */
+    public static final String NET_TTFB = "net.ttfb";
+    /** Чтение тела ответа */
+    public static final String NET_BODY = "net.body";
+    /** Разбор JSON в DTO (Retrofit converter) */
+    public static final String NET_PARSE = "net.parse";
+    /** Сохранение ответа в БД (DTO → Entity + запись пачки в транзакции) */
+    public static final String NET_PERSIST = "net.persist";
+    /** Байты отправленные/полученные (заголовки + тело) */
+    public static final String NET_BYTES_OUT = "net.bytes.out";
+    public static final String NET_BYTES_IN = "net.bytes.in";
+    /** Источник ответа: HTTP-кеш, 304 на условный запрос, полный ответ, ошибка */
+    public static final String NET_CACHE_HIT = "net.cache.hit";
+    public static final String NET_CACHE_CONDITIONAL = "net.cache.conditional";
+    public static final String NET_CACHE_MISS = "net.cache.miss";
+    public static final String NET_FAILED = "net.failed";
+
+    // Фоновая синхронизация каталога (CatalogSync)
+
+    /** Синхронизация целиком: запросы + запись всех пачек */
+    public static final String SYNC_RUN = "sync.run";
+    /** Курсы, записанные синхронизацией */
+    public static final String SYNC_COURSES = "sync.courses";
+
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = true;
+
+    /**
+     * Приватный конструктор - класс содержит только статические методы.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Момент начала операции для LatencyHistogram.recordSince.
+     */
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    public static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = HISTOGRAMS.get(name);
+        if (histogram == null) {
+            histogram = HISTOGRAMS.computeIfAbsent(name, LatencyHistogram::new);
+        }
+        return histogram;
+    }
+
+    public static Counter counter(String name) {
+        Counter counter = COUNTERS.get(name);
+        if (counter == null) {
+            counter = COUNTERS.computeIfAbsent(name, Counter::new);
+        }
+        return counter;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Включает/выключает запись гистограмм (например, для замера накладных расходов).
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Обнуляет все метрики (начало нового замера).
+     */
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS.values()) {
+            histogram.reset();
+        }
+        for (Counter counter : COUNTERS.values()) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * @return Текстовый снимок всех метрик, по одной на строку (по алфавиту)
+     */
+    public static String dump() {
+        StringBuilder builder = new StringBuilder();
+        for (LatencyHistogram histogram : new TreeMap<>(HISTOGRAMS).values()) {
+            builder.append(histogram.snapshot()).append('\n');
+        }
+        for (Counter counter : new TreeMap<>(COUNTERS).values()) {
+            builder.append(String.format(Locale.US, "%-28s %d%n", counter.getName(), counter.get()));
+        }
+        return builder.toString();
+    }
+
+    public static void dumpToLogcat() {
+        for (String line : dump().split("\n")) {
+            Log.i(TAG, line);
+        }
+    }
+
+    /**
+     * Результат dumpAsync - вызывается в главном потоке
+     */
+    public interface DumpCallback {
+
+        /**
+         * @param file Записанный файл или null, если записать не удалось
+         */
+        void onDumped(@Nullable File file);
+    }
+
+    /**
+     * Выводит снимок в logcat и записывает в файл в фоновом потоке,
+     * результат передаёт в главный поток.
+     *
+     * @param context Context (используется контекст приложения)
+     * @param callback Получатель результата
+     */
+    public static void dumpAsync(Context context, DumpCallback callback) {
+        Context appContext = context.getApplicationContext();
+        DumpExecutor.EXECUTOR.execute(() -> {
+            dumpToLogcat();
+            File file;
+            try {
+                file = dumpToFile(appContext);
+            } catch (IOException e) {
+                Log.w(TAG, "Не удалось сохранить метрики", e);
+                file = null;
+            }
+            File result = file;
+            new Handler(Looper.getMainLooper()).post(() -> callback.onDumped(result));
+        });
+    }
+
+    /**
+     * Записывает снимок в files/metrics/metrics-<время>.txt.
+     * Выполняет файловый ввод-вывод - не из главного потока (см. dumpAsync).
+     *
+     * @param context Context приложения
+     * @return Записанный файл
+     * @throws IOException Ошибка записи
+     */
+    public static File dumpToFile(Context context) throws IOException {
+        File dir = new File(context.getFilesDir(), "metrics");
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Не удалось создать " + dir);
+        }
+        String time = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(dir, "metrics-" + time + ".txt");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(dump());
+        }
+        return file;
+    }
+
+    /**
+     * Поток выгрузки снимков - создаётся при первой выгрузке, а не вместе с реестром
+     */
+    private static final class DumpExecutor {
+
+        static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
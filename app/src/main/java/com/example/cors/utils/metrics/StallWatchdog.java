@@ -0,0 +1,287 @@
+package com.example.cors.utils.metrics;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.StrictMode;
+import android.os.SystemClock;
+import android.os.strictmode.Violation;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Сторож главного потока: находит зависания дольше порога и снимает стек,
+ * пока поток висит. Плюс StrictMode для обращений к диску и БД из главного потока.
+ *
+ * Как работает: поток stall-watchdog раз в TICK_MS ставит в главный Looper метку
+ * и ждёт её выполнения. Если метка не выполнена за thresholdMs - поток завис,
+ * и до конца зависания стек главного потока снимается каждые TICK_MS.
+ * Когда метка выполнилась, зависание записывается с длительностью.
+ *
+ * Отчёты дедуплицируются по сигнатуре - верхним кадрам самого частого стека без кадров
+ * платформы (android., java., ...): иначе одно место в коде приложения, застрявшее в разных
+ * вызовах SQLite или Binder, давало бы разные записи. Одно и то же место
+ * (например, DiffUtil в CourseAdapter.setCourses) даёт одну запись
+ * со счётчиком, суммарным и максимальным временем. Отчёт перезаписывается
+ * в files/metrics/stalls.txt после каждого зависания.
+ *
+ * Включается только в debug или явно (BuildConfig.STALL_WATCHDOG, см. build.gradle):
+ * снятие стека главного потока - не бесплатная операция.
+ */
+public final class StallWatchdog {
+
+    private static final String TAG = "StallWatchdog";
+
+    /**
+     * Порог зависания по умолчанию (мс) - заметная пользователю задержка ввода
+     */
+    public static final long DEFAULT_THRESHOLD_MS = 200;
+
+    /**
+     * Период проверки и снятия стека (мс)
+     */
+    static final long TICK_MS = 50;
+
+    /**
+     * Сколько верхних кадров (без кадров платформы) образуют сигнатуру зависания
+     */
+    static final int SIGNATURE_FRAMES = 12;
+
+    /**
+     * Пакеты платформы - их кадры не входят в сигнатуру
+     */
+    private static final String[] FRAMEWORK_PREFIXES = {
+            "android.", "java.", "javax.", "libcore.", "dalvik.", "com.android.", "sun.", "jdk."
+    };
+
+    /**
+     * Сколько кадров стека сохранять в отчёте
+     */
+    static final int REPORT_FRAMES = 40;
+
+    static final String REPORT_FILE = "stalls.txt";
+
+    private static StallWatchdog instance;
+
+    private final File reportFile;
+
+    private final long thresholdMs;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final Thread mainThread = Looper.getMainLooper().getThread();
+
+    /**
+     * Момент постановки метки в главный Looper, 0 - метка выполнена
+     */
+    private volatile long heartbeatPostedAt;
+
+    private final Runnable heartbeat = () -> heartbeatPostedAt = 0;
+
+    /**
+     * Записи по сигнатуре (доступ под synchronized(reports): пишут watchdog и StrictMode)
+     */
+    private final Map<String, StallRecord> reports = new HashMap<>();
+
+    private StallWatchdog(Context context, long thresholdMs) {
+        this.reportFile = new File(new File(context.getFilesDir(), "metrics"), REPORT_FILE);
+        this.thresholdMs = thresholdMs;
+    }
+
+    /**
+     * Запускает сторож и StrictMode главного потока. Повторные вызовы игнорируются.
+     * Вызывать из главного потока (Application.onCreate).
+     *
+     * @param context Context приложения
+     * @param thresholdMs Порог зависания в мс
+     */
+    public static synchronized void install(Context context, long thresholdMs) {
+        if (instance != null) {
+            return;
+        }
+        instance = new StallWatchdog(context.getApplicationContext(), thresholdMs);
+        instance.enableStrictMode();
+        Thread thread = new Thread(instance::watch, "stall-watchdog");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        Log.i(TAG, "Сторож главного потока включён, порог " + thresholdMs + " мс");
+    }
+
+    /**
+     * StrictMode: чтение/запись диска (сюда же попадают запросы Room и SharedPreferences)
+     * и медленные вызовы в главном потоке, утечки курсоров и Closeable.
+     * С Android 9 нарушения попадают и в отчёт сторожа (тоже с дедупликацией).
+     */
+    private void enableStrictMode() {
+        StrictMode.ThreadPolicy.Builder threadPolicy = new StrictMode.ThreadPolicy.Builder()
+                .detectDiskReads()
+                .detectDiskWrites()
+                .detectCustomSlowCalls()
+                .penaltyLog();
+        StrictMode.VmPolicy.Builder vmPolicy = new StrictMode.VmPolicy.Builder()
+                .detectLeakedSqlLiteObjects()
+                .detectLeakedClosableObjects()
+                .penaltyLog();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            threadPolicy.penaltyListener(Executors.newSingleThreadExecutor(), this::onViolation);
+        }
+        StrictMode.setThreadPolicy(threadPolicy.build());
+        StrictMode.setVmPolicy(vmPolicy.build());
+    }
+
+    private void watch() {
+        List<StackTraceElement[]> samples = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            long postedAt = SystemClock.uptimeMillis();
+            heartbeatPostedAt = postedAt;
+            mainHandler.post(heartbeat);
+
+            // Ждём метку; после порога - снимаем стек, пока главный поток не освободится
+            samples.clear();
+            while (heartbeatPostedAt != 0) {
+                SystemClock.sleep(TICK_MS);
+                if (heartbeatPostedAt != 0 && SystemClock.uptimeMillis() - postedAt >= thresholdMs) {
+                    samples.add(mainThread.getStackTrace());
+                }
+            }
+            long duration = SystemClock.uptimeMillis() - postedAt;
+            if (!samples.isEmpty()) {
+                record("stall", mostFrequent(samples), duration);
+            }
+            SystemClock.sleep(TICK_MS);
+        }
+    }
+
+    private void onViolation(Violation violation) {
+        record("strictmode " + violation.getClass().getSimpleName(), violation.getStackTrace(), 0);
+    }
+
+    private void record(String kind, StackTraceElement[] stack, long durationMs) {
+        String signature = kind + "\n" + signature(stack);
+        synchronized (reports) {
+            StallRecord record = reports.get(signature);
+            if (record == null) {
+                record = new StallRecord(kind, frames(stack, REPORT_FRAMES));
+                reports.put(signature, record);
+            }
+            record.count++;
+            record.totalMs += durationMs;
+            record.maxMs = Math.max(record.maxMs, durationMs);
+            if (record.count == 1) {
+                Log.w(TAG, kind + " " + durationMs + " мс\n" + record.stack);
+            }
+            // Запись под той же блокировкой - отчёты watchdog и StrictMode не перемешаются
+            write(report());
+        }
+    }
+
+    /**
+     * Стек, который встречался чаще всего за время зависания - место, где поток провёл больше времени.
+     */
+    private static StackTraceElement[] mostFrequent(List<StackTraceElement[]> samples) {
+        Map<String, Integer> counts = new HashMap<>();
+        StackTraceElement[] best = samples.get(0);
+        int bestCount = 0;
+        for (StackTraceElement[] sample : samples) {
+            String key = signature(sample);
+            Integer previous = counts.get(key);
+            int count = previous == null ? 1 : previous + 1;
+            counts.put(key, count);
+            if (count > bestCount) {
+                bestCount = count;
+                best = sample;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Сигнатура стека: верхние SIGNATURE_FRAMES кадров, не считая кадров платформы.
+     * Если в стеке только платформа (например, ожидание в Looper) - верхние кадры как есть.
+     */
+    static String signature(StackTraceElement[] stack) {
+        StringBuilder builder = new StringBuilder();
+        int count = 0;
+        for (int i = 0; i < stack.length && count < SIGNATURE_FRAMES; i++) {
+            if (isFramework(stack[i].getClassName())) {
+                continue;
+            }
+            builder.append("    at ").append(stack[i]).append('\n');
+            count++;
+        }
+        return count > 0 ? builder.toString() : frames(stack, SIGNATURE_FRAMES);
+    }
+
+    private static boolean isFramework(String className) {
+        for (String prefix : FRAMEWORK_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String frames(StackTraceElement[] stack, int limit) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < Math.min(limit, stack.length); i++) {
+            builder.append("    at ").append(stack[i]).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Отчёт по всем сигнатурам, самые дорогие - первыми.
+     */
+    private String report() {
+        List<StallRecord> records = new ArrayList<>(reports.values());
+        Collections.sort(records, (a, b) -> Long.compare(b.totalMs, a.totalMs));
+        StringBuilder builder = new StringBuilder();
+        for (StallRecord record : records) {
+            builder.append(String.format(Locale.US, "== %s count=%d total=%dms max=%dms%n",
+                    record.kind, record.count, record.totalMs, record.maxMs));
+            builder.append(record.stack).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private void write(String text) {
+        File dir = reportFile.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            Log.w(TAG, "Не удалось создать " + dir);
+            return;
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(reportFile), StandardCharsets.UTF_8)) {
+            writer.write(text);
+        } catch (IOException e) {
+            Log.w(TAG, "Не удалось записать " + reportFile, e);
+        }
+    }
+
+    private static final class StallRecord {
+        final String kind;
+        final String stack;
+        int count;
+        long totalMs;
+        long maxMs;
+
+        StallRecord(String kind, String stack) {
+            this.kind = kind;
+            this.stack = stack;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.cors.utils.metrics;
+
+import androidx.tracing.Trace;
+
+import com.example.cors.BuildConfig;
+
+/**
+ * Секции системного трейса (Perfetto / systrace) для пути данных и UI.
+ *
+ * Каждый вызов в коде обёрнут в проверку константы:
+ *
+ *     if (Tracing.ENABLED) Tracing.begin("CourseAdapter.bind");
+ *     try { ... } finally { if (Tracing.ENABLED) Tracing.end(); }
+ *
+ * ENABLED - compile-time константа (BuildConfig.TRACING), поэтому при выключенном
+ * трейсинге javac выбрасывает и проверку, и вызов: в горячих путях не остаётся ничего.
+ * Включено в debug; в release - по -Ptracing (profileable-сборка для замеров).
+ *
+ * Запросы Room именуются текстом SQL: QueryCallback (см. AppDatabase) открывает секцию
+ * перед каждым запросом, InstrumentedExecutor закрывает её в конце задачи.
+ * Задачи InstrumentedExecutor сами являются секциями (db.query, repository.task).
+ */
+public final class Tracing {
+
+    public static final boolean ENABLED = BuildConfig.TRACING;
+
+    /**
+     * Длина SQL в имени секции (лимит имени секции - 127 символов)
+     */
+    private static final int SQL_NAME_LENGTH = 100;
+
+    /**
+     * Состояние задачи InstrumentedExecutor в текущем потоке: null - вне задачи,
+     * FALSE - в задаче, TRUE - в задаче открыта секция SQL
+     */
+    private static final ThreadLocal<Boolean> SQL_SECTION_OPEN = new ThreadLocal<>();
+
+    private Tracing() {
+    }
+
+    public static void begin(String name) {
+        Trace.beginSection(name);
+    }
+
+    public static void end() {
+        Trace.endSection();
+    }
+
+    /**
+     * Асинхронная секция: может начаться и закончиться в разных потоках и кадрах
+     * (например, от нажатия клавиши в поиске до привязки результатов).
+     *
+     * @param name Имя секции
+     * @param cookie Идентификатор экземпляра - тот же передаётся в endAsync
+     */
+    public static void beginAsync(String name, int cookie) {
+        Trace.beginAsyncSection(name, cookie);
+    }
+
+    public static void endAsync(String name, int cookie) {
+        Trace.endAsyncSection(name, cookie);
+    }
+
+    /**
+     * Секция задачи executor: внутри неё запросы Room получают свои секции SQL.
+     */
+    static void beginTask(String name) {
+        Trace.beginSection(name);
+        SQL_SECTION_OPEN.set(Boolean.FALSE);
+    }
+
+    static void endTask() {
+        if (SQL_SECTION_OPEN.get() == Boolean.TRUE) {
+            Trace.endSection();
+        }
+        SQL_SECTION_OPEN.remove();
+        Trace.endSection();
+    }
+
+    /**
+     * Room QueryCallback: каждый запрос - секция с текстом SQL до следующего запроса
+     * или до конца задачи. Вне задач InstrumentedExecutor (закрыть секцию было бы некому)
+     * запрос не размечается - его покрывает секция вызывающего кода.
+     * Выполнять синхронно (executor Runnable::run), иначе секция окажется не в том потоке.
+     */
+    public static void onRoomQuery(String sql) {
+        Boolean open = SQL_SECTION_OPEN.get();
+        if (open == null) {
+            return;
+        }
+        if (open) {
+            Trace.endSection();
+        }
+        String name = sql.length() > SQL_NAME_LENGTH ? sql.substring(0, SQL_NAME_LENGTH) : sql;
+        Trace.beginSection("SQL " + name.trim());
+        SQL_SECTION_OPEN.set(Boolean.TRUE);
+    }
+}
@@ -5,6 +5,7 @@ import android.app.Application;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 
 import com.example.cors.data.repository.CourseRepository;
 import com.example.cors.domain.model.Course;
@@ -47,7 +48,17 @@ public class CourseDetailViewModel extends AndroidViewModel {
         
         // Получаем LiveData с курсом из Repository
         // Room автоматически обновит данные при любых изменениях в БД
-        courseLiveData = repository.getCourseById(courseId);
+        LiveData<Course> source = repository.getCourseById(courseId);
+        
+        // Строка предзагружена списком - отдаём её сразу, Room подтвердит позже
+        Course cached = repository.getCachedCourseDetail(courseId);
+        if (cached == null) {
+            courseLiveData = source;
+            return;
+        }
+        MediatorLiveData<Course> mediator = new MediatorLiveData<>(cached);
+        mediator.addSource(source, mediator::setValue);
+        courseLiveData = mediator;
     }
     
     /**
@@ -58,6 +69,13 @@ public class CourseDetailViewModel extends AndroidViewModel {
         repository.updateFavoriteStatus(currentCourseId, isFavorite);
     }
     
+    /**
+     * Отмечает открытие избранного курса (его изображения остаются доступны offline).
+     */
+    public void onFavoriteCourseOpened() {
+        repository.touchOfflineImages(currentCourseId);
+    }
+    
     /**
      * Сохраняет комментарий и оценку пользователя.
      * Вызывается когда пользователь нажимает кнопку "Сохранить" после ввода комментария.
@@ -12,6 +12,7 @@ import androidx.lifecycle.Transformations;
 import com.example.cors.data.Resource;
 import com.example.cors.data.repository.CourseRepository;
 import com.example.cors.domain.model.Course;
+import com.example.cors.utils.metrics.Tracing;
 
 import java.util.List;
 
@@ -76,6 +77,9 @@ public class CoursesViewModel extends AndroidViewModel {
         
         // Загружаем все курсы при создании ViewModel
         loadAllCourses();
+        
+        // Каталог давно не синхронизировался - обновляем в фоне (без сети - при подключении)
+        repository.refreshIfStale();
     }
     
     /**
@@ -153,16 +157,21 @@ public class CoursesViewModel extends AndroidViewModel {
         
         // Подписываемся на новый источник
         coursesLiveData.addSource(newSource, courses -> {
-            // Когда приходят данные из Room - оборачиваем в Resource
-            if (courses != null && !courses.isEmpty()) {
-                // Успех - данные загружены
-                coursesLiveData.setValue(Resource.success(courses));
-            } else if (courses != null && courses.isEmpty()) {
-                // Пустой список - показываем Empty State
-                coursesLiveData.setValue(Resource.success(courses));
-            } else {
-                // null обычно не приходит из Room, но на всякий случай
-                coursesLiveData.setValue(Resource.error("Ошибка загрузки данных", null));
+            if (Tracing.ENABLED) Tracing.begin("CoursesViewModel.emit");
+            try {
+                // Когда приходят данные из Room - оборачиваем в Resource
+                if (courses != null && !courses.isEmpty()) {
+                    // Успех - данные загружены
+                    coursesLiveData.setValue(Resource.success(courses));
+                } else if (courses != null && courses.isEmpty()) {
+                    // Пустой список - показываем Empty State
+                    coursesLiveData.setValue(Resource.success(courses));
+                } else {
+                    // null обычно не приходит из Room, но на всякий случай
+                    coursesLiveData.setValue(Resource.error("Ошибка загрузки данных", null));
+                }
+            } finally {
+                if (Tracing.ENABLED) Tracing.end();
             }
         });
     }
@@ -204,6 +213,13 @@ public class CoursesViewModel extends AndroidViewModel {
                     // Есть старые данные - показываем их + индикатор обновления
                     coursesLiveData.setValue(Resource.loading(currentResource.getData()));
                 }
+            } else {
+                // Синхронизация закончилась без изменений - Room список не переиздаст
+                Resource<List<Course>> currentResource = coursesLiveData.getValue();
+                if (currentResource != null && currentResource.getData() != null
+                        && currentResource.getStatus() == Resource.Status.LOADING) {
+                    coursesLiveData.setValue(Resource.success(currentResource.getData()));
+                }
             }
         });
     }
@@ -216,6 +232,22 @@ public class CoursesViewModel extends AndroidViewModel {
         repository.updateFavoriteStatus(course.getId(), newFavoriteStatus);
     }
     
+    /**
+     * Предзагружает полные строки видимых курсов в кеш экрана деталей.
+     * 
+     * @param courseIds ID курсов, видимых после остановки списка
+     */
+    public void prefetchCourseDetails(List<Integer> courseIds) {
+        repository.prefetchCourseDetails(courseIds);
+    }
+    
+    /**
+     * Отменяет предзагрузку деталей (начался fling).
+     */
+    public void cancelCourseDetailPrefetch() {
+        repository.cancelCourseDetailPrefetch();
+    }
+    
     // Геттеры для LiveData - Activity подписывается на эти поля
     
 
@@ -237,6 +269,13 @@ public class CoursesViewModel extends AndroidViewModel {
         return selectedLevelLiveData;
     }
     
+    /**
+     * @return LiveData со временем последней синхронизации каталога (мс, 0 - не было)
+     */
+    public LiveData<Long> getLastSyncedAt() {
+        return repository.getLastSyncedAt();
+    }
+    
     /**
      * Очистка ресурсов при уничтожении ViewModel.
      * Вызывается системой когда ViewModel больше не нужна
@@ -0,0 +1,188 @@
+package com.example.cors.worker;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.cors.data.local.database.AppDatabase;
+import com.example.cors.data.remote.api.RetrofitClient;
+import com.example.cors.data.repository.CatalogSync;
+import com.example.cors.data.repository.CatalogSyncState;
+import com.example.cors.utils.ConnectivityMonitor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.HttpException;
+
+/**
+ * Фоновая синхронизация каталога (CatalogSync) - вместо запроса к API при открытии
+ * списка, когда пользователь ждёт на экране.
+ *
+ * Периодически (раз в SYNC_INTERVAL_HOURS) на безлимитной сети, при зарядке и
+ * в простое устройства (KEY_PERIODIC). Для задач с условием простоя WorkManager
+ * не разрешает backoff, поэтому временная ошибка ставит отдельную разовую задачу
+ * повтора: безлимитная сеть и зарядка, экспоненциальный backoff,
+ * не больше MAX_RETRY_ATTEMPTS попыток. Дальше - следующий периодический запуск.
+ *
+ * Разовая синхронизация по запросу (syncNow - каталог устарел) идёт при любой сети.
+ * В лимитной сети она загружает только изменения: полная загрузка каталога
+ * ждёт периодической синхронизации на безлимитной сети.
+ *
+ * В демо-режиме (API - заглушка, см. RetrofitClient.isSyncEnabled) не планируется.
+ */
+public class CatalogSyncWorker extends Worker {
+
+    private static final String TAG = "CatalogSyncWorker";
+
+    /**
+     * Периодическая задача (нет ключа - разовая: повтор или синхронизация по запросу)
+     */
+    public static final String KEY_PERIODIC = "periodic";
+
+    /**
+     * Сообщение об ошибке в выходных данных неудачной синхронизации (Result.failure)
+     */
+    public static final String KEY_ERROR = "error";
+
+    private static final String UNIQUE_PERIODIC_WORK = "catalog-sync-periodic";
+    private static final String UNIQUE_RETRY_WORK = "catalog-sync-retry";
+    private static final String UNIQUE_NOW_WORK = "catalog-sync-now";
+
+    private static final long SYNC_INTERVAL_HOURS = 6;
+
+    private static final long RETRY_BACKOFF_SECONDS = 60;
+
+    private static final int MAX_RETRY_ATTEMPTS = 5;
+
+    public CatalogSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Планирует периодическую синхронизацию. Повторный вызов не перезапускает расписание.
+     * Если синхронизация выключена - отменяет ранее запланированную.
+     *
+     * @param context Context
+     */
+    public static void schedulePeriodic(Context context) {
+        WorkManager workManager = WorkManager.getInstance(context);
+        if (!RetrofitClient.isSyncEnabled()) {
+            workManager.cancelUniqueWork(UNIQUE_PERIODIC_WORK);
+            workManager.cancelUniqueWork(UNIQUE_RETRY_WORK);
+            workManager.cancelUniqueWork(UNIQUE_NOW_WORK);
+            return;
+        }
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                CatalogSyncWorker.class, SYNC_INTERVAL_HOURS, TimeUnit.HOURS)
+                .setInputData(new Data.Builder().putBoolean(KEY_PERIODIC, true).build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.UNMETERED)
+                        .setRequiresCharging(true)
+                        .setRequiresDeviceIdle(true)
+                        .build())
+                .build();
+        workManager.enqueueUniquePeriodicWork(UNIQUE_PERIODIC_WORK, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Ставит разовую синхронизацию при любой сети (каталог устарел).
+     * Уже стоящая в очереди не дублируется.
+     *
+     * @param context Context
+     */
+    public static void syncNow(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(CatalogSyncWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, RETRY_BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_NOW_WORK, ExistingWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Состояние разовой синхронизации по запросу (syncNow) - для индикатора загрузки
+     * и сообщения об ошибке на экране списка. Периодическая задача и её повторы
+     * идут в фоне и пользователю не показываются.
+     *
+     * @param context Context
+     * @return LiveData с WorkInfo задач UNIQUE_NOW_WORK
+     */
+    public static LiveData<List<WorkInfo>> syncNowInfo(Context context) {
+        return WorkManager.getInstance(context).getWorkInfosForUniqueWorkLiveData(UNIQUE_NOW_WORK);
+    }
+
+    private static void enqueueRetry(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(CatalogSyncWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.UNMETERED)
+                        .setRequiresCharging(true)
+                        .build())
+                .setInitialDelay(RETRY_BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, RETRY_BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_RETRY_WORK, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        CatalogSyncState state = new CatalogSyncState(context);
+        if (state.cursor() == CatalogSyncState.NO_CURSOR
+                && ConnectivityMonitor.getInstance(context).isMetered()) {
+            // Каталог целиком - сотни КБ - не качаем по лимитной сети
+            Log.i(TAG, "Лимитная сеть: полная загрузка каталога отложена до безлимитной");
+            return Result.success();
+        }
+        CatalogSync sync = new CatalogSync(AppDatabase.getInstance(context),
+                RetrofitClient.getApiService(context), state);
+        try {
+            sync.sync();
+            return Result.success();
+        } catch (IOException e) {
+            Log.w(TAG, "Ошибка сети при синхронизации", e);
+            return retryLater("Ошибка сети: " + e.getMessage());
+        } catch (HttpException e) {
+            // 5xx и 429 - временные, остальное повтор не исправит
+            if (e.code() >= 500 || e.code() == 429) {
+                Log.w(TAG, "Сервер временно недоступен: " + e.code());
+                return retryLater("Ошибка сервера: " + e.code());
+            }
+            Log.e(TAG, "Ошибка сервера при синхронизации: " + e.code());
+            return failure("Ошибка сервера: " + e.code());
+        }
+    }
+
+    private Result retryLater(String error) {
+        if (getInputData().getBoolean(KEY_PERIODIC, false)) {
+            // Периодическая задача (условие простоя): повтор - отдельной задачей с backoff
+            enqueueRetry(getApplicationContext());
+            return Result.success();
+        }
+        if (getRunAttemptCount() + 1 >= MAX_RETRY_ATTEMPTS) {
+            return failure(error);
+        }
+        return Result.retry();
+    }
+
+    private static Result failure(String error) {
+        return Result.failure(new Data.Builder().putString(KEY_ERROR, error).build());
+    }
+}
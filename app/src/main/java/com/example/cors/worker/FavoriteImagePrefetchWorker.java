@@ -0,0 +1,187 @@
+package com.example.cors.worker;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.cors.data.local.dao.CourseDao;
+import com.example.cors.data.local.database.AppDatabase;
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.utils.GlideHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Фоновая задача: скачивает превью и header избранных курсов в disk cache Glide,
+ * чтобы экран "Избранное" показывал все изображения без сети.
+ *
+ * Два режима:
+ * 1. Один курс (KEY_COURSE_ID) - сразу после добавления в избранное, при любой сети
+ * 2. Весь набор - периодически, только на безлимитной сети и при зарядке.
+ *    Обновляет файлы (поднимает их в LRU disk cache Glide) и докачивает недостающие
+ *
+ * Набор ограничен OfflineImageBudget (бюджет рекомендательный): при превышении
+ * давно не использованные курсы выводятся из набора и больше не обновляются.
+ */
+public class FavoriteImagePrefetchWorker extends Worker {
+
+    private static final String TAG = "FavoriteImagePrefetch";
+
+    /**
+     * ID курса для режима "один курс" (нет ключа - весь набор)
+     */
+    public static final String KEY_COURSE_ID = "course_id";
+
+    private static final String UNIQUE_PERIODIC_WORK = "favorite-images-periodic";
+    private static final String UNIQUE_COURSE_WORK_PREFIX = "favorite-images-";
+
+    /**
+     * Оценка размера изображений курса, если он ещё не скачивался
+     */
+    private static final long ESTIMATED_COURSE_BYTES = 150L * 1024L;
+
+    public FavoriteImagePrefetchWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Ставит в очередь скачивание изображений одного курса (после добавления в избранное).
+     *
+     * @param context Context
+     * @param courseId ID курса
+     */
+    public static void enqueueForCourse(Context context, int courseId) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(FavoriteImagePrefetchWorker.class)
+                .setInputData(new Data.Builder().putInt(KEY_COURSE_ID, courseId).build())
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(
+                UNIQUE_COURSE_WORK_PREFIX + courseId, ExistingWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Планирует периодическое обновление всего набора (раз в сутки,
+     * безлимитная сеть + зарядка). Повторный вызов не перезапускает расписание.
+     *
+     * @param context Context
+     */
+    public static void schedulePeriodic(Context context) {
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                FavoriteImagePrefetchWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.UNMETERED)
+                        .setRequiresCharging(true)
+                        .build())
+                .build();
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                UNIQUE_PERIODIC_WORK, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        CourseDao courseDao = AppDatabase.getInstance(getApplicationContext()).courseDao();
+        OfflineImageBudget budget = new OfflineImageBudget(getApplicationContext());
+
+        int courseId = getInputData().getInt(KEY_COURSE_ID, -1);
+        if (courseId != -1) {
+            return prefetchCourse(courseDao.getCourseByIdSync(courseId), budget);
+        }
+        return prefetchAll(courseDao.getFavoriteCoursesSync(), budget);
+    }
+
+    private Result prefetchCourse(CourseEntity course, OfflineImageBudget budget) {
+        if (course == null || !course.isFavorite()) {
+            return Result.success();
+        }
+        budget.touch(course.getId());
+        try {
+            budget.record(course.getId(), GlideHelper.downloadForOffline(getApplicationContext(), course.getImageUrl()));
+        } catch (ExecutionException | TimeoutException e) {
+            Log.w(TAG, "Не удалось скачать изображения курса " + course.getId(), e);
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+        List<Integer> released = budget.releaseOverBudget();
+        if (!released.isEmpty()) {
+            Log.i(TAG, "Бюджет превышен, курсы больше не обновляются для offline: " + released);
+        }
+        return Result.success();
+    }
+
+    private Result prefetchAll(List<CourseEntity> favorites, OfflineImageBudget budget) {
+        // Курсы, удалённые из избранного, больше не держим в наборе
+        Set<Integer> favoriteIds = new HashSet<>();
+        for (CourseEntity course : favorites) {
+            favoriteIds.add(course.getId());
+        }
+        for (int courseId : budget.courseIds()) {
+            if (!favoriteIds.contains(courseId)) {
+                budget.remove(courseId);
+            }
+        }
+
+        // Сначала недавно использованные - они останутся в бюджете
+        Map<Integer, Long> lastUsed = new HashMap<>();
+        for (CourseEntity course : favorites) {
+            lastUsed.put(course.getId(), budget.lastUsed(course.getId()));
+        }
+        List<CourseEntity> ordered = new ArrayList<>(favorites);
+        Collections.sort(ordered, (a, b) -> Long.compare(lastUsed.get(b.getId()), lastUsed.get(a.getId())));
+
+        long total = 0;
+        int downloaded = 0;
+        int failed = 0;
+        for (CourseEntity course : ordered) {
+            if (isStopped()) {
+                return Result.retry();
+            }
+            long known = budget.bytes(course.getId());
+            long expected = known > 0 ? known : ESTIMATED_COURSE_BYTES;
+            if (total + expected > OfflineImageBudget.BUDGET_BYTES) {
+                budget.remove(course.getId());
+                continue;
+            }
+            try {
+                long bytes = GlideHelper.downloadForOffline(getApplicationContext(), course.getImageUrl());
+                budget.record(course.getId(), bytes);
+                total += bytes;
+                downloaded++;
+            } catch (ExecutionException | TimeoutException e) {
+                Log.w(TAG, "Не удалось скачать изображения курса " + course.getId(), e);
+                total += known;
+                failed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Result.retry();
+            }
+        }
+        Log.i(TAG, "Offline-изображения: курсов " + downloaded + ", ошибок " + failed
+                + ", объём " + total / 1024 + " КБ из " + OfflineImageBudget.BUDGET_BYTES / 1024 + " КБ");
+        return Result.success();
+    }
+}
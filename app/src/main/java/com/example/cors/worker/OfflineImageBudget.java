@@ -0,0 +1,179 @@
+package com.example.cors.worker;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Учёт изображений избранных курсов, сохранённых для offline.
+ *
+ * Для каждого курса хранится:
+ * - сколько байт занимают его превью и header в disk cache Glide
+ * - когда курс последний раз использовался (добавлен в избранное или открыт)
+ *
+ * Бюджет BUDGET_BYTES - рекомендательный: он ограничивает, какие курсы фоновая задача
+ * скачивает и держит свежими, а не место на диске. Файлы лежат в общем disk cache Glide
+ * (размер - CorsGlideModule), отдельно их удалить нельзя. Если бюджет превышен, из набора
+ * выводятся курсы, которые дольше всех не использовались (LRU): их файлы больше
+ * не обновляются и со временем вытесняются собственным LRU disk cache Glide.
+ *
+ * Хранится в SharedPreferences "offline_images". Операции над всем набором
+ * (totalBytes, courseIds, releaseOverBudget) читают prefs.getAll() один раз за проход.
+ */
+public class OfflineImageBudget {
+
+    /**
+     * Бюджет на изображения избранного (~300 курсов по превью + header)
+     */
+    public static final long BUDGET_BYTES = 50L * 1024L * 1024L;
+
+    private static final String PREFS_NAME = "offline_images";
+    private static final String KEY_BYTES_PREFIX = "bytes_";
+    private static final String KEY_USED_PREFIX = "used_";
+
+    private final SharedPreferences prefs;
+
+    public OfflineImageBudget(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Отмечает использование курса (поднимает его в LRU).
+     *
+     * @param courseId ID курса
+     */
+    public void touch(int courseId) {
+        prefs.edit().putLong(KEY_USED_PREFIX + courseId, System.currentTimeMillis()).apply();
+    }
+
+    /**
+     * @param courseId ID курса
+     * @return Время последнего использования (0 - не использовался)
+     */
+    public long lastUsed(int courseId) {
+        return prefs.getLong(KEY_USED_PREFIX + courseId, 0);
+    }
+
+    /**
+     * @param courseId ID курса
+     * @return Сколько байт занимают изображения курса (0 - ещё не скачаны)
+     */
+    public long bytes(int courseId) {
+        return prefs.getLong(KEY_BYTES_PREFIX + courseId, 0);
+    }
+
+    /**
+     * Записывает размер скачанных изображений курса.
+     *
+     * @param courseId ID курса
+     * @param bytes Размер в байтах
+     */
+    public void record(int courseId, long bytes) {
+        SharedPreferences.Editor editor = prefs.edit().putLong(KEY_BYTES_PREFIX + courseId, bytes);
+        if (!prefs.contains(KEY_USED_PREFIX + courseId)) {
+            editor.putLong(KEY_USED_PREFIX + courseId, System.currentTimeMillis());
+        }
+        editor.apply();
+    }
+
+    /**
+     * Удаляет курс из набора offline-изображений.
+     *
+     * @param courseId ID курса
+     */
+    public void remove(int courseId) {
+        prefs.edit()
+                .remove(KEY_BYTES_PREFIX + courseId)
+                .remove(KEY_USED_PREFIX + courseId)
+                .apply();
+    }
+
+    /**
+     * @return Суммарный размер учтённых изображений
+     */
+    public long totalBytes() {
+        long total = 0;
+        for (Entry entry : snapshot()) {
+            total += entry.bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Выводит из набора давно не использованные курсы, пока учтённый объём больше бюджета.
+     * Файлы остаются в disk cache Glide - курсы только перестают обновляться фоновой задачей.
+     *
+     * @return ID выведенных из набора курсов
+     */
+    public List<Integer> releaseOverBudget() {
+        List<Entry> entries = snapshot();
+        // Сначала самые давно использованные
+        Collections.sort(entries, (a, b) -> Long.compare(a.lastUsed, b.lastUsed));
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.bytes;
+        }
+        List<Integer> released = new ArrayList<>();
+        SharedPreferences.Editor editor = prefs.edit();
+        for (Entry entry : entries) {
+            if (total <= BUDGET_BYTES) {
+                break;
+            }
+            total -= entry.bytes;
+            editor.remove(KEY_BYTES_PREFIX + entry.courseId).remove(KEY_USED_PREFIX + entry.courseId);
+            released.add(entry.courseId);
+        }
+        if (!released.isEmpty()) {
+            editor.apply();
+        }
+        return released;
+    }
+
+    /**
+     * @return ID курсов, для которых записан размер изображений
+     */
+    public List<Integer> courseIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (Entry entry : snapshot()) {
+            ids.add(entry.courseId);
+        }
+        return ids;
+    }
+
+    /**
+     * Один проход по prefs.getAll(): учтённые курсы с размером и временем использования.
+     */
+    private List<Entry> snapshot() {
+        Map<String, ?> all = prefs.getAll();
+        List<Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, ?> entry : all.entrySet()) {
+            if (entry.getKey().startsWith(KEY_BYTES_PREFIX)) {
+                String courseId = entry.getKey().substring(KEY_BYTES_PREFIX.length());
+                Object used = all.get(KEY_USED_PREFIX + courseId);
+                entries.add(new Entry(Integer.parseInt(courseId), (Long) entry.getValue(),
+                        used instanceof Long ? (Long) used : 0));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Запись набора из снимка SharedPreferences.
+     */
+    private static final class Entry {
+
+        final int courseId;
+        final long bytes;
+        final long lastUsed;
+
+        Entry(int courseId, long bytes, long lastUsed) {
+            this.courseId = courseId;
+            this.bytes = bytes;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.cors.data.remote.api;
+
+/**
+ * Адрес backend для release-сборки: всегда настоящий сервер.
+ * Фейковый backend есть только в debug (src/debug, та же точка входа).
+ */
+final class BackendConfig {
+
+    private BackendConfig() {
+    }
+
+    /**
+     * @param defaultUrl Адрес настоящего API
+     * @return Базовый URL для Retrofit
+     */
+    static String baseUrl(String defaultUrl) {
+        return defaultUrl;
+    }
+
+    /**
+     * Синхронизация с сервером. В демо-режиме API - заглушка, запросы не делаются.
+     */
+    static boolean isSyncEnabled() {
+        return false;
+    }
+}
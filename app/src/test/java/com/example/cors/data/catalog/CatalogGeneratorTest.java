@@ -0,0 +1,79 @@
+package com.example.cors.data.catalog;
+
+import com.example.cors.data.local.entity.CourseEntity;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Проверяет детерминированность и распределения CatalogGenerator.
+ */
+public class CatalogGeneratorTest {
+
+    private static final int COUNT = 20_000;
+
+    @Test
+    public void sameSeedGivesSameCatalog() {
+        List<CourseEntity> first = new CatalogGenerator(7).generate(1_000);
+        List<CourseEntity> second = new CatalogGenerator(7).generate(1_000);
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getTitle(), second.get(i).getTitle());
+            assertEquals(first.get(i).getDescription(), second.get(i).getDescription());
+            assertEquals(first.get(i).getLevel(), second.get(i).getLevel());
+        }
+        assertNotEquals(first.get(0).getTitle(), new CatalogGenerator(8).course(1).getTitle());
+    }
+
+    @Test
+    public void smallCatalogIsPrefixOfLargeOne() {
+        CatalogGenerator generator = new CatalogGenerator();
+        List<CourseEntity> small = generator.generate(100);
+        List<CourseEntity> large = generator.generate(1_000);
+        for (int i = 0; i < small.size(); i++) {
+            assertEquals(small.get(i).getTitle(), large.get(i).getTitle());
+        }
+    }
+
+    @Test
+    public void distributionsLookRealistic() {
+        List<CourseEntity> catalog = new CatalogGenerator().generate(COUNT);
+        Map<String, Integer> levels = new HashMap<>();
+        Set<String> titles = new HashSet<>();
+        int cyrillic = 0;
+        int latinOnly = 0;
+        int favorites = 0;
+        for (CourseEntity course : catalog) {
+            levels.merge(course.getLevel(), 1, Integer::sum);
+            titles.add(course.getTitle());
+            if (course.getTitle().matches(".*\\p{IsCyrillic}.*")) {
+                cyrillic++;
+            } else {
+                latinOnly++;
+            }
+            if (course.isFavorite()) {
+                favorites++;
+            }
+            assertTrue(course.getDuration() >= 2 && course.getDuration() <= 120);
+        }
+        assertEquals(COUNT, titles.size());
+        assertShare("Beginner", levels.get("Beginner"), 0.45);
+        assertShare("Intermediate", levels.get("Intermediate"), 0.35);
+        assertShare("Advanced", levels.get("Advanced"), 0.20);
+        assertShare("favorites", favorites, 0.03);
+        assertTrue("Нужны и кириллические, и латинские названия", cyrillic > COUNT / 4 && latinOnly > COUNT / 10);
+    }
+
+    private static void assertShare(String name, int count, double expected) {
+        double share = (double) count / COUNT;
+        assertTrue(name + ": " + share, Math.abs(share - expected) < 0.02);
+    }
+}
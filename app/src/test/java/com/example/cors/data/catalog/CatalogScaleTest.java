@@ -0,0 +1,285 @@
+package com.example.cors.data.catalog;
+
+import android.app.Application;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.cors.data.local.dao.CourseDao;
+import com.example.cors.data.local.database.AppDatabase;
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.data.mapper.CourseMapper;
+import com.example.cors.data.remote.dto.CourseDto;
+import com.example.cors.domain.model.Course;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Масштабный тест каталога: DAO-запросы, маппинг и поиск на 10k-500k курсов.
+ *
+ * Каталог генерирует CatalogGenerator (детерминированно), БД - in-memory Room
+ * под Robolectric. Каждый путь замеряется (медиана REPEATS прогонов после прогрева)
+ * и сравнивается с baseline из catalog_scale_baselines.properties - см. ScaleBaselines.
+ *
+ * Масштабы: системное свойство catalog.scales (Gradle: -PcatalogScales=10000,100000,500000).
+ * Без -PcatalogScales Gradle тест не запускает - он не входит в обычный testDebugUnitTest.
+ * Замер без baseline - ошибка: иначе проверка молча ничего не сравнивала бы.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class CatalogScaleTest {
+
+    private static final int REPEATS = 5;
+
+    /**
+     * Сколько одиночных операций (поиск по ID, обновление) в одном замере
+     */
+    private static final int POINT_OPERATIONS = 100;
+
+    /**
+     * Размер пачки ID для IN (...) - ниже лимита параметров SQLite
+     */
+    private static final int ID_BATCH = 500;
+
+    private static final String[] SEARCH_QUERIES = {"Android", "курс", "Kotlin для", "zzz-no-match"};
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "{0} курсов")
+    public static Collection<Object[]> scales() {
+        List<Object[]> scales = new ArrayList<>();
+        for (String scale : System.getProperty("catalog.scales", "10000").split(",")) {
+            scales.add(new Object[]{Integer.parseInt(scale.trim())});
+        }
+        return scales;
+    }
+
+    private final int scale;
+
+    private AppDatabase database;
+
+    private CourseDao dao;
+
+    private ScaleBaselines baselines;
+
+    public CatalogScaleTest(int scale) {
+        this.scale = scale;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(DIRECT)
+                .setTransactionExecutor(DIRECT)
+                .build();
+        dao = database.courseDao();
+        baselines = ScaleBaselines.load();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void catalogPathsStayWithinBaseline() throws IOException {
+        List<CourseEntity> catalog = new CatalogGenerator().generate(scale);
+
+        // Загрузка каталога - один замер: повторная вставка шла бы в заполненную таблицу
+        long start = System.nanoTime();
+        database.runInTransaction(() -> dao.insertCourses(catalog));
+        record("insertCourses", (System.nanoTime() - start) / 1_000_000.0);
+
+        measureQueries(catalog);
+        measureSearch();
+        measureMapping(catalog);
+        measureWrites(catalog);
+
+        baselines.write("scale-" + scale + ".properties");
+        if (!ScaleBaselines.isUpdating()) {
+            List<String> missing = baselines.missing();
+            assertTrue("Нет baseline для " + missing.size() + " замеров на " + scale
+                    + " курсах (запишите: -PcatalogUpdateBaselines):\n" + String.join("\n", missing),
+                    missing.isEmpty());
+        }
+        List<String> regressions = baselines.regressions();
+        assertTrue("Регрессии на " + scale + " курсах:\n" + String.join("\n", regressions),
+                regressions.isEmpty());
+    }
+
+    private void measureQueries(List<CourseEntity> catalog) {
+        List<CourseEntity> all = measure("getAllCourses", () -> value(dao.getAllCourses()));
+        assertEquals(scale, all.size());
+
+        int byLevel = 0;
+        for (String level : CatalogGenerator.LEVELS) {
+            byLevel += measure("getCoursesByLevel." + level, () -> value(dao.getCoursesByLevel(level))).size();
+        }
+        assertEquals(scale, byLevel);
+
+        List<CourseEntity> favorites = measure("getFavoriteCourses", () -> value(dao.getFavoriteCourses()));
+        assertEquals(favorites.size(), measure("getFavoriteCoursesSync", () -> dao.getFavoriteCoursesSync()).size());
+
+        measure("getCourseById", () -> {
+            for (int i = 0; i < POINT_OPERATIONS; i++) {
+                assertNotNull(value(dao.getCourseById(pointId(i))));
+            }
+            return null;
+        });
+        measure("getCourseByIdSync", () -> {
+            for (int i = 0; i < POINT_OPERATIONS; i++) {
+                assertNotNull(dao.getCourseByIdSync(pointId(i)));
+            }
+            return null;
+        });
+        assertEquals(Math.min(8, scale), measure("getFirstCoursesSync", () -> dao.getFirstCoursesSync(8)).size());
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < Math.min(ID_BATCH, catalog.size()); i++) {
+            ids.add(catalog.get(i * (catalog.size() / Math.min(ID_BATCH, catalog.size()))).getId());
+        }
+        assertEquals(ids.size(), measure("getCoursesByIdsSync", () -> dao.getCoursesByIdsSync(ids)).size());
+    }
+
+    private void measureSearch() {
+        for (String query : SEARCH_QUERIES) {
+            String path = "searchCourses." + query.replaceAll("[^\\p{L}\\p{N}]+", "_");
+            measure(path, () -> value(dao.searchCourses(query)));
+            // Полный путь экрана поиска: запрос + маппинг в domain
+            measure(path + ".mapped", () -> CourseMapper.entityListToDomainList(value(dao.searchCourses(query))));
+        }
+    }
+
+    private void measureMapping(List<CourseEntity> catalog) {
+        List<Course> domain = measure("mapper.entityListToDomainList",
+                () -> CourseMapper.entityListToDomainList(catalog));
+        measure("mapper.domainToEntity", () -> {
+            List<CourseEntity> entities = new ArrayList<>(domain.size());
+            for (Course course : domain) {
+                entities.add(CourseMapper.domainToEntity(course));
+            }
+            return entities;
+        });
+
+        List<CourseDto> dtos = new ArrayList<>(catalog.size());
+        for (CourseEntity entity : catalog) {
+            CourseDto dto = new CourseDto();
+            dto.setId(entity.getId());
+            dto.setTitle(entity.getTitle());
+            dto.setProvider(entity.getProvider());
+            dto.setDuration(entity.getDuration());
+            dto.setLevel(entity.getLevel());
+            dto.setImageUrl(entity.getImageUrl());
+            dto.setDescription(entity.getDescription());
+            dtos.add(dto);
+        }
+        assertEquals(scale, measure("mapper.dtoListToEntityList", () -> CourseMapper.dtoListToEntityList(dtos)).size());
+    }
+
+    private void measureWrites(List<CourseEntity> catalog) {
+        measure("updateFavoriteStatus", () -> {
+            database.runInTransaction(() -> {
+                for (int i = 0; i < POINT_OPERATIONS; i++) {
+                    dao.updateFavoriteStatus(pointId(i), i % 2 == 0);
+                }
+            });
+            return null;
+        });
+        measure("updateCourseReview", () -> {
+            database.runInTransaction(() -> {
+                for (int i = 0; i < POINT_OPERATIONS; i++) {
+                    dao.updateCourseReview(pointId(i), "Отзыв " + i, i % 5);
+                }
+            });
+            return null;
+        });
+        measure("updateCourse", () -> {
+            database.runInTransaction(() -> {
+                for (int i = 0; i < POINT_OPERATIONS; i++) {
+                    dao.updateCourse(catalog.get(pointId(i) - 1));
+                }
+            });
+            return null;
+        });
+        measure("insertCourse", () -> dao.insertCourse(catalog.get(0)));
+        // Без индекса по imageUrl - полный проход таблицы на каждый вызов
+        measure("updateBlurHash", () -> {
+            dao.updateBlurHash(catalog.get(0).getImageUrl(), "LEHV6nWB2yk8pyo0adR*.7kCMdnj");
+            return null;
+        });
+
+        long start = System.nanoTime();
+        dao.deleteAllCourses();
+        record("deleteAllCourses", (System.nanoTime() - start) / 1_000_000.0);
+        assertTrue(dao.getFavoriteCoursesSync().isEmpty());
+    }
+
+    /**
+     * ID для точечных операций - равномерно по всему каталогу
+     */
+    private int pointId(int index) {
+        return 1 + (int) ((long) index * scale / POINT_OPERATIONS) % scale;
+    }
+
+    /**
+     * Замеряет путь: прогрев + медиана REPEATS прогонов.
+     */
+    private <T> T measure(String path, Measured<T> block) {
+        T result = block.run();
+        double[] samples = new double[REPEATS];
+        for (int i = 0; i < REPEATS; i++) {
+            long start = System.nanoTime();
+            result = block.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        record(path, samples[REPEATS / 2]);
+        return result;
+    }
+
+    /**
+     * Запоминает замер - он попадает в отчёт (build/reports/catalog-scale/) и сравнение с baseline.
+     */
+    private void record(String path, double millis) {
+        baselines.record(ScaleBaselines.key(scale, path), millis);
+    }
+
+    /**
+     * Синхронно получает значение Room LiveData (запрос выполняется в текущем потоке).
+     */
+    private static <T> T value(LiveData<T> liveData) {
+        Observer<T> observer = ignored -> { };
+        liveData.observeForever(observer);
+        T result = liveData.getValue();
+        liveData.removeObserver(observer);
+        return result;
+    }
+
+    private interface Measured<T> {
+        T run();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.cors.data.catalog;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Замеры масштабных тестов и сравнение с сохранёнными baseline.
+ *
+ * Baseline хранятся в src/test/resources/catalog_scale_baselines.properties
+ * (ключ "масштаб.путь", значение - медиана в мс). Замер считается регрессией,
+ * если он больше baseline * TOLERANCE + SLACK_MS: допуск покрывает шум JVM и CI.
+ *
+ * Обновление baseline:
+ *   ./gradlew testDebugUnitTest --tests '*CatalogScaleTest' -PcatalogScales=10000,100000,500000 -PcatalogUpdateBaselines
+ * Отчёт о последнем прогоне: build/reports/catalog-scale/
+ */
+final class ScaleBaselines {
+
+    static final String RESOURCE = "/catalog_scale_baselines.properties";
+
+    /**
+     * Во сколько раз замер может превышать baseline
+     */
+    static final double TOLERANCE = 1.5;
+
+    /**
+     * Абсолютный допуск для коротких операций (таймер и планировщик ОС)
+     */
+    static final double SLACK_MS = 5.0;
+
+    private final Properties baselines;
+
+    private final Map<String, Double> measured = new TreeMap<>();
+
+    private ScaleBaselines(Properties baselines) {
+        this.baselines = baselines;
+    }
+
+    /**
+     * Загружает baseline из ресурсов теста (если файла нет - пустой набор).
+     */
+    static ScaleBaselines load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = ScaleBaselines.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        return new ScaleBaselines(properties);
+    }
+
+    /**
+     * @return true если прогон записывает новые baseline (-PcatalogUpdateBaselines)
+     */
+    static boolean isUpdating() {
+        return System.getProperty("catalog.baselineOutput") != null;
+    }
+
+    static String key(int scale, String path) {
+        return scale + "." + path;
+    }
+
+    void record(String key, double millis) {
+        measured.put(key, millis);
+    }
+
+    /**
+     * @return Описания замеров, вышедших за допуск baseline
+     */
+    List<String> regressions() {
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : measured.entrySet()) {
+            String value = baselines.getProperty(entry.getKey());
+            if (value == null) {
+                continue;
+            }
+            double baseline = Double.parseDouble(value);
+            if (entry.getValue() > baseline * TOLERANCE + SLACK_MS) {
+                result.add(String.format(Locale.US, "%s: %.2f мс (baseline %.2f мс)",
+                        entry.getKey(), entry.getValue(), baseline));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Замеры, для которых ещё нет baseline
+     */
+    List<String> missing() {
+        List<String> result = new ArrayList<>();
+        for (String key : measured.keySet()) {
+            if (baselines.getProperty(key) == null) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Пишет отчёт в catalog.reportDir и, если задано catalog.baselineOutput,
+     * добавляет замеры в файл baseline.
+     */
+    void write(String reportName) throws IOException {
+        String reportDir = System.getProperty("catalog.reportDir");
+        if (reportDir != null) {
+            File dir = new File(reportDir);
+            dir.mkdirs();
+            store(new File(dir, reportName), new Properties(), "Замеры CatalogScaleTest, мс");
+        }
+        if (isUpdating()) {
+            String baselineOutput = System.getProperty("catalog.baselineOutput");
+            File file = new File(baselineOutput);
+            Properties existing = new Properties();
+            if (file.exists()) {
+                try (InputStream in = new FileInputStream(file)) {
+                    existing.load(in);
+                }
+            }
+            store(file, existing, "Baseline CatalogScaleTest (медиана, мс). Обновление: -PcatalogUpdateBaselines");
+        }
+    }
+
+    private void store(File file, Properties target, String comment) throws IOException {
+        for (Map.Entry<String, Double> entry : measured.entrySet()) {
+            target.setProperty(entry.getKey(), String.format(Locale.US, "%.2f", entry.getValue()));
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            target.store(out, comment);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.cors.data.remote.api;
+
+import com.example.cors.data.remote.dto.CourseDto;
+import com.example.cors.utils.metrics.Metrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Замеры NetworkTimingListener против локального MockWebServer с заданными задержками:
+ * фазы попадают туда, где задержка внесена, байты и источник ответа (кеш) определяются верно.
+ */
+public class NetworkTimingListenerTest {
+
+    private static final long HEADERS_DELAY_MS = 300;
+
+    private static final long BODY_DELAY_MS = 200;
+
+    private static final String COURSE_JSON = "{\"id\":7,\"title\":\"Android для начинающих\","
+            + "\"provider\":\"Stepik\",\"duration\":12,\"level\":\"Beginner\","
+            + "\"image_url\":\"https://example.com/7.jpg\",\"description\":\"Основы\"}";
+
+    private static final String COURSES_JSON = "[" + COURSE_JSON + "]";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<NetworkTimingListener.CallTiming> timings = new CopyOnWriteArrayList<>();
+
+    private MockWebServer server;
+
+    private CourseApiService api;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        api = RetrofitClient.create(server.url("/").toString(),
+                        RetrofitClient.clientBuilder(temporaryFolder.newFolder("http"), timings::add).build())
+                .create(CourseApiService.class);
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void headersDelayIsTimeToFirstByte() throws IOException {
+        server.enqueue(new MockResponse()
+                .setBody(COURSES_JSON)
+                .setHeadersDelay(HEADERS_DELAY_MS, TimeUnit.MILLISECONDS));
+
+        Response<List<CourseDto>> response = api.getCourses().execute();
+        assertNotNull(response.body());
+        assertEquals(1, response.body().size());
+
+        NetworkTimingListener.CallTiming timing = singleTiming();
+        assertEquals("GET /courses", timing.endpoint);
+        assertEquals(NetworkTimingListener.CacheResult.MISS, timing.cacheResult);
+        assertTrue(timing.toString(), millis(timing.ttfbNanos) >= HEADERS_DELAY_MS);
+        assertTrue(timing.toString(), millis(timing.bodyNanos) < HEADERS_DELAY_MS);
+        assertTrue(timing.toString(), timing.callNanos >= timing.ttfbNanos);
+        // Новое соединение: TCP замерен, TLS нет (http)
+        assertTrue(timing.toString(), timing.connectNanos >= 0);
+        assertEquals(-1, timing.tlsNanos);
+
+        assertEquals(1, Metrics.histogram(Metrics.NET_TTFB).snapshot().getCount());
+        assertEquals(1, Metrics.histogram(Metrics.NET_PARSE).snapshot().getCount());
+        assertEquals(1, Metrics.counter(Metrics.NET_CACHE_MISS).get());
+    }
+
+    @Test
+    public void bodyDelayIsBodyReadTime() throws IOException {
+        server.enqueue(new MockResponse()
+                .setBody(COURSES_JSON)
+                .setBodyDelay(BODY_DELAY_MS, TimeUnit.MILLISECONDS));
+
+        api.getCourses().execute();
+
+        NetworkTimingListener.CallTiming timing = singleTiming();
+        assertTrue(timing.toString(), millis(timing.bodyNanos) >= BODY_DELAY_MS);
+        assertTrue(timing.toString(), millis(timing.ttfbNanos) < BODY_DELAY_MS);
+    }
+
+    @Test
+    public void countsBytesInAndOut() throws IOException {
+        server.enqueue(new MockResponse().setBody(COURSE_JSON));
+
+        api.getCourseById(7).execute();
+
+        NetworkTimingListener.CallTiming timing = singleTiming();
+        assertEquals("GET /courses/7", timing.endpoint);
+        // Тело ответа + заголовки (Content-Length и др.)
+        assertTrue(timing.toString(), timing.bytesIn > COURSE_JSON.getBytes("UTF-8").length);
+        // GET без тела - только заголовки (Host, User-Agent...)
+        assertTrue(timing.toString(), timing.bytesOut > 0);
+        assertEquals(timing.bytesIn, Metrics.counter(Metrics.NET_BYTES_IN).get());
+        assertEquals(timing.bytesOut, Metrics.counter(Metrics.NET_BYTES_OUT).get());
+    }
+
+    @Test
+    public void freshCachedResponseIsHit() throws Exception {
+        server.enqueue(new MockResponse()
+                .setBody(COURSES_JSON)
+                .addHeader("Cache-Control", "max-age=60"));
+
+        api.getCourses().execute();
+        api.getCourses().execute();
+
+        assertEquals(2, timings.size());
+        assertEquals(NetworkTimingListener.CacheResult.MISS, timings.get(0).cacheResult);
+        assertEquals(NetworkTimingListener.CacheResult.HIT, timings.get(1).cacheResult);
+        // Второй вызов не дошёл до сервера и не измерял сетевые фазы
+        assertEquals(1, server.getRequestCount());
+        assertEquals(-1, timings.get(1).ttfbNanos);
+        assertEquals(1, Metrics.counter(Metrics.NET_CACHE_HIT).get());
+    }
+
+    @Test
+    public void revalidatedResponseIsConditional() throws Exception {
+        server.enqueue(new MockResponse()
+                .setBody(COURSES_JSON)
+                .addHeader("Cache-Control", "no-cache")
+                .addHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse()
+                .setResponseCode(304)
+                .setHeadersDelay(HEADERS_DELAY_MS, TimeUnit.MILLISECONDS));
+
+        api.getCourses().execute();
+        Response<List<CourseDto>> cached = api.getCourses().execute();
+        assertNotNull(cached.body());
+        assertEquals(1, cached.body().size());
+
+        server.takeRequest();
+        RecordedRequest conditional = server.takeRequest();
+        assertEquals("\"v1\"", conditional.getHeader("If-None-Match"));
+        assertEquals(NetworkTimingListener.CacheResult.CONDITIONAL, timings.get(1).cacheResult);
+        assertTrue(timings.get(1).toString(), millis(timings.get(1).ttfbNanos) >= HEADERS_DELAY_MS);
+        assertEquals(1, Metrics.counter(Metrics.NET_CACHE_CONDITIONAL).get());
+    }
+
+    @Test
+    public void failedCallIsCounted() {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        // Без повтора: иначе OkHttp переподключится и будет ждать следующего ответа сервера
+        CourseApiService noRetryApi = RetrofitClient.create(server.url("/").toString(),
+                        RetrofitClient.clientBuilder(null, timings::add).retryOnConnectionFailure(false).build())
+                .create(CourseApiService.class);
+
+        try {
+            noRetryApi.getCourses().execute();
+        } catch (IOException expected) {
+            // Соединение разорвано сервером
+        }
+
+        assertEquals(NetworkTimingListener.CacheResult.FAILED, singleTiming().cacheResult);
+        assertEquals(1, Metrics.counter(Metrics.NET_FAILED).get());
+    }
+
+    private NetworkTimingListener.CallTiming singleTiming() {
+        assertEquals(1, timings.size());
+        return timings.get(0);
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.cors.ui.adapter;
+
+import android.app.Application;
+import android.content.Context;
+import android.view.View;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.cors.data.catalog.CatalogGenerator;
+import com.example.cors.data.local.database.AppDatabase;
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.data.mapper.CourseMapper;
+import com.example.cors.domain.model.Course;
+import com.example.cors.ui.view.CourseCardView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Бюджеты аллокаций для одного цикла обновления списка:
+ * DAO (список из Room) → маппинг в Course → DiffUtil → bind видимой страницы.
+ *
+ * Рывки прокрутки на слабых устройствах - это GC, поэтому каждый путь ограничен
+ * бюджетом "фиксированная часть + байт на элемент". Превышение роняет тест (и сборку).
+ *
+ * Байты считаются счётчиком аллокаций потока (com.sun.management.ThreadMXBean).
+ * Берётся минимум из нескольких прогонов после прогрева - без инициализации классов.
+ *
+ * Все бюджеты - константы: абсолютный замер (байт, HotSpot 17, каталог CatalogGenerator)
+ * записан рядом с бюджетом, бюджет - замер + явный запас. DAO и bind идут через
+ * Room и framework-классы Robolectric - их доля входит в запас, а не в замер.
+ *
+ * Замеры и бюджеты пишутся в build/reports/allocation-budgets/allocations.properties.
+ * При осознанном увеличении аллокаций замер и бюджет меняются здесь же, с объяснением в коммите.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class AllocationBudgetTest {
+
+    /**
+     * Размер списка в одном обновлении
+     */
+    private static final int LIST_SIZE = 1000;
+
+    /**
+     * Сколько строк видно на экране (bind одной страницы)
+     */
+    private static final int VISIBLE_ROWS = 8;
+
+    private static final int WARMUP_RUNS = 3;
+
+    private static final int MEASURED_RUNS = 5;
+
+    /**
+     * Room: неустранимая часть выдачи - новые CourseEntity и строки всех полей.
+     * Замер на HotSpot 17 для LIST_SIZE курсов (около 2.1 КБ на курс)
+     */
+    private static final long DAO_ROWS_MEASURED_BYTES = 2_130_064;
+
+    /**
+     * Room: фиксированная часть (запрос, курсор, окно курсора) + замер строк с запасом 100%
+     * на курсор, список и shadow-код Robolectric при чтении колонок
+     */
+    private static final Budget DAO_BUDGET = new Budget(64 * 1024, DAO_ROWS_MEASURED_BYTES * 2 / LIST_SIZE);
+
+    /**
+     * Маппинг: объект Course + рост ArrayList. Замер на HotSpot 17 для LIST_SIZE курсов
+     * (около 71 байта на курс); бюджет - замер + 25%
+     */
+    private static final long MAPPING_MEASURED_BYTES = 71_056;
+
+    private static final Budget MAPPING_BUDGET = new Budget(1024, MAPPING_MEASURED_BYTES * 5 / 4 / LIST_SIZE);
+
+    /**
+     * DiffUtil 1.3.2: два int[2 * ((old + new + 1) / 2) + 1] (forward/backward Myers, затем
+     * статусы элементов в DiffResult) - 16 байт на элемент. Запас до 24 байт на элемент
+     * и 8 КБ на Range/Diagonal/DiffResult. Оценка по структуре DiffUtil, не замер:
+     * после первого прогона заменить на число из allocations.properties
+     */
+    private static final Budget DIFF_BUDGET = new Budget(8 * 1024, 24);
+
+    /**
+     * bind CourseCardView: строки, которые bind создаёт для страницы (длительность, уровень).
+     * Замер на HotSpot 17 для VISIBLE_ROWS строк, без TextUtils.ellipsize провайдера (framework)
+     */
+    private static final long BIND_STRINGS_MEASURED_BYTES = 584;
+
+    /**
+     * bind CourseCardView: фиксированная часть на страницу (запрос фонового layout названия,
+     * invalidate/requestLayout, shadow-код Robolectric) + строки с запасом x4
+     */
+    private static final Budget BIND_BUDGET = new Budget(16 * 1024, BIND_STRINGS_MEASURED_BYTES * 4 / VISIBLE_ROWS);
+
+    /**
+     * Замеры всех путей для отчёта (путь -> строка с замером и бюджетом)
+     */
+    private static final Map<String, String> REPORT = new TreeMap<>();
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private AppDatabase database;
+
+    @Before
+    public void setUp() {
+        database = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(DIRECT)
+                .setTransactionExecutor(DIRECT)
+                .build();
+        database.courseDao().insertCourses(new CatalogGenerator().generate(LIST_SIZE));
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void daoEmissionStaysWithinBudget() {
+        long bytes = minAllocatedBytes(() -> value(database.courseDao().getAllCourses()));
+        DAO_BUDGET.check("dao.getAllCourses", bytes, LIST_SIZE);
+    }
+
+    @Test
+    public void mappingStaysWithinBudget() {
+        List<CourseEntity> entities = value(database.courseDao().getAllCourses());
+        assertEquals(LIST_SIZE, entities.size());
+        long bytes = minAllocatedBytes(() -> CourseMapper.entityListToDomainList(entities));
+        MAPPING_BUDGET.check("mapper.entityListToDomainList", bytes, LIST_SIZE);
+    }
+
+    @Test
+    public void diffStaysWithinBudget() {
+        List<Course> oldList = CourseMapper.entityListToDomainList(value(database.courseDao().getAllCourses()));
+        // Типичное обновление: пользователь переключил избранное у одного курса
+        database.courseDao().updateFavoriteStatus(oldList.get(LIST_SIZE / 2).getId(), true);
+        List<Course> newList = CourseMapper.entityListToDomainList(value(database.courseDao().getAllCourses()));
+
+        long bytes = minAllocatedBytes(() -> DiffUtil.calculateDiff(new CourseDiffCallback(oldList, newList)));
+        DIFF_BUDGET.check("diff.calculateDiff", bytes, LIST_SIZE);
+    }
+
+    @Test
+    public void visiblePageBindStaysWithinBudget() {
+        Context context = ApplicationProvider.getApplicationContext();
+        List<Course> courses = CourseMapper.entityListToDomainList(value(database.courseDao().getAllCourses()));
+
+        List<CourseCardView> rows = new ArrayList<>(VISIBLE_ROWS);
+        int width = context.getResources().getDisplayMetrics().widthPixels;
+        for (int i = 0; i < VISIBLE_ROWS; i++) {
+            CourseCardView row = new CourseCardView(context);
+            row.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+            row.layout(0, 0, width, row.getMeasuredHeight());
+            rows.add(row);
+        }
+
+        // Каждый прогон привязывает другую страницу - как при прокрутке
+        int[] page = {0};
+        long bytes = minAllocatedBytes(() -> {
+            int offset = (page[0]++ * VISIBLE_ROWS) % (LIST_SIZE - VISIBLE_ROWS);
+            for (int i = 0; i < VISIBLE_ROWS; i++) {
+                rows.get(i).bind(courses.get(offset + i));
+            }
+            return rows;
+        });
+        BIND_BUDGET.check("bind.visiblePage", bytes, VISIBLE_ROWS);
+    }
+
+    /**
+     * Минимум аллокаций текущего потока за MEASURED_RUNS прогонов после прогрева.
+     */
+    private static long minAllocatedBytes(Supplier<?> block) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue("JVM не поддерживает подсчёт аллокаций", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            block.get();
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            Object result = block.get();
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            min = Math.min(min, allocated);
+            assertTrue(result != null);
+        }
+        return min;
+    }
+
+    /**
+     * Синхронно получает значение Room LiveData (запрос выполняется в текущем потоке).
+     */
+    private static <T> T value(LiveData<T> liveData) {
+        Observer<T> observer = ignored -> { };
+        liveData.observeForever(observer);
+        T result = liveData.getValue();
+        liveData.removeObserver(observer);
+        return result;
+    }
+
+    /**
+     * Бюджет пути: fixedBytes + perItemBytes * количество элементов.
+     */
+    private static final class Budget {
+
+        private final long fixedBytes;
+        private final long perItemBytes;
+
+        Budget(long fixedBytes, long perItemBytes) {
+            this.fixedBytes = fixedBytes;
+            this.perItemBytes = perItemBytes;
+        }
+
+        void check(String path, long allocated, int items) {
+            long budget = fixedBytes + perItemBytes * items;
+            String result = allocated + " байт (" + allocated / items + " на элемент), бюджет " + budget
+                    + " (" + fixedBytes + " + " + perItemBytes + " x " + items + ")";
+            writeReport(path, result);
+            assertTrue(path + ": " + result, allocated <= budget);
+        }
+    }
+
+    /**
+     * Дописывает замер пути в allocations.properties (allocation.reportDir, задаёт Gradle).
+     */
+    private static void writeReport(String path, String result) {
+        String reportDir = System.getProperty("allocation.reportDir");
+        if (reportDir == null) {
+            return;
+        }
+        synchronized (REPORT) {
+            REPORT.put(path, result);
+            File dir = new File(reportDir);
+            dir.mkdirs();
+            Properties properties = new Properties();
+            properties.putAll(REPORT);
+            try (OutputStream out = new FileOutputStream(new File(dir, "allocations.properties"))) {
+                properties.store(out, "AllocationBudgetTest: замеры и бюджеты, байт");
+            } catch (IOException e) {
+                throw new AssertionError("Не удалось записать отчёт " + dir, e);
+            }
+        }
+    }
+}
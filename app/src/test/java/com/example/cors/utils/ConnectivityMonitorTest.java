@@ -0,0 +1,99 @@
+package com.example.cors.utils;
+
+import android.app.Application;
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowNetwork;
+import org.robolectric.shadows.ShadowNetworkCapabilities;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * ConnectivityMonitor: задачи без сети откладываются до подключения (без дублей),
+ * лимитность и потеря сети определяются по событиям NetworkCallback.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class ConnectivityMonitorTest {
+
+    private static final Network WIFI = ShadowNetwork.newInstance(1);
+
+    private static final Network CELLULAR = ShadowNetwork.newInstance(2);
+
+    private ConnectivityMonitor monitor;
+
+    private ConnectivityManager.NetworkCallback callback;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        ConnectivityManager connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        monitor = new ConnectivityMonitor(context);
+        callback = shadowOf(connectivityManager).getNetworkCallbacks().iterator().next();
+    }
+
+    @Test
+    public void taskWaitsForValidatedNetwork() {
+        // Сеть есть, но интернет не проверен (captive portal) - считаем, что сети нет
+        callback.onCapabilitiesChanged(WIFI, capabilities(false, true));
+        assertFalse(monitor.isOnline());
+
+        AtomicInteger runs = new AtomicInteger();
+        assertFalse(monitor.runWhenOnline("refresh", runs::incrementAndGet));
+        assertFalse(monitor.runWhenOnline("refresh", runs::incrementAndGet));
+        assertEquals(0, runs.get());
+
+        callback.onCapabilitiesChanged(WIFI, capabilities(true, true));
+
+        assertTrue(monitor.isOnline());
+        assertEquals(1, runs.get());
+        // Сеть есть - сразу
+        assertTrue(monitor.runWhenOnline("refresh", runs::incrementAndGet));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    public void meteredFollowsDefaultNetwork() {
+        callback.onCapabilitiesChanged(WIFI, capabilities(true, true));
+        assertFalse(monitor.isMetered());
+
+        // Переключение на мобильную сеть: новая сеть приходит раньше потери старой
+        callback.onCapabilitiesChanged(CELLULAR, capabilities(true, false));
+        callback.onLost(WIFI);
+        assertTrue(monitor.isOnline());
+        assertTrue(monitor.isMetered());
+
+        callback.onLost(CELLULAR);
+        assertFalse(monitor.isOnline());
+        // Без сети - не лимитная: изображения выбираются под offline-кеш
+        assertFalse(monitor.isMetered());
+    }
+
+    private static NetworkCapabilities capabilities(boolean validated, boolean unmetered) {
+        NetworkCapabilities capabilities = ShadowNetworkCapabilities.newInstance();
+        shadowOf(capabilities).addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+        if (validated) {
+            shadowOf(capabilities).addCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED);
+        }
+        if (unmetered) {
+            shadowOf(capabilities).addCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED);
+        }
+        return capabilities;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.cors.data.remote.api;
+
+import com.example.cors.data.catalog.CatalogGenerator;
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.data.remote.dto.CourseDto;
+import com.example.cors.data.remote.fake.FakeCourseBackend;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * FakeCourseBackend через весь сетевой путь приложения (OkHttp + Cache + Retrofit):
+ * пагинация, ETag, delta-курсор и деградация сети видны клиенту и NetworkTimingListener.
+ * Тест в debug-наборе: FakeCourseBackend есть только в src/debug.
+ */
+public class FakeCourseBackendTest {
+
+    private static final int COURSE_COUNT = 1000;
+
+    private static final long LATENCY_MS = 300;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<NetworkTimingListener.CallTiming> timings = new CopyOnWriteArrayList<>();
+
+    private FakeCourseBackend backend;
+
+    private CourseApiService api;
+
+    @Before
+    public void setUp() throws IOException {
+        backend = new FakeCourseBackend(COURSE_COUNT);
+        api = RetrofitClient.create(backend.start().toString(),
+                        RetrofitClient.clientBuilder(temporaryFolder.newFolder("http"), timings::add).build())
+                .create(CourseApiService.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        backend.shutdown();
+    }
+
+    @Test
+    public void pagesCoverWholeCatalog() throws IOException {
+        int page = 0;
+        int loaded = 0;
+        String nextPage;
+        do {
+            Response<List<CourseDto>> response = api.getCoursesPage(page, 300).execute();
+            assertEquals(String.valueOf(COURSE_COUNT), response.headers().get(FakeCourseBackend.HEADER_TOTAL_COUNT));
+            List<CourseDto> courses = response.body();
+            assertNotNull(courses);
+            assertEquals(loaded + 1, courses.get(0).getId());
+            loaded += courses.size();
+            nextPage = response.headers().get(FakeCourseBackend.HEADER_NEXT_PAGE);
+            page++;
+        } while (nextPage != null);
+
+        assertEquals(COURSE_COUNT, loaded);
+        // 300 + 300 + 300 + 100
+        assertEquals(4, page);
+    }
+
+    @Test
+    public void courseByIdMatchesGenerator() throws IOException {
+        CourseEntity expected = new CatalogGenerator().course(42);
+
+        CourseDto course = api.getCourseById(42).execute().body();
+
+        assertNotNull(course);
+        assertEquals(expected.getTitle(), course.getTitle());
+        assertEquals(expected.getLevel(), course.getLevel());
+        assertEquals(expected.getBlurHash(), course.getBlurHash());
+        assertEquals(404, api.getCourseById(COURSE_COUNT + 1).execute().code());
+    }
+
+    @Test
+    public void unchangedCatalogIsRevalidated() throws IOException {
+        api.getCourses().execute();
+        Response<List<CourseDto>> cached = api.getCourses().execute();
+
+        assertNotNull(cached.body());
+        assertEquals(COURSE_COUNT, cached.body().size());
+        assertEquals(NetworkTimingListener.CacheResult.MISS, timings.get(0).cacheResult);
+        assertEquals(NetworkTimingListener.CacheResult.CONDITIONAL, timings.get(1).cacheResult);
+        // 304 без тела: получено на порядки меньше, чем в первый раз
+        assertTrue(timings.get(1).toString(), timings.get(1).bytesIn * 100 < timings.get(0).bytesIn);
+
+        backend.modifyCourse(5, course -> course.setTitle("Новое название"));
+        api.getCourses().execute();
+        assertEquals(NetworkTimingListener.CacheResult.MISS, timings.get(2).cacheResult);
+    }
+
+    @Test
+    public void deltaReturnsOnlyChangesAfterCursor() throws IOException {
+        Response<List<CourseDto>> initial = api.getCourseChanges(0).execute();
+        assertNotNull(initial.body());
+        assertTrue(initial.body().isEmpty());
+        long cursor = Long.parseLong(initial.headers().get(FakeCourseBackend.HEADER_NEXT_CURSOR));
+
+        backend.modifyCourse(7, course -> course.setTitle("Курс 7, редакция 2"));
+        backend.modifyCourse(3, course -> course.setDuration(99));
+
+        Response<List<CourseDto>> delta = api.getCourseChanges(cursor).execute();
+        List<CourseDto> changes = delta.body();
+        assertNotNull(changes);
+        assertEquals(2, changes.size());
+        assertEquals(3, changes.get(0).getId());
+        assertEquals(99, changes.get(0).getDuration());
+        assertEquals("Курс 7, редакция 2", changes.get(1).getTitle());
+
+        long nextCursor = Long.parseLong(delta.headers().get(FakeCourseBackend.HEADER_NEXT_CURSOR));
+        assertTrue(api.getCourseChanges(nextCursor).execute().body().isEmpty());
+    }
+
+    @Test
+    public void latencyIsTimeToFirstByte() throws IOException {
+        backend.setLatencyMs(LATENCY_MS);
+
+        api.getCourseById(1).execute();
+
+        NetworkTimingListener.CallTiming timing = timings.get(0);
+        assertTrue(timing.toString(), millis(timing.ttfbNanos) >= LATENCY_MS);
+    }
+
+    @Test
+    public void bandwidthLimitsBodyTime() throws IOException {
+        // ~100 курсов по 200-300 байт = десятки КБ; при 64 КБ/с - заметно дольше 100 мс
+        backend.setBytesPerSecond(64 * 1024);
+
+        api.getCoursesPage(0, 100).execute();
+
+        NetworkTimingListener.CallTiming timing = timings.get(0);
+        // Половина теоретического времени: первая порция уходит сразу, заголовки тоже в bytesIn
+        long expectedMs = timing.bytesIn * 1000 / (64 * 1024) / 2;
+        assertTrue(timing.toString(), millis(timing.bodyNanos) >= expectedMs);
+    }
+
+    @Test
+    public void errorRateOneFailsEveryCall() throws IOException {
+        backend.setErrorRate(1.0);
+
+        Response<List<CourseDto>> response = api.getCourses().execute();
+
+        assertFalse(response.isSuccessful());
+        assertEquals(503, response.code());
+        assertNull(response.body());
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
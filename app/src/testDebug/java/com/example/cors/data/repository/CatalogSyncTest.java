@@ -0,0 +1,161 @@
+package com.example.cors.data.repository;
+
+import android.app.Application;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.cors.data.local.dao.CourseDao;
+import com.example.cors.data.local.database.AppDatabase;
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.data.mapper.CourseMapper;
+import com.example.cors.data.remote.api.CourseApiService;
+import com.example.cors.data.remote.fake.FakeCourseBackend;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * CatalogSync против FakeCourseBackend и in-memory Room: полная загрузка страницами,
+ * delta по курсору без потери данных пользователя, курсор не сдвигается при ошибке,
+ * изменённые курсы вытесняются из CourseDetailCache, а строки, прочитанные до записи,
+ * не попадают в него после.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class CatalogSyncTest {
+
+    /**
+     * Не кратно PAGE_SIZE: последняя страница неполная
+     */
+    private static final int COURSE_COUNT = 450;
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private FakeCourseBackend backend;
+
+    private AppDatabase database;
+
+    private CourseDao dao;
+
+    private CatalogSyncState state;
+
+    private CatalogSync sync;
+
+    @Before
+    public void setUp() throws IOException {
+        backend = new FakeCourseBackend(COURSE_COUNT);
+        CourseApiService api = new Retrofit.Builder()
+                .baseUrl(backend.start())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(CourseApiService.class);
+        Application context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(DIRECT)
+                .setTransactionExecutor(DIRECT)
+                .build();
+        dao = database.courseDao();
+        state = new CatalogSyncState(context);
+        sync = new CatalogSync(database, api, state);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        backend.shutdown();
+    }
+
+    @Test
+    public void firstSyncLoadsWholeCatalogByPages() throws IOException {
+        assertEquals(CatalogSyncState.NO_CURSOR, state.cursor());
+
+        assertEquals(COURSE_COUNT, sync.sync());
+
+        assertEquals(COURSE_COUNT, dao.getFirstCoursesSync(COURSE_COUNT * 2).size());
+        assertEquals(0, state.cursor());
+        assertTrue(state.lastSyncedAt() > 0);
+    }
+
+    @Test
+    public void deltaSyncKeepsUserData() throws IOException {
+        sync.sync();
+        dao.updateFavoriteStatus(5, true);
+        dao.updateCourseReview(5, "Отличный курс", 4.5f);
+
+        backend.modifyCourse(5, course -> course.setTitle("Курс 5, редакция 2"));
+        backend.modifyCourse(7, course -> course.setDuration(99));
+        // Строка до синхронизации, предзагруженная для экрана деталей
+        CourseDetailCache.put(CourseMapper.entityToDomain(dao.getCourseByIdSync(5)));
+
+        assertEquals(2, sync.sync());
+        assertFalse(CourseDetailCache.contains(5));
+
+        CourseEntity changed = dao.getCourseByIdSync(5);
+        assertEquals("Курс 5, редакция 2", changed.getTitle());
+        assertTrue(changed.isFavorite());
+        assertEquals("Отличный курс", changed.getComment());
+        assertEquals(4.5f, changed.getUserRating(), 0f);
+        assertEquals(99, dao.getCourseByIdSync(7).getDuration());
+        assertEquals(2, state.cursor());
+
+        // Изменений больше нет - пустой delta
+        assertEquals(0, sync.sync());
+    }
+
+    @Test
+    public void rowReadBeforeSyncIsNotCachedAfterIt() throws IOException {
+        sync.sync();
+        backend.modifyCourse(5, course -> course.setTitle("Курс 5, редакция 2"));
+
+        // Предзагрузка прочитала строку, затем синхронизация записала новую версию
+        long version = CourseDetailCache.version();
+        CourseEntity stale = dao.getCourseByIdSync(5);
+        assertEquals(1, sync.sync());
+
+        assertFalse(CourseDetailCache.putIfCurrent(CourseMapper.entityToDomain(stale), version));
+        assertFalse(CourseDetailCache.contains(5));
+        assertTrue(CourseDetailCache.putIfCurrent(CourseMapper.entityToDomain(dao.getCourseByIdSync(5)),
+                CourseDetailCache.version()));
+    }
+
+    @Test
+    public void failedSyncKeepsCursor() throws IOException {
+        sync.sync();
+        backend.modifyCourse(3, course -> course.setTitle("Изменён"));
+        long syncedAt = state.lastSyncedAt();
+        backend.setErrorRate(1.0);
+
+        try {
+            sync.sync();
+            fail("Ожидалась ошибка сервера");
+        } catch (HttpException e) {
+            assertEquals(503, e.code());
+        }
+
+        assertEquals(0, state.cursor());
+        assertEquals(syncedAt, state.lastSyncedAt());
+
+        // Сервер снова доступен - изменение не потеряно
+        backend.setErrorRate(0);
+        assertEquals(1, sync.sync());
+        assertEquals("Изменён", dao.getCourseByIdSync(3).getTitle());
+    }
+}
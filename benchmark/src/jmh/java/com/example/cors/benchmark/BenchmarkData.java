@@ -0,0 +1,44 @@
+package com.example.cors.benchmark;
+
+import com.example.cors.data.catalog.CatalogGenerator;
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.data.mapper.CourseMapper;
+import com.example.cors.data.remote.dto.CourseDto;
+import com.example.cors.domain.model.Course;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Общие данные бенчмарков - детерминированный каталог CatalogGenerator.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<CourseEntity> entities(int size) {
+        return new CatalogGenerator().generate(size);
+    }
+
+    static List<Course> courses(int size) {
+        return CourseMapper.entityListToDomainList(entities(size));
+    }
+
+    static List<CourseDto> dtos(int size) {
+        List<CourseEntity> entities = entities(size);
+        List<CourseDto> dtos = new ArrayList<>(entities.size());
+        for (CourseEntity entity : entities) {
+            CourseDto dto = new CourseDto();
+            dto.setId(entity.getId());
+            dto.setTitle(entity.getTitle());
+            dto.setProvider(entity.getProvider());
+            dto.setDuration(entity.getDuration());
+            dto.setLevel(entity.getLevel());
+            dto.setImageUrl(entity.getImageUrl());
+            dto.setDescription(entity.getDescription());
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.cors.benchmark;
+
+import com.example.cors.domain.model.Course;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Форматирование полей при bind строки: getFormattedDuration и getLocalizedLevel.
+ * Замеряется проход по 1000 курсам - примерно столько bind за длинную прокрутку.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CourseFormattingBenchmark {
+
+    private static final int SIZE = 1000;
+
+    private Course[] courses;
+
+    @Setup
+    public void setUp() {
+        List<Course> list = BenchmarkData.courses(SIZE);
+        courses = list.toArray(new Course[0]);
+    }
+
+    @Benchmark
+    public void formattedDuration(Blackhole blackhole) {
+        for (Course course : courses) {
+            blackhole.consume(course.getFormattedDuration());
+        }
+    }
+
+    @Benchmark
+    public void localizedLevel(Blackhole blackhole) {
+        for (Course course : courses) {
+            blackhole.consume(course.getLocalizedLevel());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.cors.benchmark;
+
+import com.example.cors.data.remote.dto.CourseDto;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор ответа API (список CourseDto) через Gson - так же, как GsonConverterFactory в Retrofit:
+ * TypeAdapter для List<CourseDto> читает JSON из Reader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CourseJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private final Gson gson = new Gson();
+
+    private TypeAdapter<List<CourseDto>> adapter;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        adapter = gson.getAdapter(new TypeToken<List<CourseDto>>() { });
+        json = gson.toJson(BenchmarkData.dtos(size));
+    }
+
+    @Benchmark
+    public List<CourseDto> parseResponse() throws IOException {
+        return adapter.fromJson(new StringReader(json));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.cors.benchmark;
+
+import com.example.cors.data.local.entity.CourseEntity;
+import com.example.cors.data.mapper.CourseMapper;
+import com.example.cors.data.remote.dto.CourseDto;
+import com.example.cors.domain.model.Course;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CourseMapper: одиночные и списочные преобразования DTO → Entity → Course.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CourseMapperBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private List<CourseDto> dtos;
+    private List<CourseEntity> entities;
+    private List<Course> courses;
+
+    @Setup
+    public void setUp() {
+        dtos = BenchmarkData.dtos(size);
+        entities = BenchmarkData.entities(size);
+        courses = CourseMapper.entityListToDomainList(entities);
+    }
+
+    @Benchmark
+    public void dtoToEntity(Blackhole blackhole) {
+        for (CourseDto dto : dtos) {
+            blackhole.consume(CourseMapper.dtoToEntity(dto));
+        }
+    }
+
+    @Benchmark
+    public void entityToDomain(Blackhole blackhole) {
+        for (CourseEntity entity : entities) {
+            blackhole.consume(CourseMapper.entityToDomain(entity));
+        }
+    }
+
+    @Benchmark
+    public void domainToEntity(Blackhole blackhole) {
+        for (Course course : courses) {
+            blackhole.consume(CourseMapper.domainToEntity(course));
+        }
+    }
+
+    @Benchmark
+    public List<CourseEntity> dtoListToEntityList() {
+        return CourseMapper.dtoListToEntityList(dtos);
+    }
+
+    @Benchmark
+    public List<Course> entityListToDomainList() {
+        return CourseMapper.entityListToDomainList(entities);
+    }
+}